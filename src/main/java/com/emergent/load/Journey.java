@@ -0,0 +1,50 @@
+package com.emergent.load;
+
+import com.emergent.pages.DashboardPage;
+import com.emergent.pages.DeploymentPage;
+import com.emergent.pages.LoginPage;
+import com.emergent.pages.ProjectDetailsPage;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.Constants;
+
+/**
+ * A scripted user journey built from page object calls, each wrapped in a timed
+ * {@link VirtualUser#step step}.
+ */
+@FunctionalInterface
+public interface Journey {
+
+    /**
+     * Runs the journey once.
+     *
+     * @param user the virtual user running it
+     */
+    void run(VirtualUser user);
+
+    /**
+     * The full product journey: log in, create a project, send a prompt and wait for the
+     * streamed response, deploy, and delete the project again so repeated runs do not pile up.
+     *
+     * @return the journey
+     */
+    static Journey loginCreatePromptDeploy() {
+        String username = ConfigProperties.getProperty("load.username", ConfigProperties.getTestUsername());
+        String password = ConfigProperties.getProperty("load.password", ConfigProperties.getTestPassword());
+        String prompt = ConfigProperties.getProperty("load.prompt", Constants.PROMPT_SIMPLE_WEB_APP);
+        return user -> {
+            String projectName = "Load " + user.getId() + "-" + user.getIteration() + "-" + System.currentTimeMillis();
+            user.getDriver().manage().deleteAllCookies();
+
+            DashboardPage dashboard = user.step("login",
+                    () -> new LoginPage(user.getDriver()).navigateTo().login(username, password).waitForPageToLoad());
+            ProjectDetailsPage project = user.step("create project",
+                    () -> dashboard.clickCreateProject()
+                            .createProject(projectName, "Created by the load runner", Constants.TEMPLATE_WEB_APP)
+                            .waitForPageToLoad());
+            user.step("prompt", () -> project.sendPrompt(prompt).waitForAIResponse());
+            DeploymentPage deployment = user.step("deploy",
+                    () -> project.clickDeploy().deploy(Constants.ENV_DEVELOPMENT).waitForDeploymentToComplete());
+            user.step("delete project", () -> deployment.clickBackToProject().clickSettings().deleteProject());
+        };
+    }
+}
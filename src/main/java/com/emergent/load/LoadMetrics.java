@@ -0,0 +1,125 @@
+package com.emergent.load;
+
+import com.emergent.utils.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters per journey step, shared by all virtual users.
+ * Recording is lock-free; steps are reported in the order they were first started.
+ */
+public class LoadMetrics {
+    private final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+    private final Map<String, Integer> order = new ConcurrentHashMap<>();
+    private final LongAdder journeys = new LongAdder();
+    private final LongAdder failedJourneys = new LongAdder();
+
+    private static class StepStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+
+    /**
+     * Registers a step when it first starts, so steps are reported in journey order.
+     *
+     * @param step the step name
+     */
+    void register(String step) {
+        stats(step);
+    }
+
+    /**
+     * Records a step that completed.
+     *
+     * @param step         the step name
+     * @param elapsedMillis how long the step took
+     */
+    public void recordSuccess(String step, long elapsedMillis) {
+        stats(step).latency.record(elapsedMillis);
+    }
+
+    /**
+     * Records a step that failed.
+     *
+     * @param step the step name
+     */
+    public void recordError(String step) {
+        stats(step).errors.increment();
+    }
+
+    /**
+     * Records the outcome of a whole journey.
+     *
+     * @param succeeded whether every step of the journey completed
+     */
+    public void recordJourney(boolean succeeded) {
+        journeys.increment();
+        if (!succeeded) {
+            failedJourneys.increment();
+        }
+    }
+
+    /**
+     * Summarises the run: journey counts and, per step, throughput, errors and latency percentiles.
+     *
+     * @param elapsedMillis wall-clock duration of the run, for throughput
+     * @return the summary as nested maps, ready for JSON
+     */
+    public Map<String, Object> summary(long elapsedMillis) {
+        double seconds = Math.max(1, elapsedMillis) / 1000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsedMillis", elapsedMillis);
+        summary.put("journeys", journeys.sum());
+        summary.put("failedJourneys", failedJourneys.sum());
+        summary.put("journeysPerSecond", round(journeys.sum() / seconds));
+
+        Map<String, Object> stepSummaries = new LinkedHashMap<>();
+        order.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> {
+                    StepStats stats = steps.get(entry.getKey());
+                    Map<String, Object> step = new LinkedHashMap<>();
+                    step.put("perSecond", round(stats.latency.count() / seconds));
+                    step.put("errors", stats.errors.sum());
+                    step.putAll(stats.latency.summary());
+                    stepSummaries.put(entry.getKey(), step);
+                });
+        summary.put("steps", stepSummaries);
+        return summary;
+    }
+
+    /**
+     * Formats the summary as a plain-text table.
+     *
+     * @param elapsedMillis wall-clock duration of the run, for throughput
+     * @return the table
+     */
+    @SuppressWarnings("unchecked")
+    public String toTable(long elapsedMillis) {
+        Map<String, Object> summary = summary(elapsedMillis);
+        StringBuilder table = new StringBuilder(String.format("Journeys: %s (%s failed, %s/s) in %d s%n",
+                summary.get("journeys"), summary.get("failedJourneys"), summary.get("journeysPerSecond"),
+                elapsedMillis / 1000));
+        table.append(String.format("%-24s %8s %7s %7s %7s %7s %7s %7s%n",
+                "Step", "Count", "Errors", "Per s", "p50", "p90", "p99", "Max"));
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) summary.get("steps")).entrySet()) {
+            Map<String, Object> step = (Map<String, Object>) entry.getValue();
+            table.append(String.format("%-24s %8s %7s %7s %7s %7s %7s %7s%n", entry.getKey(), step.get("count"),
+                    step.get("errors"), step.get("perSecond"), step.get("p50"), step.get("p90"), step.get("p99"),
+                    step.get("max")));
+        }
+        return table.toString();
+    }
+
+    private StepStats stats(String step) {
+        order.putIfAbsent(step, order.size());
+        return steps.computeIfAbsent(step, key -> new StepStats());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
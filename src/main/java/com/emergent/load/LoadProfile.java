@@ -0,0 +1,59 @@
+package com.emergent.load;
+
+import com.emergent.utils.ConfigProperties;
+
+/**
+ * Ramp-up / hold / ramp-down schedule for virtual users.
+ * Users start one after another over the ramp-up, all of them run during the hold, and during
+ * the ramp-down the most recently started users stop first. A user that is past its stop time
+ * finishes the journey it is in and then leaves.
+ *
+ * @param users          peak number of concurrent virtual users
+ * @param rampUpMillis   time over which users are started
+ * @param holdMillis     time all users run concurrently
+ * @param rampDownMillis time over which users are stopped
+ */
+public record LoadProfile(int users, long rampUpMillis, long holdMillis, long rampDownMillis) {
+
+    /**
+     * Builds the profile from the load.* properties in config.properties.
+     *
+     * @return the configured profile
+     */
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                Integer.parseInt(ConfigProperties.getProperty("load.users", "5")),
+                Long.parseLong(ConfigProperties.getProperty("load.ramp.up.seconds", "30")) * 1000,
+                Long.parseLong(ConfigProperties.getProperty("load.hold.seconds", "60")) * 1000,
+                Long.parseLong(ConfigProperties.getProperty("load.ramp.down.seconds", "15")) * 1000);
+    }
+
+    /**
+     * Gets the time a user starts, relative to the start of the run.
+     *
+     * @param user the user index, 0 to users - 1
+     * @return the start offset in milliseconds
+     */
+    public long startOffsetMillis(int user) {
+        return rampUpMillis * user / users;
+    }
+
+    /**
+     * Gets the time after which a user starts no new journey, relative to the start of the run.
+     *
+     * @param user the user index, 0 to users - 1
+     * @return the stop offset in milliseconds
+     */
+    public long stopOffsetMillis(int user) {
+        return rampUpMillis + holdMillis + rampDownMillis * (users - user) / users;
+    }
+
+    /**
+     * Gets the planned duration of the whole run.
+     *
+     * @return the duration in milliseconds
+     */
+    public long durationMillis() {
+        return rampUpMillis + holdMillis + rampDownMillis;
+    }
+}
@@ -0,0 +1,160 @@
+package com.emergent.load;
+
+import com.emergent.standin.StandInServer;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.Json;
+import com.emergent.utils.WebDriverPool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load mode: drives concurrent headless browser sessions through a scripted {@link Journey}
+ * following a {@link LoadProfile}, and reports throughput and latency per step.
+ * Browsers come from a dedicated {@link WebDriverPool} and are checked out per journey, so
+ * load.pool.size bounds the number of live sessions even when more virtual users are configured.
+ * With standin.enabled the run targets a local {@link StandInServer}.
+ *
+ * Run with: mvn compile exec:java -Dexec.mainClass=com.emergent.load.LoadRunner -Dload.users=10
+ */
+public class LoadRunner {
+    private final LoadProfile profile;
+    private final Journey journey;
+    private final WebDriverPool pool;
+    private final long thinkMillis;
+    private final LoadMetrics metrics = new LoadMetrics();
+
+    /**
+     * Creates a load runner.
+     *
+     * @param profile     the ramp-up / hold / ramp-down schedule
+     * @param journey     the journey every virtual user repeats
+     * @param pool        the pool virtual users check their browsers out of
+     * @param thinkMillis pause after each step
+     */
+    public LoadRunner(LoadProfile profile, Journey journey, WebDriverPool pool, long thinkMillis) {
+        this.profile = profile;
+        this.journey = journey;
+        this.pool = pool;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Runs the profile to completion.
+     *
+     * @return the collected metrics
+     * @throws InterruptedException if interrupted while waiting for users to finish
+     */
+    public LoadMetrics run() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < profile.users(); i++) {
+            int id = i;
+            Thread thread = new Thread(() -> runUser(id, start), "virtual-user-" + id);
+            thread.setDaemon(true);
+            users.add(thread);
+            thread.start();
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+        return metrics;
+    }
+
+    private void runUser(int id, long start) {
+        if (!sleepUntil(start + profile.startOffsetMillis(id))) {
+            return;
+        }
+        long stopAt = start + profile.stopOffsetMillis(id);
+        VirtualUser user = new VirtualUser(id, metrics, thinkMillis);
+        while (System.currentTimeMillis() < stopAt && !Thread.currentThread().isInterrupted()) {
+            // Browsers are held per journey, so more users than browsers take turns on the pool
+            try {
+                user.startIteration(pool.checkout());
+            } catch (RuntimeException e) {
+                System.err.println("Virtual user " + id + " could not get a browser: " + e.getMessage());
+                metrics.recordError("browser checkout");
+                return;
+            }
+            try {
+                journey.run(user);
+                metrics.recordJourney(true);
+            } catch (RuntimeException e) {
+                metrics.recordJourney(false);
+                System.err.println("Virtual user " + id + " journey " + user.getIteration() + " failed: "
+                        + e.getMessage());
+            } finally {
+                pool.checkin();
+            }
+        }
+    }
+
+    private static boolean sleepUntil(long time) {
+        long delay = time - System.currentTimeMillis();
+        if (delay <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Runs the configured load profile and writes load-report.json to metrics.path.
+     *
+     * @param args unused; configure with -Dload.* properties
+     * @throws InterruptedException if interrupted while the load is running
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (StandInServer.isEnabled()) {
+            StandInServer.startShared();
+        }
+        LoadProfile profile = LoadProfile.fromConfig();
+        int poolSize = Integer.parseInt(ConfigProperties.getProperty("load.pool.size",
+                String.valueOf(profile.users())));
+        WebDriverPool pool = new WebDriverPool(ConfigProperties.getBrowser(),
+                Boolean.parseBoolean(ConfigProperties.getProperty("load.headless", "true")), poolSize,
+                TimeUnit.MINUTES.toMillis(10), profile.durationMillis() + TimeUnit.MINUTES.toMillis(5));
+        LoadRunner runner = new LoadRunner(profile, Journey.loginCreatePromptDeploy(), pool,
+                Long.parseLong(ConfigProperties.getProperty("load.think.millis", "500")));
+
+        System.out.printf("Load run: %d users against %s (ramp-up %d s, hold %d s, ramp-down %d s, %d browsers)%n",
+                profile.users(), ConfigProperties.getBaseUrl(), profile.rampUpMillis() / 1000,
+                profile.holdMillis() / 1000, profile.rampDownMillis() / 1000, poolSize);
+        long start = System.currentTimeMillis();
+        try {
+            LoadMetrics metrics = runner.run();
+            long elapsed = System.currentTimeMillis() - start;
+            System.out.print(metrics.toTable(elapsed));
+            writeReport(metrics.summary(elapsed), profile);
+        } finally {
+            pool.shutdown();
+            StandInServer.stopShared();
+        }
+    }
+
+    private static void writeReport(Map<String, Object> summary, LoadProfile profile) {
+        Path directory = Paths.get(ConfigProperties.getProperty("metrics.path", "target/metrics"));
+        summary.put("users", profile.users());
+        summary.put("baseUrl", ConfigProperties.getBaseUrl());
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("load-report.json");
+            Files.writeString(file, Json.toJson(summary), StandardCharsets.UTF_8);
+            System.out.println("Load report written to " + file);
+        } catch (IOException e) {
+            System.err.println("Failed to write load report: " + e.getMessage());
+        }
+    }
+}
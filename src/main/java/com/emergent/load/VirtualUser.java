@@ -0,0 +1,97 @@
+package com.emergent.load;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Supplier;
+
+/**
+ * One simulated user: the browser session of its current journey plus the step timer journeys
+ * report through.
+ */
+public class VirtualUser {
+    private final int id;
+    private WebDriver driver;
+    private final LoadMetrics metrics;
+    private final long thinkMillis;
+    private int iteration;
+
+    /**
+     * Creates a virtual user.
+     *
+     * @param id          the user index
+     * @param metrics     where step timings are recorded
+     * @param thinkMillis pause after each step, like a user reading the page
+     */
+    public VirtualUser(int id, LoadMetrics metrics, long thinkMillis) {
+        this.id = id;
+        this.metrics = metrics;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Gets the user index.
+     *
+     * @return the index, 0 for the first user started
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the browser session of the current journey.
+     *
+     * @return the WebDriver instance
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Gets the number of the journey the user is running.
+     *
+     * @return the iteration, starting at 1
+     */
+    public int getIteration() {
+        return iteration;
+    }
+
+    void startIteration(WebDriver driver) {
+        this.driver = driver;
+        iteration++;
+    }
+
+    /**
+     * Runs one timed step of a journey. Failures are counted against the step and rethrown,
+     * which ends the current journey.
+     *
+     * @param name   the step name used in the report
+     * @param action the page object calls making up the step
+     * @param <T>    the type the step returns, usually the next page object
+     * @return the action's result
+     */
+    public <T> T step(String name, Supplier<T> action) {
+        metrics.register(name);
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            metrics.recordError(name);
+            throw e;
+        }
+        metrics.recordSuccess(name, (System.nanoTime() - start) / 1_000_000);
+        think();
+        return result;
+    }
+
+    private void think() {
+        if (thinkMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(thinkMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
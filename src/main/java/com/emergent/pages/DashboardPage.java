@@ -1,5 +1,10 @@
 package com.emergent.pages;
 
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
+import com.emergent.utils.PageTimings;
 import com.emergent.utils.TestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,17 +20,18 @@ import java.util.List;
  */
 public class DashboardPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(DashboardPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
 
     // Locators
-    private final By createProjectButton = By.xpath("//button[contains(text(), 'Create Project')]");
-    private final By projectsList = By.xpath("//div[contains(@class, 'project-card')]");
-    private final By userProfileMenu = By.xpath("//div[contains(@class, 'user-profile')]");
-    private final By logoutOption = By.xpath("//button[contains(text(), 'Logout')]");
-    private final By dashboardTitle = By.xpath("//h1[contains(text(), 'Dashboard')]");
-    private final By searchBox = By.xpath("//input[@placeholder='Search projects']");
+    private final By createProjectButton = Locator.role("button").withText("Create Project").toBy();
+    private final By projectsList = Locator.tag("div").withClass("project-card").toBy();
+    private final By userProfileMenu = Locator.tag("div").withClass("user-profile").toBy();
+    private final By logoutOption = Locator.role("button").withText("Logout").toBy();
+    private final By dashboardTitle = Locator.tag("h1").withText("Dashboard").toBy();
+    private final By searchBox = Locator.tag("input").withAttribute("placeholder", "Search projects").toBy();
 
     /**
      * Constructor
@@ -34,6 +40,7 @@ public class DashboardPage {
      */
     public DashboardPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -42,9 +49,11 @@ public class DashboardPage {
      * @return DashboardPage instance
      */
     public DashboardPage navigateTo() {
-        logger.info("Navigating to Emergent dashboard page");
-        driver.get("https://app.emergent.sh/dashboard");
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.navigateTo")) {
+            logger.info("Navigating to Emergent dashboard page");
+            PageTimings.navigate(driver, "DashboardPage", ConfigProperties.getAppUrl() + "/dashboard");
+            return this;
+        }
     }
 
     /**
@@ -53,10 +62,12 @@ public class DashboardPage {
      * @return ProjectCreationPage instance
      */
     public ProjectCreationPage clickCreateProject() {
-        logger.info("Clicking on create project button");
-        WebElement element = TestUtils.waitForElementClickable(driver, createProjectButton, TIMEOUT);
-        element.click();
-        return new ProjectCreationPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.clickCreateProject")) {
+            logger.info("Clicking on create project button");
+            WebElement element = elements.clickable(createProjectButton, TIMEOUT);
+            element.click();
+            return new ProjectCreationPage(driver);
+        }
     }
 
     /**
@@ -74,8 +85,22 @@ public class DashboardPage {
      * @return list of project WebElements
      */
     public List<WebElement> getProjects() {
-        logger.info("Getting list of projects");
-        return driver.findElements(projectsList);
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.getProjects")) {
+            logger.info("Getting list of projects");
+            return driver.findElements(projectsList);
+        }
+    }
+
+    /**
+     * Gets the text of every project card in a single round trip
+     *
+     * @return list of project card texts
+     */
+    public List<String> getProjectNames() {
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.getProjectNames")) {
+            logger.info("Getting project names");
+            return TestUtils.extractTexts(driver, projectsList);
+        }
     }
 
     /**
@@ -84,8 +109,10 @@ public class DashboardPage {
      * @return number of projects
      */
     public int getProjectCount() {
-        logger.info("Getting project count");
-        return getProjects().size();
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.getProjectCount")) {
+            logger.info("Getting project count");
+            return getProjects().size();
+        }
     }
 
     /**
@@ -95,13 +122,14 @@ public class DashboardPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage openProject(String projectName) {
-        logger.info("Opening project: {}", projectName);
-        By projectLocator = By.xpath(String.format(
-                "//div[contains(@class, 'project-card') and contains(., '%s')]//button[contains(text(), 'Open')]",
-                projectName));
-        WebElement element = TestUtils.waitForElementClickable(driver, projectLocator, TIMEOUT);
-        element.click();
-        return new ProjectDetailsPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.openProject")) {
+            logger.info("Opening project: {}", projectName);
+            By projectLocator = Locator.tag("div").withClass("project-card").containingText(projectName)
+                    .descendantWithRole("button").withText("Open").toBy();
+            WebElement element = elements.clickable(projectLocator, TIMEOUT);
+            element.click();
+            return new ProjectDetailsPage(driver);
+        }
     }
 
     /**
@@ -111,11 +139,13 @@ public class DashboardPage {
      * @return DashboardPage instance
      */
     public DashboardPage searchProject(String searchTerm) {
-        logger.info("Searching for project: {}", searchTerm);
-        WebElement element = TestUtils.waitForElementClickable(driver, searchBox, TIMEOUT);
-        element.clear();
-        element.sendKeys(searchTerm);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.searchProject")) {
+            logger.info("Searching for project: {}", searchTerm);
+            WebElement element = elements.clickable(searchBox, TIMEOUT);
+            element.clear();
+            element.sendKeys(searchTerm);
+            return this;
+        }
     }
 
     /**
@@ -124,13 +154,15 @@ public class DashboardPage {
      * @return HomePage instance
      */
     public HomePage logout() {
-        logger.info("Logging out");
-        WebElement profileMenu = TestUtils.waitForElementClickable(driver, userProfileMenu, TIMEOUT);
-        profileMenu.click();
-
-        WebElement logoutBtn = TestUtils.waitForElementClickable(driver, logoutOption, TIMEOUT);
-        logoutBtn.click();
-        return new HomePage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.logout")) {
+            logger.info("Logging out");
+            WebElement profileMenu = elements.clickable(userProfileMenu, TIMEOUT);
+            profileMenu.click();
+
+            WebElement logoutBtn = elements.clickable(logoutOption, TIMEOUT);
+            logoutBtn.click();
+            return new HomePage(driver);
+        }
     }
 
     /**
@@ -139,13 +171,25 @@ public class DashboardPage {
      * @return true if the dashboard page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the dashboard page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, dashboardTitle, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, createProjectButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Dashboard page is not loaded: {}", e.getMessage());
-            return false;
+        return isLoaded(TIMEOUT);
+    }
+
+    /**
+     * Verifies that the dashboard page is loaded within the given timeout
+     *
+     * @param timeout the timeout in seconds
+     * @return true if the dashboard page is loaded, false otherwise
+     */
+    public boolean isLoaded(int timeout) {
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.isLoaded")) {
+            logger.info("Verifying that the dashboard page is loaded");
+            try {
+                elements.waitForAllClickable(timeout, dashboardTitle, createProjectButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Dashboard page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -164,17 +208,13 @@ public class DashboardPage {
      * @return DashboardPage instance
      */
     public DashboardPage waitForPageToLoad() {
-        logger.info("Waiting for dashboard page to load completely");
-        TestUtils.waitForElementClickable(driver, dashboardTitle, TIMEOUT);
-        TestUtils.waitForElementClickable(driver, createProjectButton, TIMEOUT);
-        // Wait for projects to load if any
-        try {
-            Thread.sleep(2000); // Additional wait for dynamic content
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Thread interrupted while waiting for page to load", e);
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.waitForPageToLoad")) {
+            logger.info("Waiting for dashboard page to load completely");
+            elements.waitForAllClickable(TIMEOUT, dashboardTitle, createProjectButton);
+            // Wait for projects to load if any
+            TestUtils.waitForDomQuiescence(driver);
+            return this;
         }
-        return this;
     }
 
     public boolean isUserLoggedIn() {
@@ -192,8 +232,21 @@ public class DashboardPage {
         throw new UnsupportedOperationException("Unimplemented method 'clickLogoutOption'");
     }
 
-    public boolean isProjectInList(String initialProjectName) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'isProjectInList'");
+    /**
+     * Checks whether a project with the given name is listed on the dashboard
+     *
+     * @param projectName name of the project
+     * @return true if a project card contains the name, false otherwise
+     */
+    public boolean isProjectInList(String projectName) {
+        try (ActionTimings.Action ignored = ActionTimings.start("DashboardPage.isProjectInList")) {
+            logger.info("Checking if project is in list: {}", projectName);
+            for (String projectText : getProjectNames()) {
+                if (projectText.contains(projectName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.emergent.pages;
 
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
 import com.emergent.utils.TestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -7,7 +10,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 
@@ -16,6 +18,7 @@ import java.time.Duration;
  */
 public class DeploymentPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(DeploymentPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
@@ -23,14 +26,14 @@ public class DeploymentPage {
     private static final int LONG_TIMEOUT = 120;
 
     // Locators
-    private final By deploymentTitle = By.xpath("//h1[contains(text(), 'Deployment')]");
-    private final By deployButton = By.xpath("//button[contains(text(), 'Deploy')]");
-    private final By deploymentEnvironmentDropdown = By.xpath("//select[@id='environment']");
-    private final By deploymentStatusIndicator = By.xpath("//div[contains(@class, 'deployment-status')]");
-    private final By deploymentLogsArea = By.xpath("//div[contains(@class, 'deployment-logs')]");
-    private final By backToProjectButton = By.xpath("//button[contains(text(), 'Back to Project')]");
-    private final By deploymentProgressIndicator = By.xpath("//div[contains(@class, 'progress-indicator')]");
-    private final By deploymentUrlLink = By.xpath("//a[contains(@class, 'deployment-url')]");
+    private final By deploymentTitle = Locator.tag("h1").withText("Deployment").toBy();
+    private final By deployButton = Locator.role("button").withText("Deploy").toBy();
+    private final By deploymentEnvironmentDropdown = Locator.any().withId("environment").toBy();
+    private final By deploymentStatusIndicator = Locator.tag("div").withClass("deployment-status").toBy();
+    private final By deploymentLogsArea = Locator.tag("div").withClass("deployment-logs").toBy();
+    private final By backToProjectButton = Locator.role("button").withText("Back to Project").toBy();
+    private final By deploymentProgressIndicator = Locator.tag("div").withClass("progress-indicator").toBy();
+    private final By deploymentUrlLink = Locator.tag("a").withClass("deployment-url").toBy();
 
     /**
      * Constructor
@@ -39,6 +42,7 @@ public class DeploymentPage {
      */
     public DeploymentPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -48,14 +52,16 @@ public class DeploymentPage {
      * @return DeploymentPage instance
      */
     public DeploymentPage selectEnvironment(String environment) {
-        logger.info("Selecting environment: {}", environment);
-        WebElement dropdown = TestUtils.waitForElementClickable(driver, deploymentEnvironmentDropdown, TIMEOUT);
-        dropdown.click();
-
-        By environmentOption = By.xpath(String.format("//option[text()='%s']", environment));
-        WebElement option = TestUtils.waitForElementClickable(driver, environmentOption, TIMEOUT);
-        option.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.selectEnvironment")) {
+            logger.info("Selecting environment: {}", environment);
+            WebElement dropdown = elements.clickable(deploymentEnvironmentDropdown, TIMEOUT);
+            dropdown.click();
+
+            By environmentOption = Locator.tag("option").withExactText(environment).toBy();
+            WebElement option = elements.clickable(environmentOption, TIMEOUT);
+            option.click();
+            return this;
+        }
     }
 
     /**
@@ -64,10 +70,12 @@ public class DeploymentPage {
      * @return DeploymentPage instance
      */
     public DeploymentPage clickDeploy() {
-        logger.info("Clicking on deploy button");
-        WebElement element = TestUtils.waitForElementClickable(driver, deployButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.clickDeploy")) {
+            logger.info("Clicking on deploy button");
+            WebElement element = elements.clickable(deployButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -77,9 +85,11 @@ public class DeploymentPage {
      * @return DeploymentPage instance
      */
     public DeploymentPage deploy(String environment) {
-        logger.info("Deploying to environment: {}", environment);
-        selectEnvironment(environment);
-        return clickDeploy();
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.deploy")) {
+            logger.info("Deploying to environment: {}", environment);
+            selectEnvironment(environment);
+            return clickDeploy();
+        }
     }
 
     /**
@@ -88,13 +98,15 @@ public class DeploymentPage {
      * @return deployment status text
      */
     public String getDeploymentStatus() {
-        logger.info("Getting deployment status");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, deploymentStatusIndicator, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Deployment status not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.getDeploymentStatus")) {
+            logger.info("Getting deployment status");
+            try {
+                WebElement element = elements.clickable(deploymentStatusIndicator, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Deployment status not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -104,13 +116,15 @@ public class DeploymentPage {
      * @return deployment logs text
      */
     public String getDeploymentLogs() {
-        logger.info("Getting deployment logs");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, deploymentLogsArea, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Deployment logs not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.getDeploymentLogs")) {
+            logger.info("Getting deployment logs");
+            try {
+                elements.clickable(deploymentLogsArea, TIMEOUT);
+                return String.join("\n", TestUtils.extractTexts(driver, deploymentLogsArea));
+            } catch (Exception e) {
+                logger.error("Deployment logs not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -120,13 +134,15 @@ public class DeploymentPage {
      * @return deployment URL
      */
     public String getDeploymentUrl() {
-        logger.info("Getting deployment URL");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, deploymentUrlLink, TIMEOUT);
-            return element.getAttribute("href");
-        } catch (Exception e) {
-            logger.error("Deployment URL not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.getDeploymentUrl")) {
+            logger.info("Getting deployment URL");
+            try {
+                WebElement element = elements.clickable(deploymentUrlLink, TIMEOUT);
+                return element.getAttribute("href");
+            } catch (Exception e) {
+                logger.error("Deployment URL not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -136,16 +152,17 @@ public class DeploymentPage {
      * @return DeploymentPage instance
      */
     public DeploymentPage waitForDeploymentToComplete() {
-        logger.info("Waiting for deployment to complete");
-        try {
-            // Wait for progress indicator to disappear
-            WebDriverWait wait = new WebDriverWait(driver, LONG_TIMEOUT_DURATION);
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(deploymentProgressIndicator));
-            logger.info("Deployment completed");
-        } catch (Exception e) {
-            logger.error("Error waiting for deployment to complete: {}", e.getMessage());
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.waitForDeploymentToComplete")) {
+            logger.info("Waiting for deployment to complete");
+            try {
+                // Wait for progress indicator to disappear
+                TestUtils.waitFor(driver, ExpectedConditions.invisibilityOfElementLocated(deploymentProgressIndicator), LONG_TIMEOUT);
+                logger.info("Deployment completed");
+            } catch (Exception e) {
+                logger.error("Error waiting for deployment to complete: {}", e.getMessage());
+            }
+            return this;
         }
-        return this;
     }
 
     /**
@@ -154,10 +171,12 @@ public class DeploymentPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage clickBackToProject() {
-        logger.info("Clicking on back to project button");
-        WebElement element = TestUtils.waitForElementClickable(driver, backToProjectButton, TIMEOUT);
-        element.click();
-        return new ProjectDetailsPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.clickBackToProject")) {
+            logger.info("Clicking on back to project button");
+            WebElement element = elements.clickable(backToProjectButton, TIMEOUT);
+            element.click();
+            return new ProjectDetailsPage(driver);
+        }
     }
 
     /**
@@ -166,13 +185,15 @@ public class DeploymentPage {
      * @return true if the deployment page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the deployment page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, deploymentTitle, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, deployButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Deployment page is not loaded: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.isLoaded")) {
+            logger.info("Verifying that the deployment page is loaded");
+            try {
+                elements.waitForAllClickable(TIMEOUT, deploymentTitle, deployButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Deployment page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -182,17 +203,13 @@ public class DeploymentPage {
      * @return DeploymentPage instance
      */
     public DeploymentPage waitForPageToLoad() {
-        logger.info("Waiting for deployment page to load completely");
-        TestUtils.waitForElementClickable(driver, deploymentTitle, TIMEOUT);
-        TestUtils.waitForElementClickable(driver, deployButton, TIMEOUT);
-        // Wait for deployment status to load if any
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Thread interrupted while waiting for page to load", e);
+        try (ActionTimings.Action ignored = ActionTimings.start("DeploymentPage.waitForPageToLoad")) {
+            logger.info("Waiting for deployment page to load completely");
+            elements.waitForAllClickable(TIMEOUT, deploymentTitle, deployButton);
+            // Wait for deployment status to load if any
+            TestUtils.waitForDomQuiescence(driver);
+            return this;
         }
-        return this;
     }
 
     /**
@@ -1,6 +1,10 @@
 package com.emergent.pages;
 
-import com.emergent.utils.TestUtils;
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
+import com.emergent.utils.PageTimings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -14,17 +18,18 @@ import java.time.Duration;
  */
 public class ForgotPasswordPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(ForgotPasswordPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
 
     // Locators
     private final By emailField = By.id("email");
-    private final By resetPasswordButton = By.xpath("//button[contains(text(), 'Reset Password')]");
-    private final By successMessage = By.xpath("//div[contains(@class, 'success-message')]");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'error-message')]");
-    private final By backToLoginLink = By.xpath("//a[contains(text(), 'Back to Login')]");
-    private final By forgotPasswordTitle = By.xpath("//h1[contains(text(), 'Forgot Password')]");
+    private final By resetPasswordButton = Locator.role("button").withText("Reset Password").toBy();
+    private final By successMessage = Locator.tag("div").withClass("success-message").toBy();
+    private final By errorMessage = Locator.tag("div").withClass("error-message").toBy();
+    private final By backToLoginLink = Locator.tag("a").withText("Back to Login").toBy();
+    private final By forgotPasswordTitle = Locator.tag("h1").withText("Forgot Password").toBy();
 
     /**
      * Constructor
@@ -33,6 +38,7 @@ public class ForgotPasswordPage {
      */
     public ForgotPasswordPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -41,9 +47,11 @@ public class ForgotPasswordPage {
      * @return ForgotPasswordPage instance
      */
     public ForgotPasswordPage navigateTo() {
-        logger.info("Navigating to Emergent forgot password page");
-        driver.get("https://emergent.sh/forgot-password");
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.navigateTo")) {
+            logger.info("Navigating to Emergent forgot password page");
+            PageTimings.navigate(driver, "ForgotPasswordPage", ConfigProperties.getBaseUrl() + "/forgot-password");
+            return this;
+        }
     }
 
     /**
@@ -53,11 +61,13 @@ public class ForgotPasswordPage {
      * @return ForgotPasswordPage instance
      */
     public ForgotPasswordPage enterEmail(String email) {
-        logger.info("Entering email: {}", email);
-        WebElement element = TestUtils.waitForElementClickable(driver, emailField, TIMEOUT);
-        element.clear();
-        element.sendKeys(email);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.enterEmail")) {
+            logger.info("Entering email: {}", email);
+            WebElement element = elements.clickable(emailField, TIMEOUT);
+            element.clear();
+            element.sendKeys(email);
+            return this;
+        }
     }
 
     /**
@@ -66,10 +76,12 @@ public class ForgotPasswordPage {
      * @return ForgotPasswordPage instance
      */
     public ForgotPasswordPage clickResetPassword() {
-        logger.info("Clicking on reset password button");
-        WebElement element = TestUtils.waitForElementClickable(driver, resetPasswordButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.clickResetPassword")) {
+            logger.info("Clicking on reset password button");
+            WebElement element = elements.clickable(resetPasswordButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -79,9 +91,11 @@ public class ForgotPasswordPage {
      * @return ForgotPasswordPage instance
      */
     public ForgotPasswordPage resetPassword(String email) {
-        logger.info("Resetting password for email: {}", email);
-        enterEmail(email);
-        return clickResetPassword();
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.resetPassword")) {
+            logger.info("Resetting password for email: {}", email);
+            enterEmail(email);
+            return clickResetPassword();
+        }
     }
 
     /**
@@ -90,13 +104,15 @@ public class ForgotPasswordPage {
      * @return success message text
      */
     public String getSuccessMessage() {
-        logger.info("Getting success message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, successMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Success message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.getSuccessMessage")) {
+            logger.info("Getting success message");
+            try {
+                WebElement element = elements.clickable(successMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Success message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -106,13 +122,15 @@ public class ForgotPasswordPage {
      * @return error message text
      */
     public String getErrorMessage() {
-        logger.info("Getting error message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Error message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.getErrorMessage")) {
+            logger.info("Getting error message");
+            try {
+                WebElement element = elements.clickable(errorMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Error message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -122,10 +140,12 @@ public class ForgotPasswordPage {
      * @return LoginPage instance
      */
     public LoginPage clickBackToLogin() {
-        logger.info("Clicking on back to login link");
-        WebElement element = TestUtils.waitForElementClickable(driver, backToLoginLink, TIMEOUT);
-        element.click();
-        return new LoginPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.clickBackToLogin")) {
+            logger.info("Clicking on back to login link");
+            WebElement element = elements.clickable(backToLoginLink, TIMEOUT);
+            element.click();
+            return new LoginPage(driver);
+        }
     }
 
     /**
@@ -134,14 +154,15 @@ public class ForgotPasswordPage {
      * @return true if the forgot password page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the forgot password page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, forgotPasswordTitle, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, emailField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, resetPasswordButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Forgot password page is not loaded: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ForgotPasswordPage.isLoaded")) {
+            logger.info("Verifying that the forgot password page is loaded");
+            try {
+                elements.waitForAllClickable(TIMEOUT, forgotPasswordTitle, emailField, resetPasswordButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Forgot password page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
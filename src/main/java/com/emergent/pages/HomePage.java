@@ -1,6 +1,10 @@
 package com.emergent.pages;
 
-import com.emergent.utils.TestUtils;
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
+import com.emergent.utils.PageTimings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -14,14 +18,15 @@ import java.time.Duration;
  */
 public class HomePage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(HomePage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
 
     // Locators
-    private final By signUpLink = By.xpath("//a[contains(text(), 'Don\'t have an account')]");
-    private final By loginLink = By.xpath("//a[contains(text(), 'Log in with email')]");
-    private final By forgotPasswordLink = By.xpath("//a[contains(text(), 'Forgot Password')]");
+    private final By signUpLink = Locator.tag("a").withText("Don't have an account").toBy();
+    private final By loginLink = Locator.tag("a").withText("Log in with email").toBy();
+    private final By forgotPasswordLink = Locator.tag("a").withText("Forgot Password").toBy();
 
     /**
      * Constructor
@@ -30,6 +35,7 @@ public class HomePage {
      */
     public HomePage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -38,9 +44,11 @@ public class HomePage {
      * @return HomePage instance
      */
     public HomePage navigateTo() {
-        logger.info("Navigating to Emergent home page");
-        driver.get("https://emergent.sh/");
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("HomePage.navigateTo")) {
+            logger.info("Navigating to Emergent home page");
+            PageTimings.navigate(driver, "HomePage", ConfigProperties.getBaseUrl() + "/");
+            return this;
+        }
     }
 
     /**
@@ -49,10 +57,12 @@ public class HomePage {
      * @return SignUpPage instance
      */
     public SignUpPage clickSignUp() {
-        logger.info("Clicking on sign up link");
-        WebElement element = TestUtils.waitForElementClickable(driver, signUpLink, TIMEOUT);
-        element.click();
-        return new SignUpPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("HomePage.clickSignUp")) {
+            logger.info("Clicking on sign up link");
+            WebElement element = elements.clickable(signUpLink, TIMEOUT);
+            element.click();
+            return new SignUpPage(driver);
+        }
     }
 
     /**
@@ -61,10 +71,12 @@ public class HomePage {
      * @return LoginPage instance
      */
     public LoginPage clickLogin() {
-        logger.info("Clicking on login link");
-        WebElement element = TestUtils.waitForElementClickable(driver, loginLink, TIMEOUT);
-        element.click();
-        return new LoginPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("HomePage.clickLogin")) {
+            logger.info("Clicking on login link");
+            WebElement element = elements.clickable(loginLink, TIMEOUT);
+            element.click();
+            return new LoginPage(driver);
+        }
     }
 
     /**
@@ -73,10 +85,12 @@ public class HomePage {
      * @return ForgotPasswordPage instance
      */
     public ForgotPasswordPage clickForgotPassword() {
-        logger.info("Clicking on forgot password link");
-        WebElement element = TestUtils.waitForElementClickable(driver, forgotPasswordLink, TIMEOUT);
-        element.click();
-        return new ForgotPasswordPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("HomePage.clickForgotPassword")) {
+            logger.info("Clicking on forgot password link");
+            WebElement element = elements.clickable(forgotPasswordLink, TIMEOUT);
+            element.click();
+            return new ForgotPasswordPage(driver);
+        }
     }
 
     /**
@@ -85,13 +99,25 @@ public class HomePage {
      * @return true if the home page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the home page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, signUpLink, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, loginLink, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Home page is not loaded: {}", e.getMessage());
-            return false;
+        return isLoaded(TIMEOUT);
+    }
+
+    /**
+     * Verifies that the home page is loaded within the given timeout
+     *
+     * @param timeout the timeout in seconds
+     * @return true if the home page is loaded, false otherwise
+     */
+    public boolean isLoaded(int timeout) {
+        try (ActionTimings.Action ignored = ActionTimings.start("HomePage.isLoaded")) {
+            logger.info("Verifying that the home page is loaded");
+            try {
+                elements.waitForAllClickable(timeout, signUpLink, loginLink);
+                return true;
+            } catch (Exception e) {
+                logger.error("Home page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -1,6 +1,10 @@
 package com.emergent.pages;
 
-import com.emergent.utils.TestUtils;
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
+import com.emergent.utils.PageTimings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -14,6 +18,7 @@ import java.time.Duration;
  */
 public class LoginPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(LoginPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
@@ -21,10 +26,10 @@ public class LoginPage {
     // Locators
     private final By emailField = By.id("email");
     private final By passwordField = By.id("password");
-    private final By loginButton = By.xpath("//button[contains(text(), 'Log in')]");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'error-message')]");
-    private final By signUpLink = By.xpath("//a[contains(text(), 'Sign up')]");
-    private final By forgotPasswordLink = By.xpath("//a[contains(text(), 'Forgot Password')]");
+    private final By loginButton = Locator.role("button").withText("Log in").toBy();
+    private final By errorMessage = Locator.tag("div").withClass("error-message").toBy();
+    private final By signUpLink = Locator.tag("a").withText("Sign up").toBy();
+    private final By forgotPasswordLink = Locator.tag("a").withText("Forgot Password").toBy();
 
     /**
      * Constructor
@@ -33,6 +38,7 @@ public class LoginPage {
      */
     public LoginPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -41,9 +47,11 @@ public class LoginPage {
      * @return LoginPage instance
      */
     public LoginPage navigateTo() {
-        logger.info("Navigating to Emergent login page");
-        driver.get("https://emergent.sh/login");
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.navigateTo")) {
+            logger.info("Navigating to Emergent login page");
+            PageTimings.navigate(driver, "LoginPage", ConfigProperties.getBaseUrl() + "/login");
+            return this;
+        }
     }
 
     /**
@@ -53,11 +61,13 @@ public class LoginPage {
      * @return LoginPage instance
      */
     public LoginPage enterEmail(String email) {
-        logger.info("Entering email: {}", email);
-        WebElement element = TestUtils.waitForElementClickable(driver, emailField, TIMEOUT);
-        element.clear();
-        element.sendKeys(email);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.enterEmail")) {
+            logger.info("Entering email: {}", email);
+            WebElement element = elements.clickable(emailField, TIMEOUT);
+            element.clear();
+            element.sendKeys(email);
+            return this;
+        }
     }
 
     /**
@@ -67,11 +77,13 @@ public class LoginPage {
      * @return LoginPage instance
      */
     public LoginPage enterPassword(String password) {
-        logger.info("Entering password");
-        WebElement element = TestUtils.waitForElementClickable(driver, passwordField, TIMEOUT);
-        element.clear();
-        element.sendKeys(password);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.enterPassword")) {
+            logger.info("Entering password");
+            WebElement element = elements.clickable(passwordField, TIMEOUT);
+            element.clear();
+            element.sendKeys(password);
+            return this;
+        }
     }
 
     /**
@@ -80,10 +92,12 @@ public class LoginPage {
      * @return DashboardPage instance
      */
     public DashboardPage clickLogin() {
-        logger.info("Clicking on login button");
-        WebElement element = TestUtils.waitForElementClickable(driver, loginButton, TIMEOUT);
-        element.click();
-        return new DashboardPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.clickLogin")) {
+            logger.info("Clicking on login button");
+            WebElement element = elements.clickable(loginButton, TIMEOUT);
+            element.click();
+            return new DashboardPage(driver);
+        }
     }
 
     /**
@@ -94,10 +108,12 @@ public class LoginPage {
      * @return DashboardPage instance
      */
     public DashboardPage login(String email, String password) {
-        logger.info("Logging in with email: {}", email);
-        enterEmail(email);
-        enterPassword(password);
-        return clickLogin();
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.login")) {
+            logger.info("Logging in with email: {}", email);
+            enterEmail(email);
+            enterPassword(password);
+            return clickLogin();
+        }
     }
 
     /**
@@ -106,13 +122,15 @@ public class LoginPage {
      * @return error message text
      */
     public String getErrorMessage() {
-        logger.info("Getting error message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Error message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.getErrorMessage")) {
+            logger.info("Getting error message");
+            try {
+                WebElement element = elements.clickable(errorMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Error message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -122,10 +140,12 @@ public class LoginPage {
      * @return SignUpPage instance
      */
     public SignUpPage clickSignUp() {
-        logger.info("Clicking on sign up link");
-        WebElement element = TestUtils.waitForElementClickable(driver, signUpLink, TIMEOUT);
-        element.click();
-        return new SignUpPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.clickSignUp")) {
+            logger.info("Clicking on sign up link");
+            WebElement element = elements.clickable(signUpLink, TIMEOUT);
+            element.click();
+            return new SignUpPage(driver);
+        }
     }
 
     /**
@@ -134,10 +154,12 @@ public class LoginPage {
      * @return ForgotPasswordPage instance
      */
     public ForgotPasswordPage clickForgotPassword() {
-        logger.info("Clicking on forgot password link");
-        WebElement element = TestUtils.waitForElementClickable(driver, forgotPasswordLink, TIMEOUT);
-        element.click();
-        return new ForgotPasswordPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.clickForgotPassword")) {
+            logger.info("Clicking on forgot password link");
+            WebElement element = elements.clickable(forgotPasswordLink, TIMEOUT);
+            element.click();
+            return new ForgotPasswordPage(driver);
+        }
     }
 
     /**
@@ -146,14 +168,25 @@ public class LoginPage {
      * @return true if the login page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the login page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, emailField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, passwordField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, loginButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Login page is not loaded: {}", e.getMessage());
-            return false;
+        return isLoaded(TIMEOUT);
+    }
+
+    /**
+     * Verifies that the login page is loaded within the given timeout
+     *
+     * @param timeout the timeout in seconds
+     * @return true if the login page is loaded, false otherwise
+     */
+    public boolean isLoaded(int timeout) {
+        try (ActionTimings.Action ignored = ActionTimings.start("LoginPage.isLoaded")) {
+            logger.info("Verifying that the login page is loaded");
+            try {
+                elements.waitForAllClickable(timeout, emailField, passwordField, loginButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Login page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -1,6 +1,8 @@
 package com.emergent.pages;
 
-import com.emergent.utils.TestUtils;
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -14,6 +16,7 @@ import java.time.Duration;
  */
 public class ProjectCreationPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(ProjectCreationPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
@@ -21,11 +24,11 @@ public class ProjectCreationPage {
     // Locators
     private final By projectNameField = By.id("projectName");
     private final By projectDescriptionField = By.id("projectDescription");
-    private final By createButton = By.xpath("//button[contains(text(), 'Create')]");
-    private final By cancelButton = By.xpath("//button[contains(text(), 'Cancel')]");
-    private final By templateOptions = By.xpath("//div[contains(@class, 'template-option')]");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'error-message')]");
-    private final By createProjectTitle = By.xpath("//h1[contains(text(), 'Create Project')]");
+    private final By createButton = Locator.role("button").withText("Create").toBy();
+    private final By cancelButton = Locator.role("button").withText("Cancel").toBy();
+    private final By templateOptions = Locator.tag("div").withClass("template-option").toBy();
+    private final By errorMessage = Locator.tag("div").withClass("error-message").toBy();
+    private final By createProjectTitle = Locator.tag("h1").withText("Create Project").toBy();
 
     /**
      * Constructor
@@ -34,6 +37,7 @@ public class ProjectCreationPage {
      */
     public ProjectCreationPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -43,11 +47,13 @@ public class ProjectCreationPage {
      * @return ProjectCreationPage instance
      */
     public ProjectCreationPage enterProjectName(String projectName) {
-        logger.info("Entering project name: {}", projectName);
-        WebElement element = TestUtils.waitForElementClickable(driver, projectNameField, TIMEOUT);
-        element.clear();
-        element.sendKeys(projectName);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.enterProjectName")) {
+            logger.info("Entering project name: {}", projectName);
+            WebElement element = elements.clickable(projectNameField, TIMEOUT);
+            element.clear();
+            element.sendKeys(projectName);
+            return this;
+        }
     }
 
     /**
@@ -57,11 +63,13 @@ public class ProjectCreationPage {
      * @return ProjectCreationPage instance
      */
     public ProjectCreationPage enterProjectDescription(String projectDescription) {
-        logger.info("Entering project description");
-        WebElement element = TestUtils.waitForElementClickable(driver, projectDescriptionField, TIMEOUT);
-        element.clear();
-        element.sendKeys(projectDescription);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.enterProjectDescription")) {
+            logger.info("Entering project description");
+            WebElement element = elements.clickable(projectDescriptionField, TIMEOUT);
+            element.clear();
+            element.sendKeys(projectDescription);
+            return this;
+        }
     }
 
     /**
@@ -71,12 +79,14 @@ public class ProjectCreationPage {
      * @return ProjectCreationPage instance
      */
     public ProjectCreationPage selectTemplate(String templateName) {
-        logger.info("Selecting template: {}", templateName);
-        By templateLocator = By
-                .xpath(String.format("//div[contains(@class, 'template-option') and contains(., '%s')]", templateName));
-        WebElement element = TestUtils.waitForElementClickable(driver, templateLocator, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.selectTemplate")) {
+            logger.info("Selecting template: {}", templateName);
+            By templateLocator = By
+                    .xpath(String.format("//div[contains(@class, 'template-option') and contains(., '%s')]", templateName));
+            WebElement element = elements.clickable(templateLocator, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -85,10 +95,12 @@ public class ProjectCreationPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage clickCreate() {
-        logger.info("Clicking on create button");
-        WebElement element = TestUtils.waitForElementClickable(driver, createButton, TIMEOUT);
-        element.click();
-        return new ProjectDetailsPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.clickCreate")) {
+            logger.info("Clicking on create button");
+            WebElement element = elements.clickable(createButton, TIMEOUT);
+            element.click();
+            return new ProjectDetailsPage(driver);
+        }
     }
 
     /**
@@ -108,10 +120,12 @@ public class ProjectCreationPage {
      * @return DashboardPage instance
      */
     public DashboardPage clickCancel() {
-        logger.info("Clicking on cancel button");
-        WebElement element = TestUtils.waitForElementClickable(driver, cancelButton, TIMEOUT);
-        element.click();
-        return new DashboardPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.clickCancel")) {
+            logger.info("Clicking on cancel button");
+            WebElement element = elements.clickable(cancelButton, TIMEOUT);
+            element.click();
+            return new DashboardPage(driver);
+        }
     }
 
     /**
@@ -134,13 +148,15 @@ public class ProjectCreationPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage createProject(String projectName, String projectDescription, String templateName) {
-        logger.info("Creating project: {}", projectName);
-        enterProjectName(projectName);
-        enterProjectDescription(projectDescription);
-        if (templateName != null && !templateName.isEmpty()) {
-            selectTemplate(templateName);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.createProject")) {
+            logger.info("Creating project: {}", projectName);
+            enterProjectName(projectName);
+            enterProjectDescription(projectDescription);
+            if (templateName != null && !templateName.isEmpty()) {
+                selectTemplate(templateName);
+            }
+            return clickCreate();
         }
-        return clickCreate();
     }
 
     /**
@@ -149,13 +165,15 @@ public class ProjectCreationPage {
      * @return error message text
      */
     public String getErrorMessage() {
-        logger.info("Getting error message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Error message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.getErrorMessage")) {
+            logger.info("Getting error message");
+            try {
+                WebElement element = elements.clickable(errorMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Error message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -165,15 +183,15 @@ public class ProjectCreationPage {
      * @return true if the project creation page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the project creation page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, createProjectTitle, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, projectNameField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, projectDescriptionField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, createButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Project creation page is not loaded: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.isLoaded")) {
+            logger.info("Verifying that the project creation page is loaded");
+            try {
+                elements.waitForAllClickable(TIMEOUT, createProjectTitle, projectNameField, projectDescriptionField, createButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Project creation page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -192,11 +210,13 @@ public class ProjectCreationPage {
      * Used for negative test cases where we expect the creation to fail
      */
     public void clickCreateButtonExpectingError() {
-        logger.info("Clicking on create button expecting an error");
-        WebElement element = TestUtils.waitForElementClickable(driver, createButton, TIMEOUT);
-        element.click();
-        // Wait for error message to appear
-        TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.clickCreateButtonExpectingError")) {
+            logger.info("Clicking on create button expecting an error");
+            WebElement element = elements.clickable(createButton, TIMEOUT);
+            element.click();
+            // Wait for error message to appear
+            elements.clickable(errorMessage, TIMEOUT);
+        }
     }
 
     /**
@@ -205,12 +225,14 @@ public class ProjectCreationPage {
      * @return true if an error message is displayed, false otherwise
      */
     public boolean isErrorMessageDisplayed() {
-        logger.info("Checking if error message is displayed");
-        try {
-            return TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Error message is not displayed: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectCreationPage.isErrorMessageDisplayed")) {
+            logger.info("Checking if error message is displayed");
+            try {
+                return elements.clickable(errorMessage, TIMEOUT).isDisplayed();
+            } catch (Exception e) {
+                logger.error("Error message is not displayed: {}", e.getMessage());
+                return false;
+            }
         }
     }
 }
\ No newline at end of file
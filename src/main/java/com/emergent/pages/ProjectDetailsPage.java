@@ -1,5 +1,12 @@
 package com.emergent.pages;
 
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.AiLatencyMetrics;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
+import com.emergent.utils.StreamingResponseWaiter;
+import com.emergent.utils.StreamingResponseWaiter.StreamedResponse;
 import com.emergent.utils.TestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,6 +21,7 @@ import java.time.Duration;
  */
 public class ProjectDetailsPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(ProjectDetailsPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
@@ -21,10 +29,11 @@ public class ProjectDetailsPage {
     private static final int LONG_TIMEOUT = 30;
 
     // Locators
-    private final By projectTitle = By.xpath("//h1[@class='project-title']");
-    private final By projectDescription = By.xpath("//div[@class='project-description']");
-    private final By backToDashboardButton = By.xpath("//button[contains(text(), 'Back to Dashboard')]");
-    private final By promptInput = By.xpath("//textarea[@placeholder='Enter your prompt here']");
+    private final By projectTitle = Locator.tag("h1").withClass("project-title").toBy();
+    private final By projectDescription = Locator.tag("div").withClass("project-description").toBy();
+    private final By backToDashboardButton = Locator.role("button").withText("Back to Dashboard").toBy();
+    private final By promptInput = Locator.tag("textarea")
+            .withAttribute("placeholder", "Enter your prompt here").toBy();
 
     /**
      * Gets the prompt input locator
@@ -44,13 +53,17 @@ public class ProjectDetailsPage {
         return aiResponseArea;
     }
 
-    private final By sendPromptButton = By.xpath("//button[contains(text(), 'Send')]");
-    private final By aiResponseArea = By.xpath("//div[contains(@class, 'ai-response')]");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'error-message')]");
-    private final By codePreviewArea = By.xpath("//div[contains(@class, 'code-preview')]");
-    private final By deployButton = By.xpath("//button[contains(text(), 'Deploy')]");
-    private final By testButton = By.xpath("//button[contains(text(), 'Test')]");
-    private final By settingsButton = By.xpath("//button[contains(text(), 'Settings')]");
+    private final By sendPromptButton = Locator.role("button").withText("Send").toBy();
+    private final By aiResponseArea = Locator.tag("div").withClass("ai-response").toBy();
+    private final By errorMessage = Locator.tag("div").withClass("error-message").toBy();
+    private final By codePreviewArea = Locator.tag("div").withClass("code-preview").toBy();
+    private final By deployButton = Locator.role("button").withText("Deploy").toBy();
+    private final By testButton = Locator.role("button").withText("Test").toBy();
+    private final By settingsButton = Locator.role("button").withText("Settings").toBy();
+
+    private String lastPrompt;
+    private String armedPrompt;
+    private StreamedResponse lastResponse;
 
     /**
      * Constructor
@@ -59,6 +72,7 @@ public class ProjectDetailsPage {
      */
     public ProjectDetailsPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -67,9 +81,11 @@ public class ProjectDetailsPage {
      * @return project title
      */
     public String getProjectTitle() {
-        logger.info("Getting project title");
-        WebElement element = TestUtils.waitForElementClickable(driver, projectTitle, TIMEOUT);
-        return element.getText();
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.getProjectTitle")) {
+            logger.info("Getting project title");
+            WebElement element = elements.clickable(projectTitle, TIMEOUT);
+            return element.getText();
+        }
     }
 
     /**
@@ -78,9 +94,11 @@ public class ProjectDetailsPage {
      * @return project description
      */
     public String getProjectDescription() {
-        logger.info("Getting project description");
-        WebElement element = TestUtils.waitForElementClickable(driver, projectDescription, TIMEOUT);
-        return element.getText();
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.getProjectDescription")) {
+            logger.info("Getting project description");
+            WebElement element = elements.clickable(projectDescription, TIMEOUT);
+            return element.getText();
+        }
     }
 
     /**
@@ -89,10 +107,12 @@ public class ProjectDetailsPage {
      * @return DashboardPage instance
      */
     public DashboardPage clickBackToDashboard() {
-        logger.info("Clicking on back to dashboard button");
-        WebElement element = TestUtils.waitForElementClickable(driver, backToDashboardButton, TIMEOUT);
-        element.click();
-        return new DashboardPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.clickBackToDashboard")) {
+            logger.info("Clicking on back to dashboard button");
+            WebElement element = elements.clickable(backToDashboardButton, TIMEOUT);
+            element.click();
+            return new DashboardPage(driver);
+        }
     }
 
     /**
@@ -113,11 +133,14 @@ public class ProjectDetailsPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage enterPrompt(String prompt) {
-        logger.info("Entering prompt: {}", prompt);
-        WebElement element = TestUtils.waitForElementClickable(driver, promptInput, TIMEOUT);
-        element.clear();
-        element.sendKeys(prompt);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.enterPrompt")) {
+            logger.info("Entering prompt: {}", prompt);
+            WebElement element = elements.clickable(promptInput, TIMEOUT);
+            element.clear();
+            element.sendKeys(prompt);
+            lastPrompt = prompt;
+            return this;
+        }
     }
 
     /**
@@ -126,10 +149,14 @@ public class ProjectDetailsPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage clickSendPrompt() {
-        logger.info("Clicking on send prompt button");
-        WebElement element = TestUtils.waitForElementClickable(driver, sendPromptButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.clickSendPrompt")) {
+            logger.info("Clicking on send prompt button");
+            WebElement element = elements.clickable(sendPromptButton, TIMEOUT);
+            StreamingResponseWaiter.arm(driver, aiResponseArea);
+            element.click();
+            armedPrompt = lastPrompt;
+            return this;
+        }
     }
 
     /**
@@ -149,9 +176,11 @@ public class ProjectDetailsPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage sendPrompt(String prompt) {
-        logger.info("Sending prompt: {}", prompt);
-        enterPrompt(prompt);
-        return clickSendPrompt();
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.sendPrompt")) {
+            logger.info("Sending prompt: {}", prompt);
+            enterPrompt(prompt);
+            return clickSendPrompt();
+        }
     }
 
     /**
@@ -160,9 +189,39 @@ public class ProjectDetailsPage {
      * @return AI response text
      */
     public String waitForAIResponse() {
-        logger.info("Waiting for AI response");
-        WebElement element = TestUtils.waitForElementClickable(driver, aiResponseArea, LONG_TIMEOUT);
-        return element.getText();
+        return waitForAIResponse(LONG_TIMEOUT);
+    }
+
+    /**
+     * Waits until the AI response to the last prompt has started and stopped streaming
+     *
+     * @param timeoutSeconds timeout in seconds
+     * @return AI response text
+     */
+    public String waitForAIResponse(int timeoutSeconds) {
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.waitForAIResponse")) {
+            logger.info("Waiting for AI response");
+            long stableMillis = ConfigProperties.get().aiResponseStableMillis();
+            // Only a response to a prompt entered and sent by this page is timed from the send
+            String prompt = armedPrompt;
+            armedPrompt = null;
+            lastResponse = StreamingResponseWaiter.await(driver, aiResponseArea, timeoutSeconds, stableMillis);
+            logger.info("AI response: first text after {} ms, complete after {} ms ({} polls)",
+                    lastResponse.firstTokenMillis(), lastResponse.completeMillis(), lastResponse.polls());
+            if (prompt != null && lastResponse.hasTimings()) {
+                AiLatencyMetrics.record(prompt, lastResponse.firstTokenMillis(), lastResponse.completeMillis());
+            }
+            return lastResponse.text();
+        }
+    }
+
+    /**
+     * Gets the timings of the last response waited for with waitForAIResponse()
+     *
+     * @return the last streamed response, or null if none was waited for yet
+     */
+    public StreamedResponse getLastResponseTiming() {
+        return lastResponse;
     }
 
     /**
@@ -171,13 +230,15 @@ public class ProjectDetailsPage {
      * @return AI response text
      */
     public String getAIResponse() {
-        logger.info("Getting AI response");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, aiResponseArea, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("AI response not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.getAIResponse")) {
+            logger.info("Getting AI response");
+            try {
+                WebElement element = elements.clickable(aiResponseArea, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("AI response not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -187,13 +248,15 @@ public class ProjectDetailsPage {
      * @return code preview text
      */
     public String getCodePreview() {
-        logger.info("Getting code preview");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, codePreviewArea, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Code preview not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.getCodePreview")) {
+            logger.info("Getting code preview");
+            try {
+                WebElement element = elements.clickable(codePreviewArea, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Code preview not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -203,10 +266,12 @@ public class ProjectDetailsPage {
      * @return DeploymentPage instance
      */
     public DeploymentPage clickDeploy() {
-        logger.info("Clicking on deploy button");
-        WebElement element = TestUtils.waitForElementClickable(driver, deployButton, TIMEOUT);
-        element.click();
-        return new DeploymentPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.clickDeploy")) {
+            logger.info("Clicking on deploy button");
+            WebElement element = elements.clickable(deployButton, TIMEOUT);
+            element.click();
+            return new DeploymentPage(driver);
+        }
     }
 
     /**
@@ -215,10 +280,12 @@ public class ProjectDetailsPage {
      * @return TestingPage instance
      */
     public TestingPage clickTest() {
-        logger.info("Clicking on test button");
-        WebElement element = TestUtils.waitForElementClickable(driver, testButton, TIMEOUT);
-        element.click();
-        return new TestingPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.clickTest")) {
+            logger.info("Clicking on test button");
+            WebElement element = elements.clickable(testButton, TIMEOUT);
+            element.click();
+            return new TestingPage(driver);
+        }
     }
 
     /**
@@ -227,10 +294,12 @@ public class ProjectDetailsPage {
      * @return ProjectSettingsPage instance
      */
     public ProjectSettingsPage clickSettings() {
-        logger.info("Clicking on settings button");
-        WebElement element = TestUtils.waitForElementClickable(driver, settingsButton, TIMEOUT);
-        element.click();
-        return new ProjectSettingsPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.clickSettings")) {
+            logger.info("Clicking on settings button");
+            WebElement element = elements.clickable(settingsButton, TIMEOUT);
+            element.click();
+            return new ProjectSettingsPage(driver);
+        }
     }
 
     /**
@@ -239,14 +308,15 @@ public class ProjectDetailsPage {
      * @return true if the project details page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the project details page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, projectTitle, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, promptInput, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, sendPromptButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Project details page is not loaded: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.isLoaded")) {
+            logger.info("Verifying that the project details page is loaded");
+            try {
+                elements.waitForAllClickable(TIMEOUT, projectTitle, promptInput, sendPromptButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Project details page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -265,18 +335,13 @@ public class ProjectDetailsPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage waitForPageToLoad() {
-        logger.info("Waiting for project details page to load completely");
-        TestUtils.waitForElementClickable(driver, projectTitle, TIMEOUT);
-        TestUtils.waitForElementClickable(driver, promptInput, TIMEOUT);
-        TestUtils.waitForElementClickable(driver, sendPromptButton, TIMEOUT);
-        // Wait for dynamic content to load
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Thread interrupted while waiting for page to load", e);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.waitForPageToLoad")) {
+            logger.info("Waiting for project details page to load completely");
+            elements.waitForAllClickable(TIMEOUT, projectTitle, promptInput, sendPromptButton);
+            // Wait for dynamic content to load
+            TestUtils.waitForDomQuiescence(driver);
+            return this;
         }
-        return this;
     }
 
     /**
@@ -285,12 +350,14 @@ public class ProjectDetailsPage {
      * @return true if the prompt input is displayed, false otherwise
      */
     public boolean isPromptInputDisplayed() {
-        logger.info("Checking if prompt input is displayed");
-        try {
-            return TestUtils.waitForElementClickable(driver, promptInput, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Prompt input is not displayed: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.isPromptInputDisplayed")) {
+            logger.info("Checking if prompt input is displayed");
+            try {
+                return elements.clickable(promptInput, TIMEOUT).isDisplayed();
+            } catch (Exception e) {
+                logger.error("Prompt input is not displayed: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -300,12 +367,14 @@ public class ProjectDetailsPage {
      * @return true if the code preview is displayed, false otherwise
      */
     public boolean isCodePreviewDisplayed() {
-        logger.info("Checking if code preview is displayed");
-        try {
-            return TestUtils.waitForElementClickable(driver, codePreviewArea, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Code preview is not displayed: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.isCodePreviewDisplayed")) {
+            logger.info("Checking if code preview is displayed");
+            try {
+                return elements.clickable(codePreviewArea, TIMEOUT).isDisplayed();
+            } catch (Exception e) {
+                logger.error("Code preview is not displayed: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -315,12 +384,14 @@ public class ProjectDetailsPage {
      * @return true if an error message is displayed, false otherwise
      */
     public boolean isErrorMessageDisplayed() {
-        logger.info("Checking if error message is displayed");
-        try {
-            return TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Error message is not displayed: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.isErrorMessageDisplayed")) {
+            logger.info("Checking if error message is displayed");
+            try {
+                return elements.clickable(errorMessage, TIMEOUT).isDisplayed();
+            } catch (Exception e) {
+                logger.error("Error message is not displayed: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -330,13 +401,15 @@ public class ProjectDetailsPage {
      * @return error message text
      */
     public String getErrorMessage() {
-        logger.info("Getting error message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Error message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectDetailsPage.getErrorMessage")) {
+            logger.info("Getting error message");
+            try {
+                WebElement element = elements.clickable(errorMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Error message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.emergent.pages;
 
-import com.emergent.utils.TestUtils;
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -14,21 +16,22 @@ import java.time.Duration;
  */
 public class ProjectSettingsPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(ProjectSettingsPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
 
     // Locators
-    private final By settingsTitle = By.xpath("//h1[contains(text(), 'Project Settings')]");
+    private final By settingsTitle = Locator.tag("h1").withText("Project Settings").toBy();
     private final By projectNameField = By.id("projectName");
     private final By projectDescriptionField = By.id("projectDescription");
-    private final By saveChangesButton = By.xpath("//button[contains(text(), 'Save Changes')]");
-    private final By deleteProjectButton = By.xpath("//button[contains(text(), 'Delete Project')]");
-    private final By confirmDeleteButton = By.xpath("//button[contains(text(), 'Confirm Delete')]");
-    private final By cancelDeleteButton = By.xpath("//button[contains(text(), 'Cancel')]");
-    private final By backToProjectButton = By.xpath("//button[contains(text(), 'Back to Project')]");
-    private final By successMessage = By.xpath("//div[contains(@class, 'success-message')]");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'error-message')]");
+    private final By saveChangesButton = Locator.role("button").withText("Save Changes").toBy();
+    private final By deleteProjectButton = Locator.role("button").withText("Delete Project").toBy();
+    private final By confirmDeleteButton = Locator.role("button").withText("Confirm Delete").toBy();
+    private final By cancelDeleteButton = Locator.role("button").withText("Cancel").toBy();
+    private final By backToProjectButton = Locator.role("button").withText("Back to Project").toBy();
+    private final By successMessage = Locator.tag("div").withClass("success-message").toBy();
+    private final By errorMessage = Locator.tag("div").withClass("error-message").toBy();
 
     /**
      * Constructor
@@ -37,6 +40,7 @@ public class ProjectSettingsPage {
      */
     public ProjectSettingsPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -45,9 +49,11 @@ public class ProjectSettingsPage {
      * @return current project name
      */
     public String getProjectName() {
-        logger.info("Getting current project name");
-        WebElement element = TestUtils.waitForElementClickable(driver, projectNameField, TIMEOUT);
-        return element.getAttribute("value");
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.getProjectName")) {
+            logger.info("Getting current project name");
+            WebElement element = elements.clickable(projectNameField, TIMEOUT);
+            return element.getAttribute("value");
+        }
     }
 
     /**
@@ -56,9 +62,11 @@ public class ProjectSettingsPage {
      * @return current project description
      */
     public String getProjectDescription() {
-        logger.info("Getting current project description");
-        WebElement element = TestUtils.waitForElementClickable(driver, projectDescriptionField, TIMEOUT);
-        return element.getAttribute("value");
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.getProjectDescription")) {
+            logger.info("Getting current project description");
+            WebElement element = elements.clickable(projectDescriptionField, TIMEOUT);
+            return element.getAttribute("value");
+        }
     }
 
     /**
@@ -68,11 +76,13 @@ public class ProjectSettingsPage {
      * @return ProjectSettingsPage instance
      */
     public ProjectSettingsPage enterProjectName(String projectName) {
-        logger.info("Entering project name: {}", projectName);
-        WebElement element = TestUtils.waitForElementClickable(driver, projectNameField, TIMEOUT);
-        element.clear();
-        element.sendKeys(projectName);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.enterProjectName")) {
+            logger.info("Entering project name: {}", projectName);
+            WebElement element = elements.clickable(projectNameField, TIMEOUT);
+            element.clear();
+            element.sendKeys(projectName);
+            return this;
+        }
     }
 
     /**
@@ -82,11 +92,13 @@ public class ProjectSettingsPage {
      * @return ProjectSettingsPage instance
      */
     public ProjectSettingsPage enterProjectDescription(String projectDescription) {
-        logger.info("Entering project description");
-        WebElement element = TestUtils.waitForElementClickable(driver, projectDescriptionField, TIMEOUT);
-        element.clear();
-        element.sendKeys(projectDescription);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.enterProjectDescription")) {
+            logger.info("Entering project description");
+            WebElement element = elements.clickable(projectDescriptionField, TIMEOUT);
+            element.clear();
+            element.sendKeys(projectDescription);
+            return this;
+        }
     }
 
     /**
@@ -95,10 +107,12 @@ public class ProjectSettingsPage {
      * @return ProjectSettingsPage instance
      */
     public ProjectSettingsPage clickSaveChanges() {
-        logger.info("Clicking on save changes button");
-        WebElement element = TestUtils.waitForElementClickable(driver, saveChangesButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.clickSaveChanges")) {
+            logger.info("Clicking on save changes button");
+            WebElement element = elements.clickable(saveChangesButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -109,10 +123,12 @@ public class ProjectSettingsPage {
      * @return ProjectSettingsPage instance
      */
     public ProjectSettingsPage updateProjectSettings(String projectName, String projectDescription) {
-        logger.info("Updating project settings");
-        enterProjectName(projectName);
-        enterProjectDescription(projectDescription);
-        return clickSaveChanges();
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.updateProjectSettings")) {
+            logger.info("Updating project settings");
+            enterProjectName(projectName);
+            enterProjectDescription(projectDescription);
+            return clickSaveChanges();
+        }
     }
 
     /**
@@ -121,10 +137,12 @@ public class ProjectSettingsPage {
      * @return ProjectSettingsPage instance
      */
     public ProjectSettingsPage clickDeleteProject() {
-        logger.info("Clicking on delete project button");
-        WebElement element = TestUtils.waitForElementClickable(driver, deleteProjectButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.clickDeleteProject")) {
+            logger.info("Clicking on delete project button");
+            WebElement element = elements.clickable(deleteProjectButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -133,10 +151,12 @@ public class ProjectSettingsPage {
      * @return DashboardPage instance
      */
     public DashboardPage clickConfirmDelete() {
-        logger.info("Clicking on confirm delete button");
-        WebElement element = TestUtils.waitForElementClickable(driver, confirmDeleteButton, TIMEOUT);
-        element.click();
-        return new DashboardPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.clickConfirmDelete")) {
+            logger.info("Clicking on confirm delete button");
+            WebElement element = elements.clickable(confirmDeleteButton, TIMEOUT);
+            element.click();
+            return new DashboardPage(driver);
+        }
     }
 
     /**
@@ -145,10 +165,12 @@ public class ProjectSettingsPage {
      * @return ProjectSettingsPage instance
      */
     public ProjectSettingsPage clickCancelDelete() {
-        logger.info("Clicking on cancel delete button");
-        WebElement element = TestUtils.waitForElementClickable(driver, cancelDeleteButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.clickCancelDelete")) {
+            logger.info("Clicking on cancel delete button");
+            WebElement element = elements.clickable(cancelDeleteButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -157,9 +179,11 @@ public class ProjectSettingsPage {
      * @return DashboardPage instance
      */
     public DashboardPage deleteProject() {
-        logger.info("Deleting project");
-        clickDeleteProject();
-        return clickConfirmDelete();
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.deleteProject")) {
+            logger.info("Deleting project");
+            clickDeleteProject();
+            return clickConfirmDelete();
+        }
     }
 
     /**
@@ -168,13 +192,15 @@ public class ProjectSettingsPage {
      * @return success message text
      */
     public String getSuccessMessage() {
-        logger.info("Getting success message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, successMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Success message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.getSuccessMessage")) {
+            logger.info("Getting success message");
+            try {
+                WebElement element = elements.clickable(successMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Success message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -184,13 +210,15 @@ public class ProjectSettingsPage {
      * @return error message text
      */
     public String getErrorMessage() {
-        logger.info("Getting error message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Error message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.getErrorMessage")) {
+            logger.info("Getting error message");
+            try {
+                WebElement element = elements.clickable(errorMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Error message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -200,10 +228,12 @@ public class ProjectSettingsPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage clickBackToProject() {
-        logger.info("Clicking on back to project button");
-        WebElement element = TestUtils.waitForElementClickable(driver, backToProjectButton, TIMEOUT);
-        element.click();
-        return new ProjectDetailsPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.clickBackToProject")) {
+            logger.info("Clicking on back to project button");
+            WebElement element = elements.clickable(backToProjectButton, TIMEOUT);
+            element.click();
+            return new ProjectDetailsPage(driver);
+        }
     }
 
     /**
@@ -212,15 +242,15 @@ public class ProjectSettingsPage {
      * @return true if the project settings page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the project settings page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, settingsTitle, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, projectNameField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, projectDescriptionField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, saveChangesButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Project settings page is not loaded: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.isLoaded")) {
+            logger.info("Verifying that the project settings page is loaded");
+            try {
+                elements.waitForAllClickable(TIMEOUT, settingsTitle, projectNameField, projectDescriptionField, saveChangesButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Project settings page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -240,12 +270,14 @@ public class ProjectSettingsPage {
      * @return true if the settings title is displayed, false otherwise
      */
     public boolean isSettingsTitleDisplayed() {
-        logger.info("Checking if settings title is displayed");
-        try {
-            return TestUtils.waitForElementClickable(driver, settingsTitle, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Settings title is not displayed: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("ProjectSettingsPage.isSettingsTitleDisplayed")) {
+            logger.info("Checking if settings title is displayed");
+            try {
+                return elements.clickable(settingsTitle, TIMEOUT).isDisplayed();
+            } catch (Exception e) {
+                logger.error("Settings title is not displayed: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
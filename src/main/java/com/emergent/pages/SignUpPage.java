@@ -1,6 +1,10 @@
 package com.emergent.pages;
 
-import com.emergent.utils.TestUtils;
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
+import com.emergent.utils.PageTimings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -14,6 +18,7 @@ import java.time.Duration;
  */
 public class SignUpPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(SignUpPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
@@ -23,10 +28,10 @@ public class SignUpPage {
     private final By emailField = By.id("email");
     private final By passwordField = By.id("password");
     private final By confirmPasswordField = By.id("confirmPassword");
-    private final By signUpButton = By.xpath("//button[contains(text(), 'Sign up')]");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'error-message')]");
-    private final By loginLink = By.xpath("//a[contains(text(), 'Log in')]");
-    private final By termsCheckbox = By.xpath("//input[@type='checkbox']");
+    private final By signUpButton = Locator.role("button").withText("Sign up").toBy();
+    private final By errorMessage = Locator.tag("div").withClass("error-message").toBy();
+    private final By loginLink = Locator.tag("a").withText("Log in").toBy();
+    private final By termsCheckbox = Locator.tag("input").withAttribute("type", "checkbox").toBy();
 
     /**
      * Constructor
@@ -35,6 +40,7 @@ public class SignUpPage {
      */
     public SignUpPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -43,9 +49,11 @@ public class SignUpPage {
      * @return SignUpPage instance
      */
     public SignUpPage navigateTo() {
-        logger.info("Navigating to Emergent sign up page");
-        driver.get("https://emergent.sh/signup");
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.navigateTo")) {
+            logger.info("Navigating to Emergent sign up page");
+            PageTimings.navigate(driver, "SignUpPage", ConfigProperties.getBaseUrl() + "/signup");
+            return this;
+        }
     }
 
     /**
@@ -55,11 +63,13 @@ public class SignUpPage {
      * @return SignUpPage instance
      */
     public SignUpPage enterName(String name) {
-        logger.info("Entering name: {}", name);
-        WebElement element = TestUtils.waitForElementClickable(driver, nameField, TIMEOUT);
-        element.clear();
-        element.sendKeys(name);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.enterName")) {
+            logger.info("Entering name: {}", name);
+            WebElement element = elements.clickable(nameField, TIMEOUT);
+            element.clear();
+            element.sendKeys(name);
+            return this;
+        }
     }
 
     /**
@@ -69,11 +79,13 @@ public class SignUpPage {
      * @return SignUpPage instance
      */
     public SignUpPage enterEmail(String email) {
-        logger.info("Entering email: {}", email);
-        WebElement element = TestUtils.waitForElementClickable(driver, emailField, TIMEOUT);
-        element.clear();
-        element.sendKeys(email);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.enterEmail")) {
+            logger.info("Entering email: {}", email);
+            WebElement element = elements.clickable(emailField, TIMEOUT);
+            element.clear();
+            element.sendKeys(email);
+            return this;
+        }
     }
 
     /**
@@ -83,11 +95,13 @@ public class SignUpPage {
      * @return SignUpPage instance
      */
     public SignUpPage enterPassword(String password) {
-        logger.info("Entering password");
-        WebElement element = TestUtils.waitForElementClickable(driver, passwordField, TIMEOUT);
-        element.clear();
-        element.sendKeys(password);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.enterPassword")) {
+            logger.info("Entering password");
+            WebElement element = elements.clickable(passwordField, TIMEOUT);
+            element.clear();
+            element.sendKeys(password);
+            return this;
+        }
     }
 
     /**
@@ -97,11 +111,13 @@ public class SignUpPage {
      * @return SignUpPage instance
      */
     public SignUpPage enterConfirmPassword(String confirmPassword) {
-        logger.info("Entering confirm password");
-        WebElement element = TestUtils.waitForElementClickable(driver, confirmPasswordField, TIMEOUT);
-        element.clear();
-        element.sendKeys(confirmPassword);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.enterConfirmPassword")) {
+            logger.info("Entering confirm password");
+            WebElement element = elements.clickable(confirmPasswordField, TIMEOUT);
+            element.clear();
+            element.sendKeys(confirmPassword);
+            return this;
+        }
     }
 
     /**
@@ -110,12 +126,14 @@ public class SignUpPage {
      * @return SignUpPage instance
      */
     public SignUpPage checkTerms() {
-        logger.info("Checking terms and conditions checkbox");
-        WebElement element = TestUtils.waitForElementClickable(driver, termsCheckbox, TIMEOUT);
-        if (!element.isSelected()) {
-            element.click();
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.checkTerms")) {
+            logger.info("Checking terms and conditions checkbox");
+            WebElement element = elements.clickable(termsCheckbox, TIMEOUT);
+            if (!element.isSelected()) {
+                element.click();
+            }
+            return this;
         }
-        return this;
     }
 
     /**
@@ -124,10 +142,12 @@ public class SignUpPage {
      * @return DashboardPage instance
      */
     public DashboardPage clickSignUp() {
-        logger.info("Clicking on sign up button");
-        WebElement element = TestUtils.waitForElementClickable(driver, signUpButton, TIMEOUT);
-        element.click();
-        return new DashboardPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.clickSignUp")) {
+            logger.info("Clicking on sign up button");
+            WebElement element = elements.clickable(signUpButton, TIMEOUT);
+            element.click();
+            return new DashboardPage(driver);
+        }
     }
 
     /**
@@ -140,13 +160,15 @@ public class SignUpPage {
      * @return DashboardPage instance
      */
     public DashboardPage signUp(String name, String email, String password, String confirmPassword) {
-        logger.info("Signing up with email: {}", email);
-        enterName(name);
-        enterEmail(email);
-        enterPassword(password);
-        enterConfirmPassword(confirmPassword);
-        checkTerms();
-        return clickSignUp();
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.signUp")) {
+            logger.info("Signing up with email: {}", email);
+            enterName(name);
+            enterEmail(email);
+            enterPassword(password);
+            enterConfirmPassword(confirmPassword);
+            checkTerms();
+            return clickSignUp();
+        }
     }
 
     /**
@@ -155,13 +177,15 @@ public class SignUpPage {
      * @return error message text
      */
     public String getErrorMessage() {
-        logger.info("Getting error message");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, errorMessage, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Error message not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.getErrorMessage")) {
+            logger.info("Getting error message");
+            try {
+                WebElement element = elements.clickable(errorMessage, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Error message not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -171,10 +195,12 @@ public class SignUpPage {
      * @return LoginPage instance
      */
     public LoginPage clickLogin() {
-        logger.info("Clicking on login link");
-        WebElement element = TestUtils.waitForElementClickable(driver, loginLink, TIMEOUT);
-        element.click();
-        return new LoginPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.clickLogin")) {
+            logger.info("Clicking on login link");
+            WebElement element = elements.clickable(loginLink, TIMEOUT);
+            element.click();
+            return new LoginPage(driver);
+        }
     }
 
     /**
@@ -183,16 +209,15 @@ public class SignUpPage {
      * @return true if the sign up page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the sign up page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, nameField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, emailField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, passwordField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, confirmPasswordField, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, signUpButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Sign up page is not loaded: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("SignUpPage.isLoaded")) {
+            logger.info("Verifying that the sign up page is loaded");
+            try {
+                elements.waitForAllClickable(TIMEOUT, nameField, emailField, passwordField, confirmPasswordField, signUpButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Sign up page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -1,5 +1,8 @@
 package com.emergent.pages;
 
+import com.emergent.utils.ActionTimings;
+import com.emergent.utils.ElementCache;
+import com.emergent.utils.Locator;
 import com.emergent.utils.TestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -7,7 +10,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
@@ -17,6 +19,7 @@ import java.util.List;
  */
 public class TestingPage {
     private final WebDriver driver;
+    private final ElementCache elements;
     private final Logger logger = LogManager.getLogger(TestingPage.class);
     private static final Duration TIMEOUT_DURATION = Duration.ofSeconds(10);
     private static final int TIMEOUT = 10;
@@ -24,15 +27,16 @@ public class TestingPage {
     private static final int LONG_TIMEOUT = 60;
 
     // Locators
-    private final By testingTitle = By.xpath("//h1[contains(text(), 'Testing')]");
-    private final By runAllTestsButton = By.xpath("//button[contains(text(), 'Run All Tests')]");
-    private final By createTestButton = By.xpath("//button[contains(text(), 'Create Test')]");
-    private final By testResultsList = By.xpath("//div[contains(@class, 'test-result')]");
-    private final By testStatusIndicator = By.xpath("//div[contains(@class, 'test-status')]");
-    private final By backToProjectButton = By.xpath("//button[contains(text(), 'Back to Project')]");
-    private final By testPromptInput = By.xpath("//textarea[@placeholder='Enter test description']");
-    private final By createTestPromptButton = By.xpath("//button[contains(text(), 'Create')]");
-    private final By testProgressIndicator = By.xpath("//div[contains(@class, 'progress-indicator')]");
+    private final By testingTitle = Locator.tag("h1").withText("Testing").toBy();
+    private final By runAllTestsButton = Locator.role("button").withText("Run All Tests").toBy();
+    private final By createTestButton = Locator.role("button").withText("Create Test").toBy();
+    private final By testResultsList = Locator.tag("div").withClass("test-result").toBy();
+    private final By testStatusIndicator = Locator.tag("div").withClass("test-status").toBy();
+    private final By backToProjectButton = Locator.role("button").withText("Back to Project").toBy();
+    private final By testPromptInput = Locator.tag("textarea")
+            .withAttribute("placeholder", "Enter test description").toBy();
+    private final By createTestPromptButton = Locator.role("button").withText("Create").toBy();
+    private final By testProgressIndicator = Locator.tag("div").withClass("progress-indicator").toBy();
 
     /**
      * Constructor
@@ -41,6 +45,7 @@ public class TestingPage {
      */
     public TestingPage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     /**
@@ -49,10 +54,12 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage clickRunAllTests() {
-        logger.info("Clicking on run all tests button");
-        WebElement element = TestUtils.waitForElementClickable(driver, runAllTestsButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.clickRunAllTests")) {
+            logger.info("Clicking on run all tests button");
+            WebElement element = elements.clickable(runAllTestsButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -61,10 +68,12 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage clickCreateTest() {
-        logger.info("Clicking on create test button");
-        WebElement element = TestUtils.waitForElementClickable(driver, createTestButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.clickCreateTest")) {
+            logger.info("Clicking on create test button");
+            WebElement element = elements.clickable(createTestButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -74,11 +83,13 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage enterTestPrompt(String testPrompt) {
-        logger.info("Entering test prompt: {}", testPrompt);
-        WebElement element = TestUtils.waitForElementClickable(driver, testPromptInput, TIMEOUT);
-        element.clear();
-        element.sendKeys(testPrompt);
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.enterTestPrompt")) {
+            logger.info("Entering test prompt: {}", testPrompt);
+            WebElement element = elements.clickable(testPromptInput, TIMEOUT);
+            element.clear();
+            element.sendKeys(testPrompt);
+            return this;
+        }
     }
 
     /**
@@ -87,10 +98,12 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage clickCreateTestPrompt() {
-        logger.info("Clicking on create test prompt button");
-        WebElement element = TestUtils.waitForElementClickable(driver, createTestPromptButton, TIMEOUT);
-        element.click();
-        return this;
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.clickCreateTestPrompt")) {
+            logger.info("Clicking on create test prompt button");
+            WebElement element = elements.clickable(createTestPromptButton, TIMEOUT);
+            element.click();
+            return this;
+        }
     }
 
     /**
@@ -100,10 +113,12 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage createTest(String testPrompt) {
-        logger.info("Creating test with prompt: {}", testPrompt);
-        clickCreateTest();
-        enterTestPrompt(testPrompt);
-        return clickCreateTestPrompt();
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.createTest")) {
+            logger.info("Creating test with prompt: {}", testPrompt);
+            clickCreateTest();
+            enterTestPrompt(testPrompt);
+            return clickCreateTestPrompt();
+        }
     }
 
     /**
@@ -112,8 +127,10 @@ public class TestingPage {
      * @return list of test result WebElements
      */
     public List<WebElement> getTestResultElements() {
-        logger.info("Getting list of test result elements");
-        return driver.findElements(testResultsList);
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.getTestResultElements")) {
+            logger.info("Getting list of test result elements");
+            return driver.findElements(testResultsList);
+        }
     }
 
     /**
@@ -122,17 +139,18 @@ public class TestingPage {
      * @return string containing all test results text
      */
     public String getTestResults() {
-        logger.info("Getting test results text");
-        StringBuilder results = new StringBuilder();
-        try {
-            List<WebElement> elements = getTestResultElements();
-            for (WebElement element : elements) {
-                results.append(element.getText()).append("\n");
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.getTestResults")) {
+            logger.info("Getting test results text");
+            StringBuilder results = new StringBuilder();
+            try {
+                for (String text : TestUtils.extractTexts(driver, testResultsList)) {
+                    results.append(text).append("\n");
+                }
+                return results.toString();
+            } catch (Exception e) {
+                logger.error("Error getting test results: {}", e.getMessage());
+                return "";
             }
-            return results.toString();
-        } catch (Exception e) {
-            logger.error("Error getting test results: {}", e.getMessage());
-            return "";
         }
     }
 
@@ -142,13 +160,15 @@ public class TestingPage {
      * @return number of test results
      */
     public int getTestResultCount() {
-        logger.info("Getting test result count");
-        try {
-            List<WebElement> elements = driver.findElements(testResultsList);
-            return elements.size();
-        } catch (Exception e) {
-            logger.error("Error getting test result count: {}", e.getMessage());
-            return 0;
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.getTestResultCount")) {
+            logger.info("Getting test result count");
+            try {
+                List<WebElement> elements = driver.findElements(testResultsList);
+                return elements.size();
+            } catch (Exception e) {
+                logger.error("Error getting test result count: {}", e.getMessage());
+                return 0;
+            }
         }
     }
 
@@ -169,13 +189,15 @@ public class TestingPage {
      * @return test status text
      */
     public String getTestStatus() {
-        logger.info("Getting test status");
-        try {
-            WebElement element = TestUtils.waitForElementClickable(driver, testStatusIndicator, TIMEOUT);
-            return element.getText();
-        } catch (Exception e) {
-            logger.error("Test status not found: {}", e.getMessage());
-            return "";
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.getTestStatus")) {
+            logger.info("Getting test status");
+            try {
+                WebElement element = elements.clickable(testStatusIndicator, TIMEOUT);
+                return element.getText();
+            } catch (Exception e) {
+                logger.error("Test status not found: {}", e.getMessage());
+                return "";
+            }
         }
     }
 
@@ -185,16 +207,17 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage waitForTestsToComplete() {
-        logger.info("Waiting for tests to complete with default timeout");
-        try {
-            // Wait for progress indicator to disappear
-            WebDriverWait wait = new WebDriverWait(driver, LONG_TIMEOUT_DURATION);
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(testProgressIndicator));
-            logger.info("Tests completed");
-        } catch (Exception e) {
-            logger.error("Error waiting for tests to complete: {}", e.getMessage());
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.waitForTestsToComplete")) {
+            logger.info("Waiting for tests to complete with default timeout");
+            try {
+                // Wait for progress indicator to disappear
+                TestUtils.waitFor(driver, ExpectedConditions.invisibilityOfElementLocated(testProgressIndicator), LONG_TIMEOUT);
+                logger.info("Tests completed");
+            } catch (Exception e) {
+                logger.error("Error waiting for tests to complete: {}", e.getMessage());
+            }
+            return this;
         }
-        return this;
     }
 
     /**
@@ -204,16 +227,18 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage waitForTestsToComplete(Duration timeoutInSeconds) {
-        logger.info("Waiting for tests to complete with timeout: {} seconds", timeoutInSeconds);
-        try {
-            // Wait for progress indicator to disappear
-            WebDriverWait wait = new WebDriverWait(driver, timeoutInSeconds);
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(testProgressIndicator));
-            logger.info("Tests completed");
-        } catch (Exception e) {
-            logger.error("Error waiting for tests to complete: {}", e.getMessage());
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.waitForTestsToComplete")) {
+            logger.info("Waiting for tests to complete with timeout: {} seconds", timeoutInSeconds);
+            try {
+                // Wait for progress indicator to disappear
+                TestUtils.waitFor(driver, ExpectedConditions.invisibilityOfElementLocated(testProgressIndicator),
+                        (int) timeoutInSeconds.getSeconds());
+                logger.info("Tests completed");
+            } catch (Exception e) {
+                logger.error("Error waiting for tests to complete: {}", e.getMessage());
+            }
+            return this;
         }
-        return this;
     }
 
     /**
@@ -222,10 +247,12 @@ public class TestingPage {
      * @return ProjectDetailsPage instance
      */
     public ProjectDetailsPage clickBackToProject() {
-        logger.info("Clicking on back to project button");
-        WebElement element = TestUtils.waitForElementClickable(driver, backToProjectButton, TIMEOUT);
-        element.click();
-        return new ProjectDetailsPage(driver);
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.clickBackToProject")) {
+            logger.info("Clicking on back to project button");
+            WebElement element = elements.clickable(backToProjectButton, TIMEOUT);
+            element.click();
+            return new ProjectDetailsPage(driver);
+        }
     }
 
     /**
@@ -234,14 +261,15 @@ public class TestingPage {
      * @return true if the testing page is loaded, false otherwise
      */
     public boolean isLoaded() {
-        logger.info("Verifying that the testing page is loaded");
-        try {
-            return TestUtils.waitForElementClickable(driver, testingTitle, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, runAllTestsButton, TIMEOUT).isDisplayed() &&
-                    TestUtils.waitForElementClickable(driver, createTestButton, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Testing page is not loaded: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.isLoaded")) {
+            logger.info("Verifying that the testing page is loaded");
+            try {
+                elements.waitForAllClickable(TIMEOUT, testingTitle, runAllTestsButton, createTestButton);
+                return true;
+            } catch (Exception e) {
+                logger.error("Testing page is not loaded: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -251,18 +279,13 @@ public class TestingPage {
      * @return TestingPage instance
      */
     public TestingPage waitForPageToLoad() {
-        logger.info("Waiting for testing page to load completely");
-        TestUtils.waitForElementClickable(driver, testingTitle, TIMEOUT);
-        TestUtils.waitForElementClickable(driver, runAllTestsButton, TIMEOUT);
-        TestUtils.waitForElementClickable(driver, createTestButton, TIMEOUT);
-        // Wait for test results to load if any
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error("Thread interrupted while waiting for page to load", e);
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.waitForPageToLoad")) {
+            logger.info("Waiting for testing page to load completely");
+            elements.waitForAllClickable(TIMEOUT, testingTitle, runAllTestsButton, createTestButton);
+            // Wait for test results to load if any
+            TestUtils.waitForDomQuiescence(driver);
+            return this;
         }
-        return this;
     }
 
     /**
@@ -271,12 +294,14 @@ public class TestingPage {
      * @return true if the testing title is displayed, false otherwise
      */
     public boolean isTestingTitleDisplayed() {
-        logger.info("Checking if testing title is displayed");
-        try {
-            return TestUtils.waitForElementClickable(driver, testingTitle, TIMEOUT).isDisplayed();
-        } catch (Exception e) {
-            logger.error("Testing title is not displayed: {}", e.getMessage());
-            return false;
+        try (ActionTimings.Action ignored = ActionTimings.start("TestingPage.isTestingTitleDisplayed")) {
+            logger.info("Checking if testing title is displayed");
+            try {
+                return elements.clickable(testingTitle, TIMEOUT).isDisplayed();
+            } catch (Exception e) {
+                logger.error("Testing title is not displayed: {}", e.getMessage());
+                return false;
+            }
         }
     }
 
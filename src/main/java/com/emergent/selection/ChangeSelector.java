@@ -0,0 +1,179 @@
+package com.emergent.selection;
+
+import com.emergent.utils.ConfigProperties;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * TestNG listener that runs only the test classes affected by the changes since a git revision.
+ *
+ * The changed files are the working tree and untracked files compared with selection.base (HEAD
+ * by default, a branch such as origin/main for pull requests). A test class is affected when it
+ * reaches a changed source file in the {@link DependencyGraph} of src/main/java and src/test/java,
+ * where page objects (selection.isolated.packages) do not reach the pages they navigate to. A test
+ * that only gets at a page through a chained call, without naming its class, is not selected for it.
+ * Classes named in selection.always run regardless. A change to a file under one of the
+ * selection.full.suite.paths (build files, testng.xml, resources), or git failing, runs the whole
+ * suite. Other files, such as documentation, affect nothing. Enabled with -Dselection.enabled=true;
+ * registered in testng.xml.
+ *
+ * Preview the selection with: mvn test-compile exec:java -Dexec.mainClass=com.emergent.selection.ChangeSelector
+ * -Dexec.classpathScope=test
+ */
+public class ChangeSelector implements IAlterSuiteListener {
+    private static final List<Path> SOURCE_ROOTS = List.of(Paths.get("src/main/java"), Paths.get("src/test/java"));
+    private static final Pattern CLASS = Pattern.compile("<class\\s+name=\"([^\"]+)\"");
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConfigProperties.get().selectionEnabled()) {
+            return;
+        }
+        Map<String, String> affected = affectedClasses(testClasses(suites));
+        if (affected == null) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                test.getClasses().removeIf(xmlClass -> !affected.containsKey(xmlClass.getName()));
+                if (test.getClasses().isEmpty()) {
+                    suite.getTests().remove(test);
+                }
+            }
+        }
+        System.out.println(describe(affected));
+    }
+
+    /**
+     * Works out which test classes are affected by the current changes.
+     *
+     * @param testClasses qualified names of the suite's test classes
+     * @return affected class to the reason it runs, or null when the whole suite has to run
+     */
+    public static Map<String, String> affectedClasses(Set<String> testClasses) {
+        String base = ConfigProperties.get().selectionBase();
+        List<String> changed;
+        DependencyGraph graph;
+        try {
+            changed = changedFiles(base);
+            graph = DependencyGraph.scan(SOURCE_ROOTS);
+        } catch (IOException e) {
+            System.err.println("Change-aware selection disabled, running the whole suite: " + e.getMessage());
+            return null;
+        }
+        List<String> fullSuitePaths = ConfigProperties.get().selectionFullSuitePaths();
+        Set<String> changedClasses = new TreeSet<>();
+        for (String file : changed) {
+            if (fullSuitePaths.stream().anyMatch(file::startsWith)) {
+                System.out.println("Change-aware selection: " + file + " changed, running the whole suite");
+                return null;
+            }
+            String changedClass = graph.classOf(Paths.get(file));
+            if (changedClass != null) {
+                changedClasses.add(changedClass);
+            }
+        }
+
+        List<String> always = ConfigProperties.get().selectionAlways();
+        Set<String> isolatedPackages = Set.copyOf(ConfigProperties.get().selectionIsolatedPackages());
+        Map<String, String> affected = new LinkedHashMap<>();
+        for (String testClass : testClasses) {
+            String simpleName = testClass.substring(testClass.lastIndexOf('.') + 1);
+            if (always.contains(simpleName) || always.contains(testClass)) {
+                affected.put(testClass, "in selection.always");
+                continue;
+            }
+            Set<String> reached = graph.reachableFrom(testClass, isolatedPackages);
+            List<String> causes = changedClasses.stream().filter(reached::contains)
+                    .map(name -> name.substring(name.lastIndexOf('.') + 1)).toList();
+            if (!causes.isEmpty()) {
+                affected.put(testClass, "reaches " + String.join(", ", causes));
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Prints the selection for testng.xml without running it.
+     *
+     * @param args optional suite file, testng.xml by default
+     * @throws IOException if the suite file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        String suite = Files.readString(Paths.get(args.length > 0 ? args[0] : "testng.xml"));
+        Set<String> testClasses = new TreeSet<>();
+        Matcher classes = CLASS.matcher(suite);
+        while (classes.find()) {
+            testClasses.add(classes.group(1));
+        }
+        Map<String, String> affected = affectedClasses(testClasses);
+        System.out.println(affected == null ? "Whole suite: " + String.join(", ", testClasses) : describe(affected));
+    }
+
+    private static Set<String> testClasses(List<XmlSuite> suites) {
+        Set<String> testClasses = new TreeSet<>();
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getClasses()) {
+                    testClasses.add(xmlClass.getName());
+                }
+            }
+        }
+        return testClasses;
+    }
+
+    /**
+     * Lists the files changed since a revision, relative to the repository root, plus untracked files.
+     */
+    private static List<String> changedFiles(String base) throws IOException {
+        List<String> files = new ArrayList<>(git("diff", "--name-only", base));
+        files.addAll(git("ls-files", "--others", "--exclude-standard"));
+        return files;
+    }
+
+    private static List<String> git(String... arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(arguments));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output;
+        try (InputStream stream = process.getInputStream()) {
+            output = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IOException("git " + String.join(" ", arguments) + " failed: " + output.strip());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        return output.lines().filter(line -> !line.isBlank()).toList();
+    }
+
+    private static String describe(Map<String, String> affected) {
+        StringBuilder text = new StringBuilder("Change-aware selection: " + affected.size() + " affected test classes");
+        affected.forEach((testClass, reason) -> text.append(System.lineSeparator())
+                .append("  ").append(testClass).append(": ").append(reason));
+        return text.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package com.emergent.selection;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Static dependency graph of the project's own classes, built from their source files.
+ *
+ * A class depends on every project class whose simple name appears in its source outside of
+ * comments and string literals. Names are resolved to the class of the same package, then to an
+ * explicit import, and otherwise to every project class of that name, so the graph may over-approximate
+ * but never misses a reference written in source. Nested classes belong to their file's top level class.
+ */
+public class DependencyGraph {
+    private static final Pattern COMMENTS_AND_STRINGS =
+            Pattern.compile("//[^\\n]*|/\\*.*?\\*/|\"(?:\\\\.|[^\"\\\\])*\"|'(?:\\\\.|[^'\\\\])*'", Pattern.DOTALL);
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern IMPORT = Pattern.compile("^\\s*import\\s+(?:static\\s+)?([\\w.]+)\\s*;",
+            Pattern.MULTILINE);
+    private static final Pattern TYPE_NAME = Pattern.compile("\\b[A-Z]\\w*\\b");
+
+    private final Map<Path, String> classes = new HashMap<>();
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+
+    private DependencyGraph() {
+    }
+
+    /**
+     * Scans source roots and builds the graph.
+     *
+     * @param sourceRoots directories such as src/main/java and src/test/java; missing ones are skipped
+     * @return the graph
+     * @throws IOException if a source file cannot be read
+     */
+    public static DependencyGraph scan(List<Path> sourceRoots) throws IOException {
+        DependencyGraph graph = new DependencyGraph();
+        Map<String, String> texts = new HashMap<>();
+        Map<String, List<String>> bySimpleName = new HashMap<>();
+        for (Path root : sourceRoots) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(root)) {
+                files = walk.filter(file -> file.toString().endsWith(".java")).sorted().toList();
+            }
+            for (Path file : files) {
+                String text = COMMENTS_AND_STRINGS.matcher(Files.readString(file, StandardCharsets.UTF_8))
+                        .replaceAll(" ");
+                Matcher packageName = PACKAGE.matcher(text);
+                String simpleName = file.getFileName().toString().replace(".java", "");
+                String className = packageName.find() ? packageName.group(1) + "." + simpleName : simpleName;
+                graph.classes.put(file.normalize(), className);
+                texts.put(className, text);
+                bySimpleName.computeIfAbsent(simpleName, name -> new ArrayList<>()).add(className);
+            }
+        }
+        for (Map.Entry<String, String> entry : texts.entrySet()) {
+            graph.dependencies.put(entry.getKey(), references(entry.getKey(), entry.getValue(), bySimpleName));
+        }
+        return graph;
+    }
+
+    /**
+     * Gets the class defined by a source file.
+     *
+     * @param sourceFile the file, relative to the same directory as the scanned roots
+     * @return the qualified class name, or null if the file is not a scanned source
+     */
+    public String classOf(Path sourceFile) {
+        return classes.get(sourceFile.normalize());
+    }
+
+    /**
+     * Gets every class a class reaches, directly or transitively, including itself.
+     *
+     * Edges between two classes of the same isolated package are not followed. Page objects return
+     * the page they navigate to, so without this every test would reach every page through the
+     * dashboard; a test reaches another page only by using it, which names its class.
+     *
+     * @param className         qualified class name
+     * @param isolatedPackages  packages, such as com.emergent.pages, whose classes do not reach each other
+     * @return the reachable classes, sorted
+     */
+    public Set<String> reachableFrom(String className, Set<String> isolatedPackages) {
+        Set<String> reached = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(className);
+        while (!pending.isEmpty()) {
+            String next = pending.poll();
+            if (!reached.add(next)) {
+                continue;
+            }
+            String nextPackage = packageOf(next);
+            for (String dependency : dependencies.getOrDefault(next, Set.of())) {
+                if (!isolatedPackages.contains(nextPackage) || !nextPackage.equals(packageOf(dependency))) {
+                    pending.add(dependency);
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Gets the direct dependencies of a class.
+     *
+     * @param className qualified class name
+     * @return the project classes it references
+     */
+    public Set<String> dependenciesOf(String className) {
+        return dependencies.getOrDefault(className, Set.of());
+    }
+
+    private static String packageOf(String className) {
+        return className.contains(".") ? className.substring(0, className.lastIndexOf('.')) : "";
+    }
+
+    private static Set<String> references(String className, String text, Map<String, List<String>> bySimpleName) {
+        String packagePrefix = className.contains(".") ? className.substring(0, className.lastIndexOf('.') + 1) : "";
+        Set<String> imports = new TreeSet<>();
+        Matcher importMatcher = IMPORT.matcher(text);
+        while (importMatcher.find()) {
+            imports.add(importMatcher.group(1));
+        }
+        Set<String> references = new TreeSet<>();
+        Matcher names = TYPE_NAME.matcher(text);
+        while (names.find()) {
+            List<String> candidates = bySimpleName.get(names.group());
+            if (candidates == null) {
+                continue;
+            }
+            List<String> resolved = candidates.stream()
+                    .filter(candidate -> candidate.equals(packagePrefix + names.group()) || imports.contains(candidate))
+                    .toList();
+            references.addAll(resolved.isEmpty() ? candidates : resolved);
+        }
+        references.remove(className);
+        return references;
+    }
+}
@@ -0,0 +1,260 @@
+package com.emergent.shard;
+
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.Json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per test durations and outcomes, used to balance shards and to schedule long tests first.
+ *
+ * Every finished test is recorded under its test key (class, method and data provider
+ * parameters). At suite end the durations and outcomes of the run are written to
+ * metrics.path/test-durations.json and metrics.path/test-run.json. Only with
+ * shard.durations.update=true, as on CI, are the durations also folded into the committed history
+ * file (shard.durations.path) as a moving average, under a file lock so that concurrent runs can
+ * all update it, and the run appended as one line to the run log (shard.history.path), which keeps
+ * the last shard.history.max.runs runs. By default local runs leave both files alone, and
+ * {@link ShardMerger} folds the run's files in later.
+ */
+public class DurationHistory {
+    private static final Map<String, Long> observed = new ConcurrentHashMap<>();
+    private static final Map<String, String> outcomes = new ConcurrentHashMap<>();
+    private static volatile Map<String, Long> history;
+
+    private DurationHistory() {
+    }
+
+    /**
+     * Records how long a test took in this run and whether it passed.
+     *
+     * @param testKey stable name of the test
+     * @param millis  its duration
+     * @param passed  true if the test passed
+     */
+    public static void record(String testKey, long millis, boolean passed) {
+        observed.put(testKey, millis);
+        outcomes.put(testKey, passed ? "PASS" : "FAIL");
+    }
+
+    /**
+     * Gets the historical duration of a test.
+     *
+     * @param testKey stable name of the test
+     * @return the moving average duration, or -1 if the test has never been recorded
+     */
+    public static long estimate(String testKey) {
+        return history().getOrDefault(testKey, -1L);
+    }
+
+    /**
+     * Gets the historical duration of a test method, summed over its data provider rows.
+     *
+     * @param methodKey test key without parameters (class simple name and method)
+     * @return the summed moving averages, or -1 if no row of the method has been recorded
+     */
+    public static long estimateMethod(String methodKey) {
+        long total = -1;
+        for (Map.Entry<String, Long> entry : history().entrySet()) {
+            String key = entry.getKey();
+            if (key.equals(methodKey) || key.startsWith(methodKey + "(")) {
+                total = Math.max(total, 0) + entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the median of all historical durations, used for tests without history.
+     *
+     * @param fallback value returned when there is no history at all
+     * @return the median duration in milliseconds
+     */
+    public static long median(long fallback) {
+        List<Long> values = new ArrayList<>(history().values());
+        if (values.isEmpty()) {
+            return fallback;
+        }
+        values.sort(null);
+        return values.get(values.size() / 2);
+    }
+
+    /**
+     * Writes this run's durations and outcomes, folds the durations into the history file and
+     * appends the run to the run log.
+     *
+     * @return the written durations file, or null if nothing was recorded or writing failed
+     */
+    public static Path write() {
+        if (observed.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigProperties.get().metricsPath());
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("test-durations.json");
+            Files.writeString(file, Json.toJson(new TreeMap<>(observed)), StandardCharsets.UTF_8);
+            Path run = directory.resolve("test-run.json");
+            Files.writeString(run, runJson(), StandardCharsets.UTF_8);
+            if (ConfigProperties.get().shardDurationsUpdate()) {
+                merge(historyPath(), observed);
+                appendRun(runLogPath(), run);
+            }
+            return file;
+        } catch (IOException e) {
+            System.err.println("Failed to write test durations: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Folds durations into a history file as an exponential moving average.
+     *
+     * @param historyFile the history file, created if missing
+     * @param durations   test key to duration in milliseconds
+     * @throws IOException if the file cannot be read or written
+     */
+    public static void merge(Path historyFile, Map<String, Long> durations) throws IOException {
+        double weight = ConfigProperties.get().shardDurationsWeight();
+        if (historyFile.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(historyFile.toAbsolutePath().getParent());
+        }
+        try (FileChannel channel = FileChannel.open(historyFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read the whole file
+            }
+            Map<String, Long> merged = parse(new String(buffer.array(), StandardCharsets.UTF_8));
+            for (Map.Entry<String, Long> entry : durations.entrySet()) {
+                Long previous = merged.get(entry.getKey());
+                merged.put(entry.getKey(), previous == null ? entry.getValue()
+                        : Math.round(previous + weight * (entry.getValue() - previous)));
+            }
+            byte[] json = Json.toJson(merged).getBytes(StandardCharsets.UTF_8);
+            channel.truncate(0);
+            channel.position(0);
+            channel.write(ByteBuffer.wrap(json));
+        }
+    }
+
+    /**
+     * Appends a run file written by {@link #write()} to a run log, dropping the oldest runs beyond
+     * shard.history.max.runs.
+     *
+     * @param runLog  the run log, one JSON run per line, created if missing
+     * @param runFile the run file
+     * @throws IOException if either file cannot be read or written
+     */
+    public static void appendRun(Path runLog, Path runFile) throws IOException {
+        int maxRuns = ConfigProperties.get().shardHistoryMaxRuns();
+        String line = Files.readString(runFile, StandardCharsets.UTF_8).strip();
+        if (runLog.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(runLog.toAbsolutePath().getParent());
+        }
+        try (FileChannel channel = FileChannel.open(runLog, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read the whole file
+            }
+            List<String> runs = new ArrayList<>(new String(buffer.array(), StandardCharsets.UTF_8).lines()
+                    .filter(existing -> !existing.isBlank()).toList());
+            runs.add(line);
+            List<String> kept = runs.subList(Math.max(0, runs.size() - maxRuns), runs.size());
+            byte[] text = (String.join("\n", kept) + "\n").getBytes(StandardCharsets.UTF_8);
+            channel.truncate(0);
+            channel.position(0);
+            channel.write(ByteBuffer.wrap(text));
+        }
+    }
+
+    /**
+     * Reads a durations file written by {@link #write()}.
+     *
+     * @param file the file
+     * @return test key to duration in milliseconds
+     * @throws IOException if the file cannot be read
+     */
+    public static Map<String, Long> read(Path file) throws IOException {
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Long> parse(String json) {
+        Map<String, Long> values = new TreeMap<>();
+        if (json.isBlank()) {
+            return values;
+        }
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) Json.parse(json)).entrySet()) {
+            values.put(String.valueOf(entry.getKey()), ((Number) entry.getValue()).longValue());
+        }
+        return values;
+    }
+
+    /**
+     * Builds this run's line for the run log: the time, and duration and outcome per test.
+     */
+    private static String runJson() {
+        Map<String, Object> tests = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : observed.entrySet()) {
+            Map<String, Object> test = new LinkedHashMap<>();
+            test.put("millis", entry.getValue());
+            test.put("outcome", outcomes.getOrDefault(entry.getKey(), "PASS"));
+            tests.put(entry.getKey(), test);
+        }
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("timestamp", Instant.now().toString());
+        run.put("tests", tests);
+        return Json.toJson(run);
+    }
+
+    static Path historyPath() {
+        return Paths.get(ConfigProperties.get().shardDurationsPath());
+    }
+
+    static Path runLogPath() {
+        return Paths.get(ConfigProperties.get().shardHistoryPath());
+    }
+
+    /**
+     * Loads the history once.
+     */
+    private static Map<String, Long> history() {
+        Map<String, Long> loaded = history;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (DurationHistory.class) {
+            if (history == null) {
+                Map<String, Long> values = new TreeMap<>();
+                Path file = historyPath();
+                if (Files.exists(file)) {
+                    try {
+                        values = read(file);
+                    } catch (IOException | RuntimeException e) {
+                        System.err.println("Ignoring unreadable test durations " + file + ": " + e.getMessage());
+                    }
+                }
+                history = Map.copyOf(values);
+            }
+            return history;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.emergent.shard;
+
+import com.emergent.utils.ConfigProperties;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TestNG listener that starts the longest work first, using the durations in {@link DurationHistory}.
+ *
+ * The suite runs its &lt;test&gt; blocks in parallel on a fixed number of threads, so the order of
+ * the blocks decides which ones end up in the tail. Before the suite starts, the blocks are sorted
+ * by their estimated total duration, longest first (longest processing time scheduling). Inside a
+ * block, methods keep their declared priorities; only methods of equal priority are reordered,
+ * longest first, and dependencies are still enforced by TestNG. Tests without history count as the
+ * median duration. Registered in testng.xml; schedule.longest.first=false keeps the declared order.
+ */
+public class LongestFirstScheduler implements IAlterSuiteListener, IMethodInterceptor {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            Map<XmlTest, Long> estimates = new IdentityHashMap<>();
+            for (XmlTest test : suite.getTests()) {
+                estimates.put(test, estimate(test));
+            }
+            List<XmlTest> ordered = new ArrayList<>(suite.getTests());
+            ordered.sort(Comparator.comparingLong((XmlTest test) -> estimates.get(test)).reversed());
+            suite.getTests().clear();
+            suite.getTests().addAll(ordered);
+
+            StringBuilder order = new StringBuilder("Longest-first order for " + suite.getName() + ":");
+            for (XmlTest test : ordered) {
+                order.append(System.lineSeparator())
+                        .append(String.format("  %s (~%d s)", test.getName(), estimates.get(test) / 1000));
+            }
+            System.out.println(order);
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isEnabled()) {
+            return methods;
+        }
+        Map<ITestNGMethod, Long> estimates = new IdentityHashMap<>();
+        for (IMethodInstance method : methods) {
+            ITestNGMethod testMethod = method.getMethod();
+            estimates.put(testMethod, estimate(testMethod.getRealClass(), testMethod.getMethodName()));
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingInt((IMethodInstance method) -> method.getMethod().getPriority())
+                .thenComparing(method -> estimates.get(method.getMethod()), Comparator.reverseOrder()));
+        return ordered;
+    }
+
+    private static boolean isEnabled() {
+        return ConfigProperties.get().scheduleLongestFirst();
+    }
+
+    /**
+     * Estimates a &lt;test&gt; block as the sum of its classes' test methods.
+     */
+    private static long estimate(XmlTest test) {
+        long total = 0;
+        for (XmlClass xmlClass : test.getClasses()) {
+            Class<?> testClass;
+            try {
+                testClass = xmlClass.getSupportedClass();
+            } catch (RuntimeException e) {
+                continue;
+            }
+            for (Method method : testClass.getMethods()) {
+                if (method.isAnnotationPresent(Test.class)) {
+                    total += estimate(testClass, method.getName());
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Estimates a test method over all of its data provider rows.
+     */
+    private static long estimate(Class<?> testClass, String methodName) {
+        long estimate = DurationHistory.estimateMethod(testClass.getSimpleName() + "." + methodName);
+        return estimate >= 0 ? estimate : DurationHistory.median(ConfigProperties.get().shardDefaultDurationMillis());
+    }
+}
@@ -0,0 +1,74 @@
+package com.emergent.shard;
+
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * TestNG listener that runs only this JVM's share of the suite when -Dshard.count is above 1.
+ * Methods without a unit in this shard are removed before they are scheduled, and data provider
+ * rows of other shards are dropped as the provider is iterated. The plan is built once per
+ * suite from all of its methods, so every &lt;test&gt; block of testng.xml is balanced together.
+ * Registered in testng.xml; does nothing when the suite is not sharded.
+ */
+public class ShardInterceptor implements IMethodInterceptor, IDataProviderInterceptor {
+    private static ISuite plannedSuite;
+    private static ShardPlan plan;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ShardPlan current = plan(context);
+        if (current == null) {
+            return methods;
+        }
+        List<IMethodInstance> kept = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (current.includesMethod(method.getMethod())) {
+                kept.add(method);
+            }
+        }
+        return kept;
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        ShardPlan current = plan(context);
+        if (current == null) {
+            return original;
+        }
+        List<Object[]> kept = new ArrayList<>();
+        for (int row = 0; original.hasNext(); row++) {
+            Object[] parameters = original.next();
+            if (current.includesRow(method, row)) {
+                kept.add(parameters);
+            }
+        }
+        return kept.iterator();
+    }
+
+    /**
+     * Builds the plan on first use in a suite.
+     *
+     * @return the plan, or null when the suite is not sharded
+     */
+    private static synchronized ShardPlan plan(ITestContext context) {
+        if (!ShardPlan.isEnabled()) {
+            return null;
+        }
+        if (plannedSuite != context.getSuite()) {
+            plan = new ShardPlan(ShardPlan.shardIndex(), ShardPlan.shardCount(), context.getSuite().getAllMethods());
+            plannedSuite = context.getSuite();
+            System.out.println(plan.describe());
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,182 @@
+package com.emergent.shard;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.emergent.utils.ConfigProperties;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Combines the results of shards into one report.
+ *
+ * Every directory given is searched for testng-results.xml, ExtentReport_*.json and
+ * test-durations.json/test-run.json. The TestNG results are merged into one testng-results.xml
+ * with summed counts, the Extent JSON archives are replayed into one ExtentReport_merged.html/.json,
+ * the shard durations are folded into the duration history (shard.durations.path) that balances
+ * the next run, and the shard runs are appended to the run log (shard.history.path). Output goes
+ * to shard.merge.output.
+ *
+ * Run with: mvn compile exec:java -Dexec.mainClass=com.emergent.shard.ShardMerger
+ * -Dexec.args="target/shards/shard-0 target/shards/shard-1"
+ */
+public class ShardMerger {
+    private static final String[] COUNTS = {"total", "passed", "failed", "skipped", "ignored"};
+
+    private final Path output;
+
+    /**
+     * Creates a merger writing to a directory.
+     *
+     * @param output the directory for the merged reports
+     */
+    public ShardMerger(Path output) {
+        this.output = output;
+    }
+
+    /**
+     * Merges the results found in the shard directories.
+     *
+     * @param shardDirectories directories holding one shard's output each
+     * @return the number of failed tests across all shards
+     * @throws IOException if results cannot be read or written
+     */
+    public int merge(List<Path> shardDirectories) throws IOException {
+        List<Path> testngResults = new ArrayList<>();
+        List<Path> extentArchives = new ArrayList<>();
+        List<Path> durations = new ArrayList<>();
+        List<Path> runs = new ArrayList<>();
+        Path outputDirectory = output.toAbsolutePath().normalize();
+        for (Path directory : shardDirectories) {
+            List<Path> found;
+            try (Stream<Path> files = Files.walk(directory)) {
+                found = files.filter(Files::isRegularFile)
+                        .filter(file -> !file.toAbsolutePath().normalize().startsWith(outputDirectory))
+                        .sorted()
+                        .toList();
+            }
+            for (Path file : found) {
+                String name = file.getFileName().toString();
+                if (name.equals("testng-results.xml")) {
+                    testngResults.add(file);
+                } else if (name.startsWith("ExtentReport_") && name.endsWith(".json")) {
+                    extentArchives.add(file);
+                } else if (name.equals("test-durations.json")) {
+                    durations.add(file);
+                } else if (name.equals("test-run.json")) {
+                    runs.add(file);
+                }
+            }
+        }
+        Files.createDirectories(output);
+        int failed = mergeTestNg(testngResults);
+        mergeExtent(extentArchives);
+        for (Path file : durations) {
+            DurationHistory.merge(DurationHistory.historyPath(), DurationHistory.read(file));
+        }
+        for (Path file : runs) {
+            DurationHistory.appendRun(DurationHistory.runLogPath(), file);
+        }
+        System.out.printf("Merged %d TestNG results, %d Extent reports and %d duration files into %s%n",
+                testngResults.size(), extentArchives.size(), durations.size(), output);
+        return failed;
+    }
+
+    /**
+     * Writes one testng-results.xml holding every shard's suites.
+     *
+     * @return the number of failed tests
+     */
+    private int mergeTestNg(List<Path> results) throws IOException {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            Document merged = builder.newDocument();
+            Element root = merged.createElement("testng-results");
+            merged.appendChild(root);
+            long[] totals = new long[COUNTS.length];
+            for (Path file : results) {
+                Document shard = builder.parse(file.toFile());
+                Element shardRoot = shard.getDocumentElement();
+                for (int i = 0; i < COUNTS.length; i++) {
+                    String value = shardRoot.getAttribute(COUNTS[i]);
+                    totals[i] += value.isEmpty() ? 0 : Long.parseLong(value);
+                }
+                NodeList children = shardRoot.getChildNodes();
+                for (int i = 0; i < children.getLength(); i++) {
+                    Node child = children.item(i);
+                    if (child.getNodeType() == Node.ELEMENT_NODE && child.getNodeName().equals("suite")) {
+                        root.appendChild(merged.importNode(child, true));
+                    }
+                }
+            }
+            for (int i = 0; i < COUNTS.length; i++) {
+                root.setAttribute(COUNTS[i], String.valueOf(totals[i]));
+            }
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(merged),
+                    new StreamResult(output.resolve("testng-results.xml").toFile()));
+            return (int) totals[2];
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to merge TestNG results: " + e.getMessage(), e);
+        }
+    }
+
+    private void mergeExtent(List<Path> archives) throws IOException {
+        if (archives.isEmpty()) {
+            return;
+        }
+        String reportName = output.resolve("ExtentReport_merged").toString();
+        ExtentSparkReporter reporter = new ExtentSparkReporter(reportName + ".html");
+        reporter.config().setReportName("Emergent.sh Test Automation Report");
+        reporter.config().setDocumentTitle("Emergent.sh Test Results");
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(reporter, new JsonFormatter(reportName + ".json"));
+        reports.setSystemInfo("Shards", String.valueOf(archives.size()));
+        for (Path archive : archives) {
+            reports.createDomainFromJsonArchive(archive.toString());
+        }
+        reports.flush();
+    }
+
+    /**
+     * Merges the shard directories given as arguments.
+     *
+     * @param args shard directories
+     * @throws IOException if results cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        List<Path> directories = new ArrayList<>();
+        for (String arg : args) {
+            directories.add(Paths.get(arg));
+        }
+        Path output = Paths.get(ConfigProperties.get().shardMergeOutput());
+        int failed = new ShardMerger(output).merge(directories);
+        if (failed > 0) {
+            System.out.println(failed + " tests failed across the shards");
+            System.exit(1);
+        }
+    }
+}
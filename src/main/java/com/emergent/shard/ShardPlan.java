@@ -0,0 +1,221 @@
+package com.emergent.shard;
+
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.TestListener;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Assignment of test methods, and of the rows of their data providers, to shards.
+ *
+ * Every shard builds the same plan from the same inputs: the suite's test methods, the row count
+ * of each static data provider and the duration history. Units (a method, or one data provider
+ * row) are handed out longest first to the shard with the least estimated time so far. Units
+ * without history are estimated at the median historical duration. Methods whose data provider
+ * cannot be evaluated up front are kept together as one unit.
+ */
+public class ShardPlan {
+    /** Row index of a unit that stands for every row of its method. */
+    public static final int ALL_ROWS = -1;
+
+    private final int index;
+    private final int count;
+    private final Set<String> methods = new HashSet<>();
+    private final Set<String> units = new HashSet<>();
+    private final long[] estimatedMillis;
+    private final int[] unitCounts;
+
+    /**
+     * A schedulable piece of the suite.
+     *
+     * @param method         qualified method name
+     * @param row            data provider row, or {@link #ALL_ROWS}
+     * @param estimateMillis expected duration
+     */
+    public record Unit(String method, int row, long estimateMillis) {
+    }
+
+    /**
+     * Builds the plan for one shard.
+     *
+     * @param index   this shard, from 0
+     * @param count   number of shards
+     * @param methods the suite's test methods
+     */
+    public ShardPlan(int index, int count, Collection<ITestNGMethod> methods) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        this.index = index;
+        this.count = count;
+        this.estimatedMillis = new long[count];
+        this.unitCounts = new int[count];
+
+        List<Unit> all = new ArrayList<>();
+        for (ITestNGMethod method : methods) {
+            all.addAll(units(method));
+        }
+        all.sort(Comparator.comparingLong(Unit::estimateMillis).reversed()
+                .thenComparing(Unit::method).thenComparingInt(Unit::row));
+        for (Unit unit : all) {
+            int shard = 0;
+            for (int i = 1; i < count; i++) {
+                if (estimatedMillis[i] < estimatedMillis[shard]) {
+                    shard = i;
+                }
+            }
+            estimatedMillis[shard] += unit.estimateMillis();
+            unitCounts[shard]++;
+            if (shard == index) {
+                this.methods.add(unit.method());
+                this.units.add(unit.method() + "#" + unit.row());
+            }
+        }
+    }
+
+    /**
+     * Checks whether sharding is configured (shard.count above 1).
+     *
+     * @return true if the suite runs sharded
+     */
+    public static boolean isEnabled() {
+        return shardCount() > 1;
+    }
+
+    /**
+     * Gets the configured shard count.
+     *
+     * @return shard.count, 1 when not sharded
+     */
+    public static int shardCount() {
+        return ConfigProperties.get().shardCount();
+    }
+
+    /**
+     * Gets the configured shard index.
+     *
+     * @return shard.index, from 0
+     */
+    public static int shardIndex() {
+        return ConfigProperties.get().shardIndex();
+    }
+
+    /**
+     * Checks whether any unit of a method runs in this shard.
+     *
+     * @param method the test method
+     * @return true if the method has to be scheduled here
+     */
+    public boolean includesMethod(ITestNGMethod method) {
+        return methods.contains(name(method));
+    }
+
+    /**
+     * Checks whether a data provider row runs in this shard.
+     *
+     * @param method the test method
+     * @param row    the row index
+     * @return true if the row belongs to this shard
+     */
+    public boolean includesRow(ITestNGMethod method, int row) {
+        String name = name(method);
+        return units.contains(name + "#" + ALL_ROWS) || units.contains(name + "#" + row);
+    }
+
+    /**
+     * Describes the plan, for the console.
+     *
+     * @return one line per shard with its unit count and estimated time
+     */
+    public String describe() {
+        StringBuilder text = new StringBuilder("Shard plan:");
+        for (int i = 0; i < count; i++) {
+            text.append(System.lineSeparator()).append(String.format("  shard %d%s: %d tests, ~%d s",
+                    i, i == index ? " (this JVM)" : "", unitCounts[i], estimatedMillis[i] / 1000));
+        }
+        return text.toString();
+    }
+
+    private static String name(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    /**
+     * Splits a method into one unit per data provider row, or a single unit.
+     */
+    private static List<Unit> units(ITestNGMethod method) {
+        long fallback = DurationHistory.median(ConfigProperties.get().shardDefaultDurationMillis());
+        Class<?> testClass = method.getRealClass();
+        String name = name(method);
+        List<Object[]> rows = rows(method);
+        if (rows == null) {
+            // The whole method stays together and runs every row in one shard
+            long estimate = DurationHistory.estimate(testClass.getSimpleName() + "." + method.getMethodName());
+            return List.of(new Unit(name, ALL_ROWS, estimate >= 0 ? estimate : fallback));
+        }
+        List<Unit> units = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            long estimate = DurationHistory.estimate(
+                    TestListener.testKey(testClass, method.getMethodName(), rows.get(row)));
+            units.add(new Unit(name, row, estimate >= 0 ? estimate : fallback));
+        }
+        return units;
+    }
+
+    /**
+     * Evaluates a method's static data provider.
+     *
+     * @return the rows, an empty-parameter row for plain methods, or null if the provider cannot
+     *         be evaluated here
+     */
+    private static List<Object[]> rows(ITestNGMethod method) {
+        Method javaMethod = method.getConstructorOrMethod().getMethod();
+        Test test = javaMethod == null ? null : javaMethod.getAnnotation(Test.class);
+        if (test == null || test.dataProvider().isEmpty()) {
+            List<Object[]> single = new ArrayList<>();
+            single.add(new Object[0]);
+            return single;
+        }
+        Class<?> providerClass = test.dataProviderClass() == Object.class
+                ? method.getRealClass() : test.dataProviderClass();
+        for (Method candidate : providerClass.getMethods()) {
+            DataProvider provider = candidate.getAnnotation(DataProvider.class);
+            String providerName = provider == null ? null
+                    : provider.name().isEmpty() ? candidate.getName() : provider.name();
+            if (!test.dataProvider().equals(providerName)) {
+                continue;
+            }
+            if (!Modifier.isStatic(candidate.getModifiers()) || candidate.getParameterCount() > 0) {
+                return null;
+            }
+            try {
+                Object result = candidate.invoke(null);
+                List<Object[]> rows = new ArrayList<>();
+                if (result instanceof Object[][] array) {
+                    for (Object[] row : array) {
+                        rows.add(row);
+                    }
+                } else if (result instanceof Iterator<?> iterator) {
+                    iterator.forEachRemaining(row -> rows.add((Object[]) row));
+                } else {
+                    return null;
+                }
+                return rows;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
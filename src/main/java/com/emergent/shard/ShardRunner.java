@@ -0,0 +1,144 @@
+package com.emergent.shard;
+
+import com.emergent.utils.ConfigProperties;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Runs the suite as shard.count local JVMs and merges their results.
+ *
+ * Each shard is a TestNG process with -Dshard.index/-Dshard.count and its own output directory
+ * under target/shards/shard-N (TestNG results, Extent report, metrics, screenshots and console
+ * log). Configuration given as system properties is passed on to every shard. When all shards
+ * have finished, {@link ShardMerger} combines them into target/shards/merged and folds the
+ * shard durations into the history that balances the next run.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.mainClass=com.emergent.shard.ShardRunner
+ * -Dexec.classpathScope=test -Dshard.count=4
+ */
+public class ShardRunner {
+    private static final Path SHARDS = Paths.get("target", "shards");
+    private static final Set<String> PER_SHARD = Set.of("shard.index", "shard.count", "shard.durations.update",
+            "metrics.path", "report.path", "screenshot.path");
+
+    private ShardRunner() {
+    }
+
+    /**
+     * Runs the shards.
+     *
+     * @param args optional suite file, testng.xml by default
+     * @throws IOException          if a shard cannot be started or the results cannot be merged
+     * @throws InterruptedException if interrupted while waiting for the shards
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int count = ShardPlan.shardCount();
+        String suite = args.length > 0 ? args[0] : "testng.xml";
+        String classpath = classpath();
+        deleteRecursively(SHARDS);
+
+        List<Process> processes = new ArrayList<>();
+        List<Path> directories = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            Path directory = SHARDS.resolve("shard-" + index);
+            Files.createDirectories(directory);
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.add("-cp");
+            command.add(classpath);
+            command.add("-Dshard.index=" + index);
+            command.add("-Dshard.count=" + count);
+            command.add("-Dshard.durations.update=false");
+            command.add("-Dmetrics.path=" + directory.resolve("metrics"));
+            command.add("-Dreport.path=" + directory.resolve("extent-reports"));
+            command.add("-Dscreenshot.path=" + directory.resolve("screenshots"));
+            command.addAll(forwardedProperties());
+            command.add("org.testng.TestNG");
+            command.add("-d");
+            command.add(directory.resolve("testng").toString());
+            command.add(suite);
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve("console.log").toFile())
+                    .start());
+            directories.add(directory);
+            System.out.println("Started shard " + index + " of " + count + ", output in " + directory);
+        }
+
+        boolean crashed = false;
+        for (int index = 0; index < count; index++) {
+            int exitCode = processes.get(index).waitFor();
+            System.out.println("Shard " + index + " finished with exit code " + exitCode);
+            // TestNG exits with 1 for failed tests; anything else means the shard did not run through
+            crashed |= exitCode != 0 && exitCode != 1;
+        }
+
+        Path output = Paths.get(ConfigProperties.get().shardMergeOutput());
+        int failed = new ShardMerger(output).merge(directories);
+        if (failed > 0 || crashed) {
+            System.out.println(crashed ? "A shard did not complete, see its console.log"
+                    : failed + " tests failed across the shards");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gets the configuration system properties to pass on to the shards.
+     */
+    private static List<String> forwardedProperties() {
+        List<String> properties = new ArrayList<>();
+        Map<String, String> known = ConfigProperties.get().values();
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if ((known.containsKey(key) || key.startsWith("perf.budget.")) && !PER_SHARD.contains(key)) {
+                properties.add("-D" + key + "=" + System.getProperty(key));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Gets the classpath of this run, which under exec:java is held by the context class loader
+     * rather than java.class.path.
+     */
+    private static String classpath() {
+        List<String> entries = new ArrayList<>();
+        if (Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader) {
+            for (URL url : loader.getURLs()) {
+                try {
+                    entries.add(Paths.get(url.toURI()).toString());
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    entries.add(url.getPath());
+                }
+            }
+        }
+        String own = System.getProperty("java.class.path");
+        if (!own.isEmpty()) {
+            entries.add(own);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
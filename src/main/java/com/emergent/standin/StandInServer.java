@@ -0,0 +1,637 @@
+package com.emergent.standin;
+
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.Json;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded HTTP server that stands in for emergent.sh during offline runs.
+ * Serves a single-page fixture app whose markup matches the locators in com.emergent.pages,
+ * backed by an in-memory JSON API with configurable latency and failure injection.
+ * Every page path returns the same index.html; the app renders the page for the path.
+ */
+public class StandInServer {
+    private static final String SESSION_COOKIE = "standin_session";
+    private static final Pattern PROJECT_PATH = Pattern.compile("^/projects/(\\d+)(/[a-z/]+)?$");
+
+    private static StandInServer shared;
+
+    private final int port;
+    private final long latencyMillis;
+    private final long aiLatencyMillis;
+    private final long streamChunkMillis;
+    private final double failureRate;
+    private final int failureStatus;
+    private final Random random;
+
+    private final Map<String, String> users = new ConcurrentHashMap<>();
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Project> projects = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextProjectId = new AtomicLong(1);
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * In-memory project state.
+     */
+    private static class Project {
+        private final long id;
+        private final String template;
+        private final List<String> testCases = new CopyOnWriteArrayList<>();
+        private volatile String name;
+        private volatile String description;
+
+        private Project(long id, String name, String description, String template) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.template = template;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", id);
+            map.put("name", name);
+            map.put("description", description);
+            map.put("template", template);
+            map.put("tests", new ArrayList<>(testCases));
+            return map;
+        }
+    }
+
+    /**
+     * Creates a stand-in server.
+     *
+     * @param port            port to listen on, or 0 for any free port
+     * @param latencyMillis   delay added to every request
+     * @param aiLatencyMillis extra delay added to AI prompts, deployments and test runs
+     * @param streamChunkMillis delay between the words of a streamed AI response (0 shows it at once)
+     * @param failureRate     fraction of API requests (0..1) answered with failureStatus
+     * @param failureStatus   HTTP status returned for injected failures
+     * @param seed            seed for failure injection, so runs are reproducible
+     */
+    public StandInServer(int port, long latencyMillis, long aiLatencyMillis, long streamChunkMillis,
+                         double failureRate, int failureStatus, long seed) {
+        this.port = port;
+        this.latencyMillis = latencyMillis;
+        this.aiLatencyMillis = aiLatencyMillis;
+        this.streamChunkMillis = streamChunkMillis;
+        this.failureRate = failureRate;
+        this.failureStatus = failureStatus;
+        this.random = new Random(seed);
+        users.put(ConfigProperties.getTestUsername(), ConfigProperties.getTestPassword());
+    }
+
+    /**
+     * Creates a stand-in server from the standin.* properties in config.properties.
+     *
+     * @return a server that has not been started yet
+     */
+    public static StandInServer fromConfig() {
+        return fromConfig(Integer.parseInt(ConfigProperties.getProperty("standin.port", "0")));
+    }
+
+    private static StandInServer fromConfig(int port) {
+        return new StandInServer(port,
+                Long.parseLong(ConfigProperties.getProperty("standin.latency.ms", "0")),
+                Long.parseLong(ConfigProperties.getProperty("standin.ai.latency.ms", "200")),
+                Long.parseLong(ConfigProperties.getProperty("standin.stream.chunk.ms", "40")),
+                Double.parseDouble(ConfigProperties.getProperty("standin.failure.rate", "0")),
+                Integer.parseInt(ConfigProperties.getProperty("standin.failure.status", "503")),
+                Long.parseLong(ConfigProperties.getProperty("standin.seed", "42")));
+    }
+
+    /**
+     * Checks whether the suite should run against the stand-in server.
+     *
+     * @return true if standin.enabled is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigProperties.getProperty("standin.enabled", "false"));
+    }
+
+    /**
+     * Starts the shared stand-in server and points base.url and app.url at it.
+     * Does nothing if it is already running.
+     */
+    public static synchronized void startShared() {
+        if (shared != null) {
+            return;
+        }
+        shared = fromConfig();
+        shared.start();
+        System.setProperty("base.url", shared.getUrl());
+        System.setProperty("app.url", shared.getUrl());
+        ConfigProperties.reload();
+        System.out.println("Stand-in server started at " + shared.getUrl());
+    }
+
+    /**
+     * Stops the shared stand-in server if it is running.
+     */
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.stop();
+            shared = null;
+            System.clearProperty("base.url");
+            System.clearProperty("app.url");
+            ConfigProperties.reload();
+        }
+    }
+
+    /**
+     * Starts listening on the loopback interface.
+     */
+    public void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start stand-in server on port " + port, e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "standin-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handleApi);
+        server.createContext("/static/", this::handleStatic);
+        server.createContext("/", this::handlePage);
+        server.start();
+    }
+
+    /**
+     * Stops the server and drops all in-memory state.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+        sessions.clear();
+        projects.clear();
+    }
+
+    /**
+     * Gets the URL the server is reachable at.
+     *
+     * @return the base URL, e.g. http://localhost:51234
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        try {
+            delay(latencyMillis);
+            if (exchange.getRequestURI().getPath().equals("/favicon.ico")) {
+                send(exchange, 404, "text/plain", new byte[0]);
+                return;
+            }
+            send(exchange, 200, "text/html; charset=utf-8", readResource("index.html"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        try {
+            delay(latencyMillis);
+            String name = exchange.getRequestURI().getPath().substring("/static/".length());
+            byte[] content = name.contains("..") ? null : readResource(name);
+            if (content == null) {
+                send(exchange, 404, "text/plain", new byte[0]);
+                return;
+            }
+            send(exchange, 200, contentType(name), content);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        try {
+            delay(latencyMillis);
+            if (shouldFail()) {
+                sendError(exchange, failureStatus, "Injected failure");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath().substring("/api".length());
+            route(exchange, exchange.getRequestMethod(), path, readParams(exchange));
+        } catch (Exception e) {
+            sendError(exchange, 500, "Stand-in server error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String path, Map<String, String> params)
+            throws IOException {
+        if (method.equals("POST") && path.equals("/login")) {
+            login(exchange, params);
+            return;
+        }
+        if (method.equals("POST") && path.equals("/signup")) {
+            signUp(exchange, params);
+            return;
+        }
+        if (method.equals("POST") && path.equals("/forgot-password")) {
+            forgotPassword(exchange, params);
+            return;
+        }
+
+        String email = currentUser(exchange);
+        if (email == null) {
+            sendError(exchange, 401, "Not logged in");
+            return;
+        }
+        if (path.equals("/session")) {
+            sendJson(exchange, 200, Map.of("email", email));
+            return;
+        }
+        if (method.equals("POST") && path.equals("/logout")) {
+            String token = sessionToken(exchange);
+            if (token != null) {
+                sessions.remove(token);
+            }
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=; Path=/; Max-Age=0");
+            sendJson(exchange, 200, Map.of("message", "Logged out"));
+            return;
+        }
+        if (path.equals("/projects")) {
+            if (method.equals("POST")) {
+                createProject(exchange, params);
+            } else {
+                listProjects(exchange, params.getOrDefault("q", ""));
+            }
+            return;
+        }
+
+        Matcher matcher = PROJECT_PATH.matcher(path);
+        if (matcher.matches()) {
+            Project project = projects.get(Long.parseLong(matcher.group(1)));
+            if (project == null) {
+                sendError(exchange, 404, "Project not found");
+                return;
+            }
+            String action = matcher.group(2) == null ? "" : matcher.group(2);
+            switch (method + " " + action) {
+                case "GET ":
+                    sendJson(exchange, 200, project.toMap());
+                    return;
+                case "POST ":
+                    updateProject(exchange, project, params);
+                    return;
+                case "DELETE ":
+                    projects.remove(project.id);
+                    sendJson(exchange, 200, Map.of("message", "Project deleted successfully"));
+                    return;
+                case "POST /prompt":
+                    prompt(exchange, project, params);
+                    return;
+                case "POST /deploy":
+                    deploy(exchange, project, params);
+                    return;
+                case "POST /tests":
+                    createTest(exchange, project, params);
+                    return;
+                case "POST /tests/run":
+                    runTests(exchange, project);
+                    return;
+                default:
+                    break;
+            }
+        }
+        sendError(exchange, 404, "Not found: " + method + " " + path);
+    }
+
+    private void login(HttpExchange exchange, Map<String, String> params) throws IOException {
+        String email = params.getOrDefault("email", "").trim();
+        String password = params.getOrDefault("password", "");
+        if (email.isEmpty()) {
+            sendError(exchange, 400, "Email is required");
+        } else if (password.isEmpty()) {
+            sendError(exchange, 400, "Password is required");
+        } else if (!password.equals(users.get(email))) {
+            sendError(exchange, 401, "Invalid email or password");
+        } else {
+            startSession(exchange, email);
+            sendJson(exchange, 200, Map.of("email", email));
+        }
+    }
+
+    private void signUp(HttpExchange exchange, Map<String, String> params) throws IOException {
+        String email = params.getOrDefault("email", "").trim();
+        String password = params.getOrDefault("password", "");
+        if (params.getOrDefault("name", "").trim().isEmpty()) {
+            sendError(exchange, 400, "Name is required");
+        } else if (!email.matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+")) {
+            sendError(exchange, 400, "Please enter a valid email address");
+        } else if (password.isEmpty()) {
+            sendError(exchange, 400, "Password is required");
+        } else if (!password.equals(params.getOrDefault("confirmPassword", ""))) {
+            sendError(exchange, 400, "Passwords do not match");
+        } else if (!"true".equals(params.get("terms"))) {
+            sendError(exchange, 400, "You must accept the terms and conditions");
+        } else if (users.putIfAbsent(email, password) != null) {
+            sendError(exchange, 409, "An account with this email already exists");
+        } else {
+            startSession(exchange, email);
+            sendJson(exchange, 200, Map.of("email", email));
+        }
+    }
+
+    private void forgotPassword(HttpExchange exchange, Map<String, String> params) throws IOException {
+        String email = params.getOrDefault("email", "").trim();
+        if (email.isEmpty()) {
+            sendError(exchange, 400, "Email is required");
+        } else if (!email.matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+")) {
+            sendError(exchange, 400, "Please enter a valid email address");
+        } else {
+            sendJson(exchange, 200, Map.of("message", "Password reset email sent to " + email));
+        }
+    }
+
+    private void listProjects(HttpExchange exchange, String query) throws IOException {
+        List<Map<String, Object>> result = new ArrayList<>();
+        String term = query.toLowerCase(Locale.ROOT);
+        for (Project project : projects.values()) {
+            if (project.name.toLowerCase(Locale.ROOT).contains(term)) {
+                result.add(project.toMap());
+            }
+        }
+        sendJson(exchange, 200, result);
+    }
+
+    private void createProject(HttpExchange exchange, Map<String, String> params) throws IOException {
+        String name = params.getOrDefault("name", "").trim();
+        if (name.isEmpty()) {
+            sendError(exchange, 400, "Project name is required");
+            return;
+        }
+        synchronized (projects) {
+            if (findByName(name) != null) {
+                sendError(exchange, 409, "A project with this name already exists");
+                return;
+            }
+            long id = nextProjectId.getAndIncrement();
+            Project project = new Project(id, name, params.getOrDefault("description", ""),
+                    params.getOrDefault("template", ""));
+            projects.put(id, project);
+            sendJson(exchange, 201, project.toMap());
+        }
+    }
+
+    private void updateProject(HttpExchange exchange, Project project, Map<String, String> params)
+            throws IOException {
+        String name = params.getOrDefault("name", "").trim();
+        if (name.isEmpty()) {
+            sendError(exchange, 400, "Project name is required and cannot be empty");
+            return;
+        }
+        synchronized (projects) {
+            Project existing = findByName(name);
+            if (existing != null && existing != project) {
+                sendError(exchange, 409, "A project with this name already exists");
+                return;
+            }
+            project.name = name;
+            project.description = params.getOrDefault("description", "");
+        }
+        Map<String, Object> body = project.toMap();
+        body.put("message", "Project updated successfully");
+        sendJson(exchange, 200, body);
+    }
+
+    private void prompt(HttpExchange exchange, Project project, Map<String, String> params) throws IOException {
+        String prompt = params.getOrDefault("prompt", "").trim();
+        if (prompt.isEmpty()) {
+            sendError(exchange, 400, "Prompt cannot be empty");
+            return;
+        }
+        delay(aiLatencyMillis);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("response", "Here is a starting point for \"" + prompt + "\" in " + project.name
+                + ". I created the files below and explained each step.");
+        body.put("code", generateCode(prompt));
+        body.put("streamChunkMillis", streamChunkMillis);
+        sendJson(exchange, 200, body);
+    }
+
+    private void deploy(HttpExchange exchange, Project project, Map<String, String> params) throws IOException {
+        String environment = params.getOrDefault("environment", "Development");
+        delay(aiLatencyMillis);
+        String slug = project.name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "Deployment completed successfully");
+        body.put("logs", List.of(
+                "Building " + project.name,
+                "Running " + environment + " build",
+                "Uploading artifacts",
+                "Deployment completed successfully"));
+        body.put("url", "https://" + slug + "-" + environment.toLowerCase(Locale.ROOT) + ".preview.local");
+        sendJson(exchange, 200, body);
+    }
+
+    private void createTest(HttpExchange exchange, Project project, Map<String, String> params) throws IOException {
+        String description = params.getOrDefault("description", "").trim();
+        if (description.isEmpty()) {
+            sendError(exchange, 400, "Test description cannot be empty");
+            return;
+        }
+        project.testCases.add(description);
+        sendJson(exchange, 201, project.toMap());
+    }
+
+    private void runTests(HttpExchange exchange, Project project) throws IOException {
+        delay(aiLatencyMillis);
+        List<String> testCases = new ArrayList<>(project.testCases);
+        if (testCases.isEmpty()) {
+            testCases.add("Application loads without errors");
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String testCase : testCases) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("name", testCase);
+            result.put("status", "passed");
+            results.add(result);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "All tests passed (" + results.size() + "/" + results.size() + ")");
+        body.put("results", results);
+        sendJson(exchange, 200, body);
+    }
+
+    private static String generateCode(String prompt) {
+        String lower = prompt.toLowerCase(Locale.ROOT);
+        if (lower.contains("api") || lower.contains("express")) {
+            return "const express = require('express');\nconst app = express();\n"
+                    + "app.get('/api/items', (req, res) => res.json([]));\napp.listen(3000);";
+        }
+        if (lower.contains("html") || lower.contains("web")) {
+            return "<!DOCTYPE html>\n<html>\n<head><title>App</title></head>\n"
+                    + "<body>\n<header><h1>App</h1></header>\n<main></main>\n</body>\n</html>";
+        }
+        return "function helloWorld() {\n  console.log('Hello, World!');\n}\n\nhelloWorld();";
+    }
+
+    private Project findByName(String name) {
+        for (Project project : projects.values()) {
+            if (project.name.equalsIgnoreCase(name)) {
+                return project;
+            }
+        }
+        return null;
+    }
+
+    private void startSession(HttpExchange exchange, String email) {
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, email);
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + token + "; Path=/; HttpOnly");
+    }
+
+    private String currentUser(HttpExchange exchange) {
+        String token = sessionToken(exchange);
+        return token == null ? null : sessions.get(token);
+    }
+
+    private static String sessionToken(HttpExchange exchange) {
+        List<String> headers = exchange.getRequestHeaders().get("Cookie");
+        if (headers == null) {
+            return null;
+        }
+        for (String header : headers) {
+            for (String cookie : header.split(";")) {
+                String trimmed = cookie.trim();
+                if (trimmed.startsWith(SESSION_COOKIE + "=")) {
+                    return trimmed.substring(SESSION_COOKIE.length() + 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean shouldFail() {
+        if (failureRate <= 0) {
+            return false;
+        }
+        synchronized (random) {
+            return random.nextDouble() < failureRate;
+        }
+    }
+
+    private static void delay(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        try (InputStream body = exchange.getRequestBody()) {
+            parseForm(new String(body.readAllBytes(), StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream in = StandInServer.class.getResourceAsStream("/standin/" + name)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        }
+        if (name.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        }
+        return "text/html; charset=utf-8";
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, Map.of("error", message));
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", Json.toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Runs the stand-in server on its own, e.g. to explore the fixtures in a browser.
+     *
+     * @param args optional port (defaults to standin.port, then 8080)
+     * @throws InterruptedException if interrupted while serving
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0])
+                : Integer.parseInt(ConfigProperties.getProperty("standin.port", "8080"));
+        StandInServer server = fromConfig(port == 0 ? 8080 : port);
+        server.start();
+        System.out.println("Stand-in server running at " + server.getUrl());
+        Thread.currentThread().join();
+    }
+}
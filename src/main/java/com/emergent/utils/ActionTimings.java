@@ -0,0 +1,275 @@
+package com.emergent.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing of page object actions: wall time, number of WebDriver commands and time spent in
+ * waits, per action name (LoginPage.clickLogin), aggregated per test and for the whole suite.
+ *
+ * Page methods open a scope with {@code try (ActionTimings.Action ignored = ActionTimings.start(...))}.
+ * Commands are counted by {@link CommandListener}, which WebDriverFactory installs on every
+ * driver, and waits are reported by {@link WaitEngine} and {@link StreamingResponseWaiter}.
+ * Nested actions are inclusive: LoginPage.login includes the time and commands of
+ * LoginPage.clickLogin. A test's breakdown starts with its test method, so actions of class and
+ * method setup are only counted in the suite totals. With instrumentation.enabled=false
+ * {@link #start} returns a shared no-op scope and nothing is counted.
+ */
+public class ActionTimings {
+    private static final boolean ENABLED = ConfigProperties.get().instrumentationEnabled();
+    private static final Action NO_OP = new Action(null, null);
+
+    private static final ThreadLocal<ThreadState> state = ThreadLocal.withInitial(ThreadState::new);
+    private static final Map<String, SuiteStats> suite = new ConcurrentHashMap<>();
+
+    /**
+     * Counters of the current thread. Only the owning thread writes them.
+     */
+    private static class ThreadState {
+        private long commands;
+        private long commandNanos;
+        private long waitNanos;
+        private final Map<String, long[]> test = new LinkedHashMap<>();
+    }
+
+    /**
+     * Totals of one action across the suite.
+     */
+    private static class SuiteStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder commands = new LongAdder();
+        private final LongAdder commandNanos = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWallNanos = new AtomicLong();
+    }
+
+    // Indexes into the per-test counters
+    private static final int COUNT = 0;
+    private static final int WALL = 1;
+    private static final int COMMANDS = 2;
+    private static final int COMMAND_TIME = 3;
+    private static final int WAIT = 4;
+
+    private ActionTimings() {
+    }
+
+    /**
+     * Checks whether instrumentation is enabled.
+     *
+     * @return the value of instrumentation.enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Starts timing a page action. Close the returned scope when the action ends.
+     *
+     * @param name the action name, e.g. LoginPage.clickLogin
+     * @return the open scope
+     */
+    public static Action start(String name) {
+        if (!ENABLED) {
+            return NO_OP;
+        }
+        return new Action(name, state.get());
+    }
+
+    /**
+     * Records one WebDriver command on the calling thread.
+     *
+     * @param nanos how long the command took
+     */
+    public static void recordCommand(long nanos) {
+        if (ENABLED) {
+            ThreadState thread = state.get();
+            thread.commands++;
+            thread.commandNanos += nanos;
+        }
+    }
+
+    /**
+     * Records time the calling thread spent waiting for a condition.
+     *
+     * @param nanos how long the wait took
+     */
+    public static void recordWait(long nanos) {
+        if (ENABLED) {
+            state.get().waitNanos += nanos;
+        }
+    }
+
+    /**
+     * Starts a test on the calling thread, dropping the actions of the setup that ran before it.
+     */
+    public static void startTest() {
+        if (ENABLED) {
+            state.get().test.clear();
+        }
+    }
+
+    /**
+     * Ends the current test on the calling thread and returns its per-action totals.
+     *
+     * @return one row per action, in the order the actions first finished:
+     *         action, count, wall ms, commands, command ms, wait ms
+     */
+    public static List<Object[]> finishTest() {
+        if (!ENABLED) {
+            return List.of();
+        }
+        ThreadState thread = state.get();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : thread.test.entrySet()) {
+            long[] totals = entry.getValue();
+            rows.add(new Object[] {entry.getKey(), totals[COUNT], millis(totals[WALL]), totals[COMMANDS],
+                    millis(totals[COMMAND_TIME]), millis(totals[WAIT])});
+        }
+        thread.test.clear();
+        return rows;
+    }
+
+    /**
+     * Renders per-action rows as an HTML table for the report.
+     *
+     * @param rows rows as returned by {@link #finishTest()} or {@link #suiteRows()}
+     * @return the table markup, or an empty string if there are no rows
+     */
+    public static String toHtml(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><tr><th>Action</th><th>Calls</th>"
+                + "<th>Wall ms</th><th>Commands</th><th>Command ms</th><th>Wait ms</th></tr>");
+        for (Object[] row : rows) {
+            html.append("<tr>");
+            for (Object cell : row) {
+                html.append("<td>").append(cell).append("</td>");
+            }
+            html.append("</tr>");
+        }
+        return html.append("</table>").toString();
+    }
+
+    /**
+     * Gets the suite totals per action, slowest total wall time first.
+     *
+     * @return one row per action: action, count, wall ms, commands, command ms, wait ms
+     */
+    public static List<Object[]> suiteRows() {
+        List<Object[]> rows = new ArrayList<>();
+        suite.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().wallNanos.sum(), a.getValue().wallNanos.sum()))
+                .forEach(entry -> {
+                    SuiteStats stats = entry.getValue();
+                    rows.add(new Object[] {entry.getKey(), stats.count.sum(), millis(stats.wallNanos.sum()),
+                            stats.commands.sum(), millis(stats.commandNanos.sum()), millis(stats.waitNanos.sum())});
+                });
+        return rows;
+    }
+
+    /**
+     * Gets the suite totals per action for the metrics file.
+     *
+     * @return action name to count, wall, max, commands, command and wait times in milliseconds
+     */
+    public static Map<String, Object> suiteSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (Object[] row : suiteRows()) {
+            SuiteStats stats = suite.get((String) row[0]);
+            Map<String, Object> action = new LinkedHashMap<>();
+            action.put("count", row[1]);
+            action.put("wallMillis", row[2]);
+            action.put("maxWallMillis", millis(stats.maxWallNanos.get()));
+            action.put("commands", row[3]);
+            action.put("commandMillis", row[4]);
+            action.put("waitMillis", row[5]);
+            summary.put((String) row[0], action);
+        }
+        return summary;
+    }
+
+    /**
+     * Writes the suite totals to page-actions.json in the metrics.path directory.
+     *
+     * @return the written file, or null if nothing was recorded or writing failed
+     */
+    public static Path write() {
+        if (suite.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigProperties.get().metricsPath());
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("page-actions.json");
+            Files.writeString(file, Json.toJson(suiteSummary()), StandardCharsets.UTF_8);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Failed to write page action timings: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * An open action scope. Closing it records the deltas of the thread's counters since it was opened.
+     */
+    public static final class Action implements AutoCloseable {
+        private final String name;
+        private final ThreadState thread;
+        private final long startNanos;
+        private final long startCommands;
+        private final long startCommandNanos;
+        private final long startWaitNanos;
+
+        private Action(String name, ThreadState thread) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = thread == null ? 0 : System.nanoTime();
+            this.startCommands = thread == null ? 0 : thread.commands;
+            this.startCommandNanos = thread == null ? 0 : thread.commandNanos;
+            this.startWaitNanos = thread == null ? 0 : thread.waitNanos;
+        }
+
+        @Override
+        public void close() {
+            if (thread == null) {
+                return;
+            }
+            long wall = System.nanoTime() - startNanos;
+            long commands = thread.commands - startCommands;
+            long commandNanos = thread.commandNanos - startCommandNanos;
+            long waitNanos = thread.waitNanos - startWaitNanos;
+
+            long[] test = thread.test.computeIfAbsent(name, key -> new long[5]);
+            test[COUNT]++;
+            test[WALL] += wall;
+            test[COMMANDS] += commands;
+            test[COMMAND_TIME] += commandNanos;
+            test[WAIT] += waitNanos;
+
+            SuiteStats stats = suite.computeIfAbsent(name, key -> new SuiteStats());
+            stats.count.increment();
+            stats.wallNanos.add(wall);
+            stats.commands.add(commands);
+            stats.commandNanos.add(commandNanos);
+            stats.waitNanos.add(waitNanos);
+            stats.maxWallNanos.accumulateAndGet(wall, Math::max);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.emergent.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records AI response latency per prompt: time from sending the prompt to the first response
+ * text, and to the response text becoming stable. Prompts from the data providers are keyed by
+ * their {@link Constants} name (PROMPT_REACT_APP), any other prompt by its text.
+ *
+ * At suite end {@link #write()} stores p50/p90/p99 for this run and for all runs so far in
+ * ai-latency.json (the all-runs histograms are kept in the file and merged on the next run) and
+ * appends this run's percentiles to ai-latency-history.jsonl for trend tracking.
+ */
+public class AiLatencyMetrics {
+    private static final String FILE_NAME = "ai-latency.json";
+    private static final String HISTORY_FILE_NAME = "ai-latency-history.jsonl";
+
+    private static final Map<String, PromptLatency> prompts = new ConcurrentHashMap<>();
+    private static final Map<String, String> promptNames = constantNames();
+
+    private record PromptLatency(LatencyHistogram firstText, LatencyHistogram complete) {
+        PromptLatency() {
+            this(new LatencyHistogram(), new LatencyHistogram());
+        }
+    }
+
+    private AiLatencyMetrics() {
+    }
+
+    /**
+     * Records one response.
+     *
+     * @param prompt           the prompt that was sent
+     * @param firstTextMillis  time from sending to the first response text
+     * @param completeMillis   time from sending to the last change of the response text
+     */
+    public static void record(String prompt, long firstTextMillis, long completeMillis) {
+        PromptLatency latency = prompts.computeIfAbsent(keyOf(prompt), key -> new PromptLatency());
+        latency.firstText.record(firstTextMillis);
+        latency.complete.record(completeMillis);
+    }
+
+    /**
+     * Checks whether any response was recorded in this run.
+     *
+     * @return true if there is something to report
+     */
+    public static boolean isEmpty() {
+        return prompts.isEmpty();
+    }
+
+    /**
+     * Renders this run's percentiles as an HTML table for the report.
+     *
+     * @return the table markup
+     */
+    public static String toHtml() {
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><tr><th>Prompt</th><th>Count</th>"
+                + "<th>First text p50 / p90 / p99 (ms)</th><th>Complete p50 / p90 / p99 (ms)</th></tr>");
+        for (Map.Entry<String, PromptLatency> entry : new TreeMap<>(prompts).entrySet()) {
+            LatencyHistogram firstText = entry.getValue().firstText;
+            LatencyHistogram complete = entry.getValue().complete;
+            html.append("<tr><td>").append(escape(entry.getKey())).append("</td><td>").append(firstText.count())
+                    .append("</td><td>").append(percentiles(firstText))
+                    .append("</td><td>").append(percentiles(complete)).append("</td></tr>");
+        }
+        return html.append("</table>").toString();
+    }
+
+    /**
+     * Writes ai-latency.json and appends to ai-latency-history.jsonl in the metrics.path directory.
+     *
+     * @return the path of ai-latency.json, or null if nothing was recorded or writing failed
+     */
+    public static Path write() {
+        if (prompts.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigProperties.get().metricsPath());
+        Path file = directory.resolve(FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+            Map<String, PromptLatency> allRuns = loadAllRuns(file);
+            String timestamp = Instant.now().toString();
+
+            Map<String, Object> run = new LinkedHashMap<>();
+            Map<String, Object> cumulative = new LinkedHashMap<>();
+            for (Map.Entry<String, PromptLatency> entry : new TreeMap<>(prompts).entrySet()) {
+                PromptLatency latency = entry.getValue();
+                Map<String, Object> prompt = new LinkedHashMap<>();
+                prompt.put("firstText", latency.firstText.summary());
+                prompt.put("complete", latency.complete.summary());
+                run.put(entry.getKey(), prompt);
+                PromptLatency total = allRuns.computeIfAbsent(entry.getKey(), key -> new PromptLatency());
+                merge(total.firstText, latency.firstText);
+                merge(total.complete, latency.complete);
+            }
+            for (Map.Entry<String, PromptLatency> entry : new TreeMap<>(allRuns).entrySet()) {
+                Map<String, Object> prompt = new LinkedHashMap<>();
+                prompt.put("firstText", withBuckets(entry.getValue().firstText));
+                prompt.put("complete", withBuckets(entry.getValue().complete));
+                cumulative.put(entry.getKey(), prompt);
+            }
+
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("timestamp", timestamp);
+            document.put("environment", ConfigProperties.get().environment());
+            document.put("baseUrl", ConfigProperties.getBaseUrl());
+            document.put("run", run);
+            document.put("allRuns", cumulative);
+            Files.writeString(file, Json.toJson(document), StandardCharsets.UTF_8);
+
+            Map<String, Object> history = new LinkedHashMap<>();
+            history.put("timestamp", timestamp);
+            history.put("environment", ConfigProperties.get().environment());
+            history.put("run", run);
+            Files.writeString(directory.resolve(HISTORY_FILE_NAME), Json.toJson(history) + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to write AI latency metrics: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String keyOf(String prompt) {
+        String text = prompt == null ? "" : prompt.trim();
+        return promptNames.getOrDefault(text, text);
+    }
+
+    /**
+     * Maps the text of every PROMPT_* constant to its name.
+     */
+    private static Map<String, String> constantNames() {
+        Map<String, String> names = new ConcurrentHashMap<>();
+        for (Field field : Constants.class.getFields()) {
+            if (field.getName().startsWith("PROMPT_") && Modifier.isStatic(field.getModifiers())
+                    && field.getType() == String.class) {
+                try {
+                    names.put((String) field.get(null), field.getName());
+                } catch (IllegalAccessException e) {
+                    // Public constants are always readable
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        return histogram.valueAtPercentile(50) + " / " + histogram.valueAtPercentile(90) + " / "
+                + histogram.valueAtPercentile(99);
+    }
+
+    private static void merge(LatencyHistogram target, LatencyHistogram source) {
+        target.add(source.buckets(), source.sum(), source.min(), source.max());
+    }
+
+    private static Map<String, Object> withBuckets(LatencyHistogram histogram) {
+        Map<String, Object> summary = histogram.summary();
+        summary.put("sum", histogram.sum());
+        List<List<Long>> buckets = new ArrayList<>();
+        for (long[] bucket : histogram.buckets()) {
+            buckets.add(List.of(bucket[0], bucket[1]));
+        }
+        summary.put("buckets", buckets);
+        return summary;
+    }
+
+    /**
+     * Loads the all-runs histograms of the previous ai-latency.json, if there is one.
+     */
+    private static Map<String, PromptLatency> loadAllRuns(Path file) {
+        Map<String, PromptLatency> allRuns = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return allRuns;
+        }
+        try {
+            Map<?, ?> document = (Map<?, ?>) Json.parse(Files.readString(file, StandardCharsets.UTF_8));
+            Map<?, ?> cumulative = (Map<?, ?>) document.get("allRuns");
+            if (cumulative == null) {
+                return allRuns;
+            }
+            for (Map.Entry<?, ?> entry : cumulative.entrySet()) {
+                Map<?, ?> prompt = (Map<?, ?>) entry.getValue();
+                PromptLatency latency = new PromptLatency();
+                load(latency.firstText, (Map<?, ?>) prompt.get("firstText"));
+                load(latency.complete, (Map<?, ?>) prompt.get("complete"));
+                allRuns.put(String.valueOf(entry.getKey()), latency);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable " + file + ": " + e.getMessage());
+            allRuns.clear();
+        }
+        return allRuns;
+    }
+
+    private static void load(LatencyHistogram histogram, Map<?, ?> stored) {
+        if (stored == null || !(stored.get("buckets") instanceof List<?> rows)) {
+            return;
+        }
+        List<long[]> buckets = new ArrayList<>();
+        for (Object row : rows) {
+            List<?> pair = (List<?>) row;
+            buckets.add(new long[] {((Number) pair.get(0)).longValue(), ((Number) pair.get(1)).longValue()});
+        }
+        histogram.add(buckets, ((Number) stored.get("sum")).longValue(), ((Number) stored.get("min")).longValue(),
+                ((Number) stored.get("max")).longValue());
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,178 @@
+package com.emergent.utils;
+
+import org.testng.SkipException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suite-level circuit breaker that skips the remaining tests once the target environment is known
+ * to be broken, instead of letting every test class wait out its timeouts.
+ *
+ * The breaker opens when the pre-flight check fails (base URL unreachable or answering with an
+ * error, or the home and login pages missing their locators), or when breaker.failure.threshold
+ * tests in a row, from at least two test classes, fail with the same error. Once open it stays
+ * open for the rest of the suite and {@link #checkClosed()} skips every test with the reason.
+ * Disabled with breaker.enabled=false.
+ */
+public class CircuitBreaker {
+    private static final boolean ENABLED = ConfigProperties.get().breakerEnabled();
+
+    private static final AtomicInteger skipped = new AtomicInteger();
+    private static volatile String openReason;
+    private static boolean preflightDone;
+    private static String streakSignature;
+    private static int streakLength;
+    private static final Set<String> streakClasses = new LinkedHashSet<>();
+
+    private CircuitBreaker() {
+    }
+
+    /**
+     * Runs the pre-flight check once per suite: the base URL over HTTP, then the given browser probe.
+     * Later callers wait for the first one and reuse its outcome.
+     *
+     * @param browserProbe returns null when the pages look healthy, or the problem found
+     */
+    public static synchronized void preflight(Callable<String> browserProbe) {
+        if (!ENABLED || preflightDone) {
+            return;
+        }
+        preflightDone = true;
+        long start = System.currentTimeMillis();
+        String problem = probeUrl(ConfigProperties.getBaseUrl());
+        if (problem == null) {
+            try {
+                problem = browserProbe.call();
+            } catch (Exception e) {
+                problem = "pre-flight browser check failed: " + signature(e);
+            }
+        }
+        if (problem != null) {
+            trip("Pre-flight check failed: " + problem);
+        } else {
+            System.out.println("Pre-flight check passed in " + (System.currentTimeMillis() - start) + " ms");
+        }
+    }
+
+    /**
+     * Skips the calling test or configuration method when the breaker is open.
+     *
+     * @throws SkipException with the reason the breaker opened
+     */
+    public static void checkClosed() {
+        String reason = openReason;
+        if (reason != null) {
+            skipped.incrementAndGet();
+            throw new SkipException("Circuit breaker open, skipping: " + reason);
+        }
+    }
+
+    /**
+     * Counts a failed test towards the streak of identical failures.
+     *
+     * @param testClass the failed test's class
+     * @param throwable the failure
+     */
+    public static synchronized void recordFailure(Class<?> testClass, Throwable throwable) {
+        if (!ENABLED || openReason != null || throwable == null || throwable instanceof SkipException) {
+            return;
+        }
+        String signature = signature(throwable);
+        if (!signature.equals(streakSignature)) {
+            streakSignature = signature;
+            streakLength = 0;
+            streakClasses.clear();
+        }
+        streakLength++;
+        streakClasses.add(testClass.getSimpleName());
+        int threshold = ConfigProperties.get().breakerFailureThreshold();
+        if (streakLength >= threshold && streakClasses.size() >= 2) {
+            trip(streakLength + " consecutive tests in " + String.join(", ", streakClasses)
+                    + " failed with " + signature);
+        }
+    }
+
+    /**
+     * Ends the streak of identical failures.
+     */
+    public static synchronized void recordSuccess() {
+        streakSignature = null;
+        streakLength = 0;
+        streakClasses.clear();
+    }
+
+    /**
+     * Checks whether the breaker is open.
+     *
+     * @return the reason it opened, or null while it is closed
+     */
+    public static String openReason() {
+        return openReason;
+    }
+
+    /**
+     * Summarises the breaker state for the console.
+     *
+     * @return a one-line summary
+     */
+    public static String summary() {
+        String reason = openReason;
+        return reason == null ? "Circuit breaker: closed"
+                : "Circuit breaker: open (" + reason + "), " + skipped.get() + " tests and configurations skipped";
+    }
+
+    private static void trip(String reason) {
+        if (openReason == null) {
+            openReason = reason;
+            System.err.println("Circuit breaker opened: " + reason);
+        }
+    }
+
+    /**
+     * Requests the base URL with a short timeout.
+     *
+     * @return null when it answers below 400, or the problem
+     */
+    private static String probeUrl(String url) {
+        int timeout = ConfigProperties.get().breakerPreflightTimeout();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(timeout))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(timeout))
+                    .GET()
+                    .build();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 400 ? null : url + " answered HTTP " + status;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return url + " check was interrupted";
+        } catch (Exception e) {
+            return url + " is unreachable: " + signature(e);
+        }
+    }
+
+    /**
+     * Reduces a failure to what identical failures share: its type and the first line of its
+     * message, with numbers (timeouts, ports, session ids) masked.
+     */
+    private static String signature(Throwable throwable) {
+        String message = throwable.getMessage() == null ? "" : throwable.getMessage().strip().lines().findFirst()
+                .orElse("");
+        message = message.replaceAll("\\d+", "#");
+        if (message.length() > 160) {
+            message = message.substring(0, 160) + "...";
+        }
+        return throwable.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+    }
+}
@@ -0,0 +1,63 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Counts and times every WebDriver round trip (driver, element, navigation and options calls)
+ * made through a decorated driver. Each one is attributed to the calling thread's open page
+ * actions ({@link ActionTimings}) and to its command type ({@link CommandTrace}).
+ * Calls that only return a local helper object, such as manage() or navigate(), are not counted.
+ * Navigations also invalidate the thread's {@link ElementCache}s, whether or not timings are enabled.
+ */
+public class CommandListener implements WebDriverListener {
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "logs", "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+    private static final Set<String> NAVIGATIONS = Set.of("get", "Navigation.to", "Navigation.back",
+            "Navigation.forward", "Navigation.refresh");
+    private static final ThreadLocal<long[]> callStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private static void finish(Method method) {
+        if (NAVIGATIONS.contains(commandType(method))) {
+            ElementCache.onNavigation();
+        }
+        if (LOCAL_CALLS.contains(method.getName())) {
+            return;
+        }
+        long nanos = System.nanoTime() - callStart.get()[0];
+        ActionTimings.recordCommand(nanos);
+        CommandTrace.record(commandType(method), nanos);
+    }
+
+    /**
+     * Names a command after its method, qualified for the driver's helper interfaces
+     * (Navigation.to, Options.deleteAllCookies) so that e.g. navigate().back() and a page's
+     * back button are not confused.
+     */
+    private static String commandType(Method method) {
+        Class<?> declaring = method.getDeclaringClass();
+        if (declaring.getEnclosingClass() == WebDriver.class) {
+            return declaring.getSimpleName() + "." + method.getName();
+        }
+        return method.getName();
+    }
+}
@@ -0,0 +1,268 @@
+package com.emergent.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Round-trip counts and times per WebDriver command type (findElement, getText, click,
+ * executeScript, getScreenshotAs...), per test and for the suite, fed by {@link CommandListener}.
+ *
+ * Each test's total is compared with a stored baseline (command.baseline.path). A test is flagged
+ * as a regression when it makes more than command.baseline.tolerance.percent and at least
+ * command.baseline.min.delta more round trips than its baseline. Run with
+ * -Dcommand.baseline.update=true to store the current counts as the new baseline. A test's counts
+ * start with its test method, so setup commands are not attributed to it. Switched on and off with
+ * command.trace.enabled, independently of the page action timings.
+ */
+public class CommandTrace {
+    private static final boolean ENABLED = ConfigProperties.get().commandTraceEnabled();
+    private static final ThreadLocal<Map<String, long[]>> test = ThreadLocal.withInitial(TreeMap::new);
+    private static final Map<String, Totals> suite = new ConcurrentHashMap<>();
+    private static final Map<String, Long> testTotals = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, Long>> testBreakdowns = new ConcurrentHashMap<>();
+    private static final List<String> regressions = new CopyOnWriteArrayList<>();
+    private static volatile Map<String, Long> baseline;
+
+    private static class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    /**
+     * A finished test's commands and how they compare with the baseline.
+     *
+     * @param total      round trips made by the test
+     * @param baseline   round trips in the baseline, or -1 if the test has none
+     * @param regressed  whether the total exceeds the baseline beyond the tolerance
+     * @param rows       per command type: command, count, total ms, average ms
+     */
+    public record TestTrace(long total, long baseline, boolean regressed, List<Object[]> rows) {
+    }
+
+    private CommandTrace() {
+    }
+
+    /**
+     * Checks whether command tracing is enabled.
+     *
+     * @return the value of command.trace.enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Starts a test on the calling thread, dropping the commands its setup made.
+     */
+    public static void startTest() {
+        test.get().clear();
+    }
+
+    /**
+     * Records one command on the calling thread.
+     *
+     * @param command the command type
+     * @param nanos   how long the round trip took
+     */
+    public static void record(String command, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        long[] counters = test.get().computeIfAbsent(command, key -> new long[2]);
+        counters[0]++;
+        counters[1] += nanos;
+        Totals totals = suite.computeIfAbsent(command, key -> new Totals());
+        totals.count.increment();
+        totals.nanos.add(nanos);
+    }
+
+    /**
+     * Ends the current test on the calling thread and compares its round trips with the baseline.
+     *
+     * @param testKey stable name of the test, e.g. LoginTest.testLogin(user@example.com)
+     * @return the test's trace
+     */
+    public static TestTrace finishTest(String testKey) {
+        Map<String, long[]> commands = test.get();
+        List<Object[]> rows = new ArrayList<>();
+        Map<String, Long> breakdown = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<String, long[]> entry : commands.entrySet()) {
+            long count = entry.getValue()[0];
+            long millis = TimeUnit.NANOSECONDS.toMillis(entry.getValue()[1]);
+            rows.add(new Object[] {entry.getKey(), count, millis, count == 0 ? 0 : millis / (double) count});
+            breakdown.put(entry.getKey(), count);
+            total += count;
+        }
+        commands.clear();
+        rows.sort((a, b) -> Long.compare((Long) b[1], (Long) a[1]));
+
+        testTotals.put(testKey, total);
+        testBreakdowns.put(testKey, breakdown);
+        Long expected = baseline().get(testKey);
+        boolean regressed = expected != null && isRegression(total, expected);
+        if (regressed) {
+            regressions.add(testKey + ": " + total + " round trips (baseline " + expected + ")");
+        }
+        return new TestTrace(total, expected == null ? -1 : expected, regressed, rows);
+    }
+
+    /**
+     * Renders a test's trace as an HTML table for the report.
+     *
+     * @param trace the test's trace
+     * @return the table markup, or an empty string if the test made no commands
+     */
+    public static String toHtml(TestTrace trace) {
+        if (trace.rows().isEmpty()) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder("<b>WebDriver round trips: ").append(trace.total());
+        if (trace.baseline() >= 0) {
+            html.append(" (baseline ").append(trace.baseline()).append(')');
+        }
+        html.append("</b><table class='table table-sm'><tr><th>Command</th><th>Count</th><th>Total ms</th>"
+                + "<th>Avg ms</th></tr>");
+        for (Object[] row : trace.rows()) {
+            html.append("<tr><td>").append(row[0]).append("</td><td>").append(row[1]).append("</td><td>")
+                    .append(row[2]).append("</td><td>").append(String.format("%.1f", (Double) row[3]))
+                    .append("</td></tr>");
+        }
+        return html.append("</table>").toString();
+    }
+
+    /**
+     * Renders the suite totals per command type and the flagged regressions for the report.
+     *
+     * @return the markup, or an empty string if no command was traced
+     */
+    public static String suiteHtml() {
+        if (suite.isEmpty()) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder();
+        if (!regressions.isEmpty()) {
+            html.append("<b>Round-trip regressions against the baseline:</b><ul>");
+            for (String regression : regressions) {
+                html.append("<li>").append(regression.replace("<", "&lt;")).append("</li>");
+            }
+            html.append("</ul>");
+        }
+        html.append("<table class='table table-sm'><tr><th>Command</th><th>Count</th><th>Total ms</th></tr>");
+        for (Map.Entry<String, Map<String, Object>> entry : suiteSummary().entrySet()) {
+            html.append("<tr><td>").append(entry.getKey()).append("</td><td>").append(entry.getValue().get("count"))
+                    .append("</td><td>").append(entry.getValue().get("totalMillis")).append("</td></tr>");
+        }
+        return html.append("</table>").toString();
+    }
+
+    /**
+     * Gets the tests flagged as regressions so far.
+     *
+     * @return one line per flagged test
+     */
+    public static List<String> getRegressions() {
+        return List.copyOf(regressions);
+    }
+
+    /**
+     * Writes command-trace.json to metrics.path and, with command.baseline.update=true, replaces
+     * the baseline with this run's counts.
+     *
+     * @return the written trace file, or null if nothing was traced or writing failed
+     */
+    public static Path write() {
+        if (testTotals.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigProperties.get().metricsPath());
+        try {
+            Files.createDirectories(directory);
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("commands", suiteSummary());
+            document.put("tests", new TreeMap<>(testTotals));
+            document.put("breakdowns", new TreeMap<>(testBreakdowns));
+            document.put("regressions", getRegressions());
+            Path file = directory.resolve("command-trace.json");
+            Files.writeString(file, Json.toJson(document), StandardCharsets.UTF_8);
+
+            if (ConfigProperties.get().commandBaselineUpdate()) {
+                Map<String, Long> updated = new TreeMap<>(baseline());
+                updated.putAll(testTotals);
+                Path baselineFile = baselinePath();
+                if (baselineFile.getParent() != null) {
+                    Files.createDirectories(baselineFile.getParent());
+                }
+                Files.writeString(baselineFile, Json.toJson(updated), StandardCharsets.UTF_8);
+                System.out.println("Command baseline updated: " + baselineFile);
+            }
+            return file;
+        } catch (IOException e) {
+            System.err.println("Failed to write command trace: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Map<String, Object>> suiteSummary() {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        suite.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().count.sum(), a.getValue().count.sum()))
+                .forEach(entry -> {
+                    Map<String, Object> command = new LinkedHashMap<>();
+                    command.put("count", entry.getValue().count.sum());
+                    command.put("totalMillis", TimeUnit.NANOSECONDS.toMillis(entry.getValue().nanos.sum()));
+                    summary.put(entry.getKey(), command);
+                });
+        return summary;
+    }
+
+    private static boolean isRegression(long total, long expected) {
+        double tolerance = ConfigProperties.get().commandBaselineTolerancePercent();
+        long minDelta = ConfigProperties.get().commandBaselineMinDelta();
+        return total - expected >= minDelta && total > expected * (1 + tolerance / 100);
+    }
+
+    private static Path baselinePath() {
+        return Paths.get(ConfigProperties.get().commandBaselinePath());
+    }
+
+    /**
+     * Loads the baseline once: test key to expected round trips.
+     */
+    private static Map<String, Long> baseline() {
+        Map<String, Long> loaded = baseline;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (CommandTrace.class) {
+            if (baseline == null) {
+                Map<String, Long> values = new TreeMap<>();
+                Path file = baselinePath();
+                if (Files.exists(file)) {
+                    try {
+                        Map<?, ?> stored = (Map<?, ?>) Json.parse(Files.readString(file, StandardCharsets.UTF_8));
+                        for (Map.Entry<?, ?> entry : stored.entrySet()) {
+                            values.put(String.valueOf(entry.getKey()), ((Number) entry.getValue()).longValue());
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        System.err.println("Ignoring unreadable command baseline " + file + ": " + e.getMessage());
+                    }
+                }
+                baseline = Map.copyOf(values);
+            }
+            return baseline;
+        }
+    }
+}
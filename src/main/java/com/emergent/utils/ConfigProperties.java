@@ -2,44 +2,120 @@ package com.emergent.utils;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * Utility class to handle configuration properties for the test framework.
- * Loads properties from config.properties file.
+ * Loads config.properties from the classpath (falling back to the source tree), applies the
+ * active environment profile, then environment variable and system property overrides, and
+ * exposes the result as an immutable {@link ConfigSnapshot}.
+ *
+ * Precedence, lowest to highest: config.properties, profile keys (e.g. staging.url,
+ * staging.default.timeout), environment variables (QA_DEFAULT_TIMEOUT), system properties (-Ddefault.timeout).
+ * Environment variables carry the QA_ prefix so that common ones such as BROWSER or ENV do not
+ * change the configuration by accident. The profile is chosen with the env property (-Denv=staging
+ * or QA_ENV=staging). Page budgets (perf.budget.LoginPage.lcp) may also be set as system
+ * properties when config.properties has no entry for them.
  */
 public class ConfigProperties {
-    private static Properties properties;
+    private static final String CONFIG_RESOURCE = "config.properties";
     private static final String CONFIG_FILE_PATH = "src/main/resources/config.properties";
-    
-    static {
-        try {
-            loadProperties();
+    private static final String ENVIRONMENT_PREFIX = "QA_";
+    private static final String BUDGET_PREFIX = "perf.budget.";
+
+    private static volatile ConfigSnapshot snapshot = load();
+
+    /**
+     * Gets the current configuration snapshot
+     * @return the immutable configuration
+     */
+    public static ConfigSnapshot get() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the snapshot, picking up system properties set since the last load
+     */
+    public static void reload() {
+        snapshot = load();
+    }
+
+    /**
+     * Loads and resolves all configuration sources
+     * @return the resolved snapshot
+     */
+    private static ConfigSnapshot load() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = openConfig()) {
+            properties.load(inputStream);
         } catch (IOException e) {
             System.err.println("Failed to load config.properties file: " + e.getMessage());
         }
+
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+
+        String environment = override("env", values.getOrDefault("env", "")).trim().toLowerCase(Locale.ROOT);
+        if (!environment.isEmpty()) {
+            String prefix = environment + ".";
+            for (String key : properties.stringPropertyNames()) {
+                if (key.startsWith(prefix)) {
+                    String profileKey = key.substring(prefix.length());
+                    values.put(profileKey.equals("url") ? "base.url" : profileKey, properties.getProperty(key));
+                }
+            }
+        }
+
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            entry.setValue(override(entry.getKey(), entry.getValue()));
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(BUDGET_PREFIX)) {
+                values.put(key, System.getProperty(key));
+            }
+        }
+        values.put("env", environment);
+        return ConfigSnapshot.of(environment, values);
     }
-    
+
     /**
-     * Loads properties from the config file
-     * @throws IOException if the file cannot be read
+     * Opens config.properties from the classpath, or from the source tree when running from an IDE
+     * @return the config stream
+     * @throws IOException if neither location can be read
      */
-    private static void loadProperties() throws IOException {
-        properties = new Properties();
-        FileInputStream inputStream = new FileInputStream(CONFIG_FILE_PATH);
-        properties.load(inputStream);
-        inputStream.close();
+    private static InputStream openConfig() throws IOException {
+        InputStream inputStream = ConfigProperties.class.getClassLoader().getResourceAsStream(CONFIG_RESOURCE);
+        return inputStream != null ? inputStream : new FileInputStream(CONFIG_FILE_PATH);
     }
-    
+
     /**
-     * Gets a property value by key
+     * Applies the environment variable and system property overrides for a key
+     * @param key the property key
+     * @param value the value from the config file
+     * @return the overridden value
+     */
+    private static String override(String key, String value) {
+        String fromEnvironment = System.getenv(ENVIRONMENT_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        return System.getProperty(key, fromEnvironment != null ? fromEnvironment : value);
+    }
+
+    /**
+     * Gets a property value by key. System properties are honoured even for keys that are
+     * not in config.properties.
      * @param key the property key
      * @return the property value
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        String value = snapshot.values().get(key);
+        return value != null ? value : System.getProperty(key);
     }
-    
+
     /**
      * Gets a property value by key with a default value if not found
      * @param key the property key
@@ -47,54 +123,63 @@ public class ConfigProperties {
      * @return the property value or default value
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = snapshot.values().get(key);
+        return value != null ? value : System.getProperty(key, defaultValue);
     }
-    
+
     /**
      * Gets the base URL for the application
      * @return the base URL
      */
     public static String getBaseUrl() {
-        return getProperty("base.url", "https://emergent.sh");
+        return snapshot.baseUrl();
     }
-    
+
+    /**
+     * Gets the URL of the logged-in application (dashboard and projects)
+     * @return the application URL
+     */
+    public static String getAppUrl() {
+        return snapshot.appUrl();
+    }
+
     /**
      * Gets the browser to use for tests
      * @return the browser name
      */
     public static String getBrowser() {
-        return getProperty("browser", "chrome");
+        return snapshot.browser();
     }
-    
+
     /**
      * Checks if tests should run in headless mode
      * @return true if headless mode is enabled
      */
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless", "false"));
+        return snapshot.headless();
     }
-    
+
     /**
      * Gets the default timeout in seconds
      * @return the timeout in seconds
      */
     public static int getDefaultTimeout() {
-        return Integer.parseInt(getProperty("default.timeout", "30"));
+        return snapshot.defaultTimeout();
     }
-    
+
     /**
      * Gets the test username
      * @return the test username
      */
     public static String getTestUsername() {
-        return getProperty("test.username", "test@example.com");
+        return snapshot.testUsername();
     }
-    
+
     /**
      * Gets the test password
      * @return the test password
      */
     public static String getTestPassword() {
-        return getProperty("test.password", "Password123!");
+        return snapshot.testPassword();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,282 @@
+package com.emergent.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, fully resolved view of the framework configuration.
+ * Built once by {@link ConfigProperties} after all sources and overrides have been applied,
+ * so hot paths read plain fields instead of looking up and parsing strings on every call.
+ *
+ * @param environment                     active profile (dev, staging, prod) or empty for none
+ * @param baseUrl                         base URL of the public site
+ * @param appUrl                          URL of the logged-in application
+ * @param browser                         browser name
+ * @param headless                        whether browsers run headless
+ * @param defaultTimeout                  default wait timeout in seconds
+ * @param implicitWait                    implicit wait in seconds
+ * @param pageLoadTimeout                 page load timeout in seconds
+ * @param scriptTimeout                   script timeout in seconds
+ * @param quiescenceQuietMillis           DOM quiet period for page stability waits
+ * @param quiescenceTimeout               timeout for page stability waits in seconds
+ * @param testUsername                    default test account email
+ * @param testPassword                    default test account password
+ * @param screenshotOnFailure             whether failing tests take a screenshot
+ * @param screenshotPath                  directory screenshots are written to
+ * @param breakerEnabled                  whether the circuit breaker can skip the rest of the suite
+ * @param breakerFailureThreshold         identical failures in a row that open the circuit breaker
+ * @param breakerPreflightTimeout         timeout of the pre-flight checks in seconds
+ * @param aiResponseStableMillis          time an AI response must stay unchanged to count as complete
+ * @param aiResponsePollMaxMillis         longest interval between two polls of a streaming AI response
+ * @param retryEnabled                    whether tests failing for an infrastructure reason are retried
+ * @param retryMaxAttempts                retries of a single test
+ * @param retryBudget                     retries of the whole suite
+ * @param metricsPath                     directory machine-readable metrics are written to
+ * @param waitPollInitialMillis           first polling interval of waits
+ * @param waitPollMultiplier              factor the polling interval grows by after each poll
+ * @param waitPollMaxMillis               cap of the polling interval
+ * @param elementCacheEnabled             whether page objects reuse elements they already found
+ * @param instrumentationEnabled          whether page action timings are collected
+ * @param commandTraceEnabled             whether WebDriver round trips are traced
+ * @param commandBaselinePath             file with the expected round trips per test
+ * @param commandBaselineTolerancePercent growth over the baseline that is a regression
+ * @param commandBaselineMinDelta         fewest extra round trips that are a regression
+ * @param commandBaselineUpdate           whether this run's round trips replace the baseline
+ * @param perfEnabled                     whether page load timings are collected
+ * @param perfBudgetEnforce               whether budget violations fail the test
+ * @param perfBudgets                     performance budgets by metric or Page.metric; see {@link #perfBudget}
+ * @param poolSize                        maximum number of pooled browsers
+ * @param poolMaxIdleSeconds              idle time after which a pooled browser is quit
+ * @param poolCheckoutTimeoutSeconds      how long a checkout waits for a free browser
+ * @param poolPrewarm                     whether browsers are started when the suite starts
+ * @param poolPrewarmCount                number of browsers started when the suite starts
+ * @param poolCleanupPath                 page loaded on each origin to clear a returned browser
+ * @param sessionCacheEnabled             whether logged-in sessions are replayed
+ * @param sessionCacheTtlMinutes          age after which a cached session is not replayed
+ * @param sessionReplayCheckTimeout       timeout for checking a replayed session in seconds
+ * @param fixturePoolEnabled              whether empty projects are created in advance
+ * @param fixturePoolSize                 number of projects kept ready
+ * @param fixtureLeaseTimeoutSeconds      how long a test waits for a ready project
+ * @param shardCount                      number of shards, 1 when not sharded
+ * @param shardIndex                      index of this shard, from 0
+ * @param shardDurationsPath              file with the moving-average test durations
+ * @param shardDurationsWeight            weight of a new run in the moving average
+ * @param shardDurationsUpdate            whether this run is folded into the duration history
+ * @param shardDefaultDurationMillis      estimate used when there is no history
+ * @param shardHistoryPath                run log with durations and outcomes per run
+ * @param shardHistoryMaxRuns             runs kept in the run log
+ * @param shardMergeOutput                directory merged shard results go to
+ * @param scheduleLongestFirst            whether the longest tests start first
+ * @param selectionEnabled                whether only tests affected by changes run
+ * @param selectionBase                   git revision changes are compared with
+ * @param selectionAlways                 test classes that always run
+ * @param selectionIsolatedPackages       packages whose classes do not reach each other
+ * @param selectionFullSuitePaths         paths whose change runs the whole suite
+ * @param reportPath                      directory reports are written to
+ * @param reportFlushIntervalSeconds      interval of report flushes while tests run
+ * @param reportCloseTimeoutSeconds       how long closing waits for pending report output
+ * @param screenshotMaxWidth              width screenshots are scaled down to, 0 to keep it
+ * @param screenshotPalette               whether screenshots are reduced to a palette
+ * @param values                          every resolved property, for keys without a typed field
+ */
+public record ConfigSnapshot(
+        String environment,
+        String baseUrl,
+        String appUrl,
+        String browser,
+        boolean headless,
+        int defaultTimeout,
+        int implicitWait,
+        int pageLoadTimeout,
+        int scriptTimeout,
+        long quiescenceQuietMillis,
+        int quiescenceTimeout,
+        String testUsername,
+        String testPassword,
+        boolean screenshotOnFailure,
+        String screenshotPath,
+        boolean breakerEnabled,
+        int breakerFailureThreshold,
+        int breakerPreflightTimeout,
+        long aiResponseStableMillis,
+        long aiResponsePollMaxMillis,
+        boolean retryEnabled,
+        int retryMaxAttempts,
+        int retryBudget,
+        String metricsPath,
+        long waitPollInitialMillis,
+        double waitPollMultiplier,
+        long waitPollMaxMillis,
+        boolean elementCacheEnabled,
+        boolean instrumentationEnabled,
+        boolean commandTraceEnabled,
+        String commandBaselinePath,
+        double commandBaselineTolerancePercent,
+        long commandBaselineMinDelta,
+        boolean commandBaselineUpdate,
+        boolean perfEnabled,
+        boolean perfBudgetEnforce,
+        Map<String, Double> perfBudgets,
+        int poolSize,
+        long poolMaxIdleSeconds,
+        long poolCheckoutTimeoutSeconds,
+        boolean poolPrewarm,
+        int poolPrewarmCount,
+        String poolCleanupPath,
+        boolean sessionCacheEnabled,
+        long sessionCacheTtlMinutes,
+        int sessionReplayCheckTimeout,
+        boolean fixturePoolEnabled,
+        int fixturePoolSize,
+        long fixtureLeaseTimeoutSeconds,
+        int shardCount,
+        int shardIndex,
+        String shardDurationsPath,
+        double shardDurationsWeight,
+        boolean shardDurationsUpdate,
+        long shardDefaultDurationMillis,
+        String shardHistoryPath,
+        int shardHistoryMaxRuns,
+        String shardMergeOutput,
+        boolean scheduleLongestFirst,
+        boolean selectionEnabled,
+        String selectionBase,
+        List<String> selectionAlways,
+        List<String> selectionIsolatedPackages,
+        List<String> selectionFullSuitePaths,
+        String reportPath,
+        long reportFlushIntervalSeconds,
+        long reportCloseTimeoutSeconds,
+        int screenshotMaxWidth,
+        boolean screenshotPalette,
+        Map<String, String> values) {
+
+    /**
+     * Builds the typed snapshot from resolved property values.
+     *
+     * @param environment the active profile
+     * @param values      the resolved properties
+     * @return the snapshot
+     */
+    static ConfigSnapshot of(String environment, Map<String, String> values) {
+        Map<String, String> copy = Map.copyOf(values);
+        return new ConfigSnapshot(
+                environment,
+                copy.getOrDefault("base.url", "https://emergent.sh"),
+                copy.getOrDefault("app.url", "https://app.emergent.sh"),
+                copy.getOrDefault("browser", "chrome"),
+                Boolean.parseBoolean(copy.getOrDefault("headless", "false")),
+                Integer.parseInt(copy.getOrDefault("default.timeout", "30")),
+                Integer.parseInt(copy.getOrDefault("implicit.wait", "10")),
+                Integer.parseInt(copy.getOrDefault("page.load.timeout", "60")),
+                Integer.parseInt(copy.getOrDefault("script.timeout", "30")),
+                Long.parseLong(copy.getOrDefault("quiescence.quiet.millis", "500")),
+                Integer.parseInt(copy.getOrDefault("quiescence.timeout", "10")),
+                copy.getOrDefault("test.username", "test@example.com"),
+                copy.getOrDefault("test.password", "Password123!"),
+                Boolean.parseBoolean(copy.getOrDefault("take.screenshot.on.failure", "true")),
+                copy.getOrDefault("screenshot.path", Constants.SCREENSHOT_PATH),
+                Boolean.parseBoolean(copy.getOrDefault("breaker.enabled", "true")),
+                Integer.parseInt(copy.getOrDefault("breaker.failure.threshold", "5")),
+                Integer.parseInt(copy.getOrDefault("breaker.preflight.timeout.seconds", "10")),
+                Long.parseLong(copy.getOrDefault("ai.response.stable.millis", "1500")),
+                Long.parseLong(copy.getOrDefault("ai.response.poll.max.millis", "1000")),
+                Boolean.parseBoolean(copy.getOrDefault("retry.enabled", "true")),
+                Integer.parseInt(copy.getOrDefault("retry.max.attempts", "1")),
+                Integer.parseInt(copy.getOrDefault("retry.budget", "10")),
+                copy.getOrDefault("metrics.path", "target/metrics"),
+                Long.parseLong(copy.getOrDefault("wait.poll.initial.millis", "50")),
+                Double.parseDouble(copy.getOrDefault("wait.poll.multiplier", "2")),
+                Long.parseLong(copy.getOrDefault("wait.poll.max.millis", "500")),
+                Boolean.parseBoolean(copy.getOrDefault("element.cache.enabled", "true")),
+                Boolean.parseBoolean(copy.getOrDefault("instrumentation.enabled", "true")),
+                Boolean.parseBoolean(copy.getOrDefault("command.trace.enabled", "true")),
+                copy.getOrDefault("command.baseline.path", "command-baseline.json"),
+                Double.parseDouble(copy.getOrDefault("command.baseline.tolerance.percent", "20")),
+                Long.parseLong(copy.getOrDefault("command.baseline.min.delta", "5")),
+                Boolean.parseBoolean(copy.getOrDefault("command.baseline.update", "false")),
+                Boolean.parseBoolean(copy.getOrDefault("perf.enabled", "true")),
+                Boolean.parseBoolean(copy.getOrDefault("perf.budget.enforce", "true")),
+                budgets(copy),
+                Integer.parseInt(copy.getOrDefault("pool.size", "3")),
+                Long.parseLong(copy.getOrDefault("pool.max.idle.seconds", "300")),
+                Long.parseLong(copy.getOrDefault("pool.checkout.timeout.seconds", "300")),
+                Boolean.parseBoolean(copy.getOrDefault("pool.prewarm", "true")),
+                Integer.parseInt(copy.getOrDefault("pool.prewarm.count", copy.getOrDefault("pool.size", "3"))),
+                copy.getOrDefault("pool.cleanup.path", "/robots.txt"),
+                Boolean.parseBoolean(copy.getOrDefault("session.cache.enabled", "true")),
+                Long.parseLong(copy.getOrDefault("session.cache.ttl.minutes", "30")),
+                Integer.parseInt(copy.getOrDefault("session.replay.check.timeout", "5")),
+                Boolean.parseBoolean(copy.getOrDefault("fixture.pool.enabled", "true")),
+                Integer.parseInt(copy.getOrDefault("fixture.pool.size", "2")),
+                Long.parseLong(copy.getOrDefault("fixture.lease.timeout.seconds", "5")),
+                Integer.parseInt(copy.getOrDefault("shard.count", "1")),
+                Integer.parseInt(copy.getOrDefault("shard.index", "0")),
+                copy.getOrDefault("shard.durations.path", "test-durations.json"),
+                Double.parseDouble(copy.getOrDefault("shard.durations.weight", "0.3")),
+                Boolean.parseBoolean(copy.getOrDefault("shard.durations.update", "false")),
+                Long.parseLong(copy.getOrDefault("shard.default.duration.millis", "30000")),
+                copy.getOrDefault("shard.history.path", "test-history.jsonl"),
+                Integer.parseInt(copy.getOrDefault("shard.history.max.runs", "100")),
+                copy.getOrDefault("shard.merge.output", "target/shards/merged"),
+                Boolean.parseBoolean(copy.getOrDefault("schedule.longest.first", "true")),
+                Boolean.parseBoolean(copy.getOrDefault("selection.enabled", "false")),
+                copy.getOrDefault("selection.base", "HEAD"),
+                list(copy, "selection.always"),
+                list(copy, "selection.isolated.packages"),
+                list(copy, "selection.full.suite.paths"),
+                copy.getOrDefault("report.path", Constants.REPORT_PATH),
+                Long.parseLong(copy.getOrDefault("report.flush.interval.seconds", "30")),
+                Long.parseLong(copy.getOrDefault("report.close.timeout.seconds", "60")),
+                Integer.parseInt(copy.getOrDefault("screenshot.max.width", "0")),
+                Boolean.parseBoolean(copy.getOrDefault("screenshot.palette", "false")),
+                copy);
+    }
+
+    /**
+     * Gets the performance budget of a metric on a page: perf.budget.&lt;Page&gt;.&lt;metric&gt;,
+     * falling back to perf.budget.&lt;metric&gt;.
+     *
+     * @param page   the page name, e.g. LoginPage
+     * @param metric the metric, e.g. lcp
+     * @return the budget, or 0 when there is none
+     */
+    public double perfBudget(String page, String metric) {
+        Double budget = perfBudgets.get(page + "." + metric);
+        return budget != null ? budget : perfBudgets.getOrDefault(metric, 0.0);
+    }
+
+    /**
+     * Gets a raw property value.
+     *
+     * @param key          the property key
+     * @param defaultValue value returned when the key is not set
+     * @return the property value or the default
+     */
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Parses every perf.budget.* key except perf.budget.enforce, without the prefix.
+     */
+    private static Map<String, Double> budgets(Map<String, String> values) {
+        Map<String, Double> budgets = new HashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getKey().startsWith("perf.budget.") && !entry.getKey().equals("perf.budget.enforce")) {
+                budgets.put(entry.getKey().substring("perf.budget.".length()), Double.parseDouble(entry.getValue()));
+            }
+        }
+        return Map.copyOf(budgets);
+    }
+
+    /**
+     * Splits a comma-separated property into its trimmed, non-empty entries.
+     */
+    private static List<String> list(Map<String, String> values, String key) {
+        return Arrays.stream(values.getOrDefault(key, "").split(","))
+                .map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+}
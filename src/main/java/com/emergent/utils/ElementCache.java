@@ -0,0 +1,226 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per page object cache of resolved elements, keyed by locator.
+ *
+ * A cached element is handed back while it is still attached, which is checked by the
+ * isDisplayed/isEnabled calls the wait needs anyway, so a hit saves the findElement round trip.
+ * A detached element throws StaleElementReferenceException on that check and is re-resolved
+ * through the normal wait. Elements handed out re-resolve themselves once if they go stale
+ * between the check and their use. Every navigation on the thread (driver.get and
+ * navigate().to/back/forward/refresh, seen by {@link CommandListener}, which WebDriverFactory installs
+ * whenever the cache is enabled) invalidates all caches of that thread, so no round trip is spent
+ * probing elements of a page that is gone.
+ * With element.cache.enabled=false every lookup goes straight to the wait.
+ */
+public class ElementCache {
+    private static final boolean ENABLED = ConfigProperties.get().elementCacheEnabled();
+    private static final ThreadLocal<long[]> navigations = ThreadLocal.withInitial(() -> new long[1]);
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder stale = new LongAdder();
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private long epoch = -1;
+
+    /**
+     * Creates an empty cache for a page object.
+     *
+     * @param driver the page's WebDriver
+     */
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Checks whether element caching is enabled.
+     *
+     * @return the value of element.cache.enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Invalidates the caches of the calling thread. Called for every navigation command.
+     */
+    public static void onNavigation() {
+        navigations.get()[0]++;
+    }
+
+    /**
+     * Gets a clickable element, from the cache if it is still attached and clickable.
+     *
+     * @param locator the element locator
+     * @param timeout the timeout in seconds when the element has to be resolved
+     * @return the clickable element
+     */
+    public WebElement clickable(By locator, int timeout) {
+        WebElement cached = cached(locator);
+        if (cached != null && probe(locator, cached, true)) {
+            return cached;
+        }
+        return store(locator, TestUtils.waitForElementClickable(driver, locator, timeout), timeout);
+    }
+
+    /**
+     * Gets a visible element, from the cache if it is still attached and visible.
+     *
+     * @param locator the element locator
+     * @param timeout the timeout in seconds when the element has to be resolved
+     * @return the visible element
+     */
+    public WebElement visible(By locator, int timeout) {
+        WebElement cached = cached(locator);
+        if (cached != null && probe(locator, cached, false)) {
+            return cached;
+        }
+        return store(locator, TestUtils.waitForElementVisible(driver, locator, timeout), timeout);
+    }
+
+    /**
+     * Waits until every locator is clickable in one round trip per poll and caches the elements found.
+     *
+     * @param timeout  the timeout in seconds
+     * @param locators the element locators
+     */
+    public void waitForAllClickable(int timeout, By... locators) {
+        List<WebElement> found = TestUtils.waitForAllClickable(driver, timeout, locators);
+        if (!ENABLED) {
+            return;
+        }
+        for (int i = 0; i < locators.length && i < found.size(); i++) {
+            if (found.get(i) != null) {
+                store(locators[i], found.get(i), timeout);
+            }
+        }
+    }
+
+    /**
+     * Drops every cached element of this page.
+     */
+    public void invalidate() {
+        elements.clear();
+    }
+
+    /**
+     * Summarises cache use across all page objects.
+     *
+     * @return hits, misses and stale re-resolutions
+     */
+    public static String summary() {
+        return String.format("Element cache: %d hits, %d misses, %d stale re-resolutions",
+                hits.sum(), misses.sum(), stale.sum());
+    }
+
+    private WebElement cached(By locator) {
+        if (!ENABLED) {
+            return null;
+        }
+        long current = navigations.get()[0];
+        if (epoch != current) {
+            elements.clear();
+            epoch = current;
+        }
+        WebElement element = elements.get(locator);
+        if (element == null) {
+            misses.increment();
+        }
+        return element;
+    }
+
+    /**
+     * Checks a cached element; a stale or no longer ready element is dropped from the cache.
+     */
+    private boolean probe(By locator, WebElement element, boolean clickable) {
+        WebElement resolved = ((WrapsElement) element).getWrappedElement();
+        try {
+            if (resolved.isDisplayed() && (!clickable || resolved.isEnabled())) {
+                hits.increment();
+                return true;
+            }
+            misses.increment();
+        } catch (StaleElementReferenceException e) {
+            stale.increment();
+        }
+        elements.remove(locator);
+        return false;
+    }
+
+    private WebElement store(By locator, WebElement element, int timeout) {
+        if (!ENABLED) {
+            return element;
+        }
+        WebElement handle = (WebElement) Proxy.newProxyInstance(ElementCache.class.getClassLoader(),
+                new Class<?>[] {WebElement.class, WrapsElement.class},
+                new Reresolving(driver, locator, element, timeout));
+        elements.put(locator, handle);
+        epoch = navigations.get()[0];
+        return handle;
+    }
+
+    /**
+     * Forwards calls to the resolved element and, if it has gone stale, resolves the locator
+     * again and retries the call once. The cache probes the resolved element directly, so that
+     * it sees staleness.
+     */
+    private static final class Reresolving implements InvocationHandler {
+        private final WebDriver driver;
+        private final By locator;
+        private final int timeout;
+        private WebElement element;
+
+        private Reresolving(WebDriver driver, By locator, WebElement element, int timeout) {
+            this.driver = driver;
+            this.locator = locator;
+            this.element = element;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getWrappedElement":
+                    return element;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached " + locator + " -> " + element;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            stale.increment();
+            element = TestUtils.waitForElementVisible(driver, locator, timeout);
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
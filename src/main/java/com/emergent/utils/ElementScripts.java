@@ -0,0 +1,157 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JavaScript snippets that resolve Selenium locators inside the browser, so several
+ * locators can be evaluated in a single executeScript round trip.
+ */
+class ElementScripts {
+
+    /**
+     * Defines findAll(locator), isClickable(element) and textOf(element) for the scripts below.
+     * Locators are passed as {using, value} maps, the same form WebDriver sends over the wire.
+     */
+    static final String FUNCTIONS =
+            "function findAll(l) {" +
+            "  if (l.using === 'xpath') {" +
+            "    var r = document.evaluate(l.value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    var found = [];" +
+            "    for (var i = 0; i < r.snapshotLength; i++) { found.push(r.snapshotItem(i)); }" +
+            "    return found;" +
+            "  }" +
+            "  if (l.using === 'css selector') { return Array.prototype.slice.call(document.querySelectorAll(l.value)); }" +
+            "  if (l.using === 'tag name') { return Array.prototype.slice.call(document.getElementsByTagName(l.value)); }" +
+            "  if (l.using === 'link text' || l.using === 'partial link text') {" +
+            "    return Array.prototype.filter.call(document.getElementsByTagName('a'), function(a) {" +
+            "      var t = (a.innerText || '').trim();" +
+            "      return l.using === 'link text' ? t === l.value : t.indexOf(l.value) >= 0;" +
+            "    });" +
+            "  }" +
+            "  return [];" +
+            "}" +
+            "function isClickable(e) {" +
+            "  if (!e || e.disabled) { return false; }" +
+            "  var style = window.getComputedStyle(e);" +
+            "  return style.visibility !== 'hidden' && style.display !== 'none'" +
+            "    && (e.offsetWidth > 0 || e.offsetHeight > 0 || e.getClientRects().length > 0);" +
+            "}" +
+            "function textOf(e) {" +
+            "  return (e.innerText !== undefined ? e.innerText : e.textContent || '').trim();" +
+            "}";
+
+    /**
+     * Returns [indexes of the locators in arguments[0] whose first match is missing or not clickable,
+     * first match of every locator].
+     */
+    static final String MISSING_CLICKABLE = FUNCTIONS +
+            "var locators = arguments[0], missing = [], first = [];" +
+            "for (var i = 0; i < locators.length; i++) {" +
+            "  first.push(findAll(locators[i])[0] || null);" +
+            "  if (!isClickable(first[i])) { missing.push(i); }" +
+            "}" +
+            "return [missing, missing.length ? [] : first];";
+
+    /**
+     * Returns the trimmed visible text of every element matched by the locator in arguments[0].
+     */
+    static final String TEXTS = FUNCTIONS +
+            "return findAll(arguments[0]).map(textOf);";
+
+    /**
+     * Returns, for every element matched by the locator in arguments[0], a map holding its
+     * text under "text" plus the value of each attribute named in arguments[1].
+     */
+    static final String ELEMENT_DATA = FUNCTIONS +
+            "var attributes = arguments[1];" +
+            "return findAll(arguments[0]).map(function(e) {" +
+            "  var row = {text: textOf(e)};" +
+            "  for (var i = 0; i < attributes.length; i++) { row[attributes[i]] = e.getAttribute(attributes[i]); }" +
+            "  return row;" +
+            "});";
+
+    private ElementScripts() {
+    }
+
+    /**
+     * Converts a locator into the {using, value} form understood by the scripts.
+     *
+     * @param locator the Selenium locator
+     * @return a map that can be passed as a script argument
+     */
+    static Map<String, Object> toScriptLocator(By locator) {
+        String using;
+        Object value;
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            using = parameters.using();
+            value = parameters.value();
+        } else {
+            // Fall back to the "By.xpath: //div" form of toString()
+            String description = locator.toString();
+            int separator = description.indexOf(": ");
+            if (!description.startsWith("By.") || separator < 0) {
+                throw new IllegalArgumentException("Locator cannot be evaluated in the browser: " + description);
+            }
+            String strategy = description.substring(3, separator);
+            String raw = description.substring(separator + 2);
+            switch (strategy) {
+                case "id":
+                    using = "css selector";
+                    value = "[id='" + raw.replace("'", "\\'") + "']";
+                    break;
+                case "name":
+                    using = "css selector";
+                    value = "[name='" + raw.replace("'", "\\'") + "']";
+                    break;
+                case "className":
+                    using = "css selector";
+                    value = "." + raw;
+                    break;
+                default:
+                    using = toWireStrategy(strategy);
+                    value = raw;
+            }
+        }
+        Map<String, Object> scriptLocator = new HashMap<>();
+        scriptLocator.put("using", using);
+        scriptLocator.put("value", value);
+        return scriptLocator;
+    }
+
+    /**
+     * Converts several locators into script arguments.
+     *
+     * @param locators the Selenium locators
+     * @return a list that can be passed as a script argument
+     */
+    static List<Map<String, Object>> toScriptLocators(By... locators) {
+        List<Map<String, Object>> scriptLocators = new ArrayList<>();
+        for (By locator : locators) {
+            scriptLocators.add(toScriptLocator(locator));
+        }
+        return scriptLocators;
+    }
+
+    private static String toWireStrategy(String strategy) {
+        switch (strategy) {
+            case "xpath":
+                return "xpath";
+            case "cssSelector":
+                return "css selector";
+            case "tagName":
+                return "tag name";
+            case "linkText":
+                return "link text";
+            case "partialLinkText":
+                return "partial link text";
+            default:
+                throw new IllegalArgumentException("Unsupported locator strategy for in-browser evaluation: " + strategy);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.emergent.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in the style of HdrHistogram.
+ * Values below 128 get one bucket each; above that every power of two is split into 64 linear
+ * sub-buckets, so any recorded value is reported within 1.6% of its true value while the whole
+ * range up to 2^40 ms fits in a few thousand counters. Recording is a single atomic increment,
+ * so parallel test threads never contend on a lock.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * HALF_SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value, e.g. a latency in milliseconds
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(indexOf(clamped));
+        totalCount.increment();
+        sum.add(clamped);
+        min.accumulateAndGet(clamped, Math::min);
+        max.accumulateAndGet(clamped, Math::max);
+    }
+
+    /**
+     * Adds the counts of another histogram, e.g. one loaded from an earlier run.
+     *
+     * @param buckets [bucket index, count] pairs as produced by {@link #buckets()}
+     * @param sumOfValues sum of the values behind the buckets
+     * @param minValue smallest value behind the buckets
+     * @param maxValue largest value behind the buckets
+     */
+    public void add(List<long[]> buckets, long sumOfValues, long minValue, long maxValue) {
+        for (long[] bucket : buckets) {
+            if (bucket[0] >= 0 && bucket[0] < BUCKET_COUNT && bucket[1] > 0) {
+                counts.addAndGet((int) bucket[0], bucket[1]);
+                totalCount.add(bucket[1]);
+            }
+        }
+        sum.add(sumOfValues);
+        min.accumulateAndGet(minValue, Math::min);
+        max.accumulateAndGet(maxValue, Math::max);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the count
+     */
+    public long count() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Gets the value at a percentile: the smallest recorded value that at least that share of
+     * values are less than or equal to, up to the histogram's precision.
+     *
+     * @param percentile the percentile, 0 to 100
+     * @return the value, or 0 if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueIn(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Gets the count, min, p50, p90, p99, max and mean of the recorded values.
+     *
+     * @return the summary, in that order
+     */
+    public Map<String, Object> summary() {
+        long total = count();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", total);
+        summary.put("min", total == 0 ? 0 : min.get());
+        summary.put("p50", valueAtPercentile(50));
+        summary.put("p90", valueAtPercentile(90));
+        summary.put("p99", valueAtPercentile(99));
+        summary.put("max", max.get());
+        summary.put("mean", total == 0 ? 0 : sum.sum() / total);
+        return summary;
+    }
+
+    /**
+     * Gets the non-empty buckets, so the histogram can be stored and merged later.
+     *
+     * @return [bucket index, count] pairs
+     */
+    public List<long[]> buckets() {
+        List<long[]> buckets = new ArrayList<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                buckets.add(new long[] {i, count});
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Gets the sum of the recorded values.
+     *
+     * @return the sum
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     *
+     * @return the minimum, or 0 if nothing was recorded
+     */
+    public long min() {
+        return count() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return the maximum
+     */
+    public long max() {
+        return max.get();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT + subBucket - HALF_SUB_BUCKET_COUNT;
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int exponent = offset / HALF_SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+        long subBucket = offset % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+}
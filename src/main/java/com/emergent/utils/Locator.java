@@ -0,0 +1,381 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A locator declared by intent (element or role, id, test id, class, attribute, text) and compiled
+ * to the fastest strategy that matches the same elements: By.id when only an id is given,
+ * otherwise a CSS selector, and XPath only when text has to be matched.
+ *
+ * Example: {@code Locator.role("button").withText("Deploy").toBy()}.
+ *
+ * Locators that need XPath are collected by {@link #unoptimised()} for the report, together with
+ * the reason, so they can be given a class, id or data-testid in the application.
+ */
+public final class Locator {
+    /** Elements that have a role without a role attribute, as CSS selector and XPath predicate. */
+    private record Implicit(String css, String xpath) {
+    }
+
+    private static final Map<String, List<Implicit>> IMPLICIT_ROLES = Map.of(
+            "button", List.of(new Implicit("button", "self::button"),
+                    new Implicit("input[type='submit']", "self::input and @type='submit'")),
+            "link", List.of(new Implicit("a[href]", "self::a and @href")),
+            "heading", List.of(new Implicit("h1", "self::h1"), new Implicit("h2", "self::h2"),
+                    new Implicit("h3", "self::h3"), new Implicit("h4", "self::h4")),
+            "checkbox", List.of(new Implicit("input[type='checkbox']", "self::input and @type='checkbox'")),
+            "textbox", List.of(new Implicit("textarea", "self::textarea"),
+                    new Implicit("input:not([type])", "self::input and not(@type)"),
+                    new Implicit("input[type='text']", "self::input and @type='text'"),
+                    new Implicit("input[type='email']", "self::input and @type='email'"),
+                    new Implicit("input[type='search']", "self::input and @type='search'")));
+
+    private static final Map<String, String> unoptimised = new ConcurrentHashMap<>();
+
+    private final String tag;
+    private final String role;
+    private final Locator ancestor;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final List<String> classes = new ArrayList<>();
+    private String id;
+    private String text;
+    private boolean exactText;
+    private String containedText;
+
+    private Locator(String tag, String role, Locator ancestor) {
+        this.tag = tag;
+        this.role = role;
+        this.ancestor = ancestor;
+    }
+
+    /**
+     * Starts a locator for elements with the given tag name.
+     *
+     * @param tag the tag name, e.g. div
+     * @return the locator
+     */
+    public static Locator tag(String tag) {
+        return new Locator(tag, null, null);
+    }
+
+    /**
+     * Starts a locator for elements of any tag.
+     *
+     * @return the locator
+     */
+    public static Locator any() {
+        return new Locator(null, null, null);
+    }
+
+    /**
+     * Starts a locator for elements with an ARIA role, either explicit (role attribute) or implied
+     * by the element (button, link, heading, checkbox, textbox).
+     *
+     * @param role the role, e.g. button
+     * @return the locator
+     */
+    public static Locator role(String role) {
+        return new Locator(null, role, null);
+    }
+
+    /**
+     * Starts a locator for descendants of the elements matched by this locator.
+     *
+     * @param tag the descendant's tag name
+     * @return the descendant locator
+     */
+    public Locator descendant(String tag) {
+        return new Locator(tag, null, this);
+    }
+
+    /**
+     * Starts a locator for descendants with an ARIA role of the elements matched by this locator.
+     *
+     * @param role the descendant's role
+     * @return the descendant locator
+     */
+    public Locator descendantWithRole(String role) {
+        return new Locator(null, role, this);
+    }
+
+    /**
+     * Requires an id.
+     *
+     * @param id the element id
+     * @return this locator
+     */
+    public Locator withId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Requires a data-testid attribute.
+     *
+     * @param testId the test id
+     * @return this locator
+     */
+    public Locator withTestId(String testId) {
+        return withAttribute("data-testid", testId);
+    }
+
+    /**
+     * Requires a class (one of the class attribute's tokens).
+     *
+     * @param className the class name
+     * @return this locator
+     */
+    public Locator withClass(String className) {
+        classes.add(className);
+        return this;
+    }
+
+    /**
+     * Requires an attribute value.
+     *
+     * @param name  the attribute name
+     * @param value the exact attribute value
+     * @return this locator
+     */
+    public Locator withAttribute(String name, String value) {
+        attributes.put(name, value);
+        return this;
+    }
+
+    /**
+     * Requires one of the element's own text nodes to contain a string. Needs XPath.
+     *
+     * @param text the text
+     * @return this locator
+     */
+    public Locator withText(String text) {
+        this.text = text;
+        this.exactText = false;
+        return this;
+    }
+
+    /**
+     * Requires one of the element's own text nodes to equal a string. Needs XPath.
+     *
+     * @param text the text
+     * @return this locator
+     */
+    public Locator withExactText(String text) {
+        this.text = text;
+        this.exactText = true;
+        return this;
+    }
+
+    /**
+     * Requires the element's text, including its descendants, to contain a string. Needs XPath.
+     *
+     * @param text the text
+     * @return this locator
+     */
+    public Locator containingText(String text) {
+        this.containedText = text;
+        return this;
+    }
+
+    /**
+     * Compiles the locator to the fastest strategy: id, then CSS, then XPath.
+     * Locators compiled to XPath are recorded for {@link #unoptimised()}.
+     *
+     * @return the Selenium locator
+     */
+    public By toBy() {
+        String onlyId = toId();
+        if (onlyId != null) {
+            return By.id(onlyId);
+        }
+        String css = toCss();
+        if (css != null) {
+            return By.cssSelector(css);
+        }
+        String xpath = toXPath();
+        unoptimised.putIfAbsent(xpath, whyXPath());
+        return By.xpath(xpath);
+    }
+
+    /**
+     * Gets the id when the locator is nothing but an id.
+     *
+     * @return the id, or null if the locator needs more than an id
+     */
+    public String toId() {
+        boolean onlyId = id != null && tag == null && role == null && ancestor == null && attributes.isEmpty()
+                && classes.isEmpty() && text == null && containedText == null;
+        return onlyId ? id : null;
+    }
+
+    /**
+     * Gets the equivalent CSS selector.
+     *
+     * @return the selector, or null if the locator matches text, which CSS cannot
+     */
+    public String toCss() {
+        if (text != null || containedText != null) {
+            return null;
+        }
+        List<String> prefixes = List.of("");
+        if (ancestor != null) {
+            String ancestorCss = ancestor.toCss();
+            if (ancestorCss == null) {
+                return null;
+            }
+            prefixes = new ArrayList<>();
+            for (String selector : ancestorCss.split(", ")) {
+                prefixes.add(selector + " ");
+            }
+        }
+        StringBuilder suffix = new StringBuilder();
+        if (id != null) {
+            suffix.append("[id=").append(cssString(id)).append(']');
+        }
+        for (String className : classes) {
+            suffix.append('.').append(cssIdentifier(className));
+        }
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            suffix.append('[').append(attribute.getKey()).append('=').append(cssString(attribute.getValue()))
+                    .append(']');
+        }
+        List<String> bases = new ArrayList<>();
+        if (role != null) {
+            for (Implicit implicit : IMPLICIT_ROLES.getOrDefault(role, List.of())) {
+                bases.add(implicit.css());
+            }
+            bases.add("[role=" + cssString(role) + "]");
+        } else {
+            bases.add(tag == null ? (suffix.length() == 0 ? "*" : "") : tag);
+        }
+        List<String> selectors = new ArrayList<>();
+        for (String prefix : prefixes) {
+            for (String base : bases) {
+                selectors.add(prefix + base + suffix);
+            }
+        }
+        return String.join(", ", selectors);
+    }
+
+    /**
+     * Gets the equivalent XPath expression.
+     *
+     * @return the expression
+     */
+    public String toXPath() {
+        StringBuilder xpath = new StringBuilder(ancestor == null ? "" : ancestor.toXPath()).append("//");
+        List<String> predicates = new ArrayList<>();
+        if (role != null) {
+            List<String> alternatives = new ArrayList<>();
+            for (Implicit implicit : IMPLICIT_ROLES.getOrDefault(role, List.of())) {
+                alternatives.add(implicit.xpath().contains(" and ") ? "(" + implicit.xpath() + ")" : implicit.xpath());
+            }
+            alternatives.add("@role=" + xpathString(role));
+            xpath.append('*');
+            predicates.add(String.join(" or ", alternatives));
+        } else {
+            xpath.append(tag == null ? "*" : tag);
+        }
+        if (id != null) {
+            predicates.add("@id=" + xpathString(id));
+        }
+        for (String className : classes) {
+            predicates.add("contains(concat(' ', normalize-space(@class), ' '), "
+                    + xpathString(" " + className + " ") + ")");
+        }
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            predicates.add("@" + attribute.getKey() + "=" + xpathString(attribute.getValue()));
+        }
+        if (text != null) {
+            predicates.add(exactText ? "text()[normalize-space(.)=" + xpathString(text) + "]"
+                    : "text()[contains(., " + xpathString(text) + ")]");
+        }
+        if (containedText != null) {
+            predicates.add("contains(., " + xpathString(containedText) + ")");
+        }
+        for (String predicate : predicates) {
+            xpath.append('[').append(predicate).append(']');
+        }
+        return xpath.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Locator: " + toXPath();
+    }
+
+    /**
+     * Gets the locators compiled so far that could not be turned into an id or CSS selector.
+     *
+     * @return XPath expression to the reason it was needed
+     */
+    public static Map<String, String> unoptimised() {
+        return new TreeMap<>(unoptimised);
+    }
+
+    /**
+     * Renders the locators that need XPath as an HTML table for the report.
+     *
+     * @return the table markup, or an empty string if every locator was optimised
+     */
+    public static String unoptimisedHtml() {
+        if (unoptimised.isEmpty()) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><tr><th>XPath</th><th>Reason</th></tr>");
+        for (Map.Entry<String, String> entry : unoptimised().entrySet()) {
+            html.append("<tr><td>").append(entry.getKey().replace("<", "&lt;")).append("</td><td>")
+                    .append(entry.getValue().replace("<", "&lt;")).append("</td></tr>");
+        }
+        return html.append("</table>").toString();
+    }
+
+    private String whyXPath() {
+        if (text != null) {
+            return (exactText ? "exact" : "partial") + " text match '" + text + "'";
+        }
+        if (containedText != null) {
+            return "descendant text match '" + containedText + "'";
+        }
+        return "ancestor " + ancestor.whyXPath();
+    }
+
+    /**
+     * Quotes a string for XPath 1.0, which has no escapes: strings holding both quote
+     * characters are built with concat().
+     */
+    static String xpathString(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    private static String cssString(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private static String cssIdentifier(String value) {
+        StringBuilder identifier = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean plain = Character.isLetterOrDigit(c) || c == '-' || c == '_';
+            if (!plain || (i == 0 && Character.isDigit(c))) {
+                identifier.append('\\').append(Integer.toHexString(c)).append(' ');
+            } else {
+                identifier.append(c);
+            }
+        }
+        return identifier.toString();
+    }
+}
@@ -0,0 +1,390 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Navigation Timing, Resource Timing and Web Vitals for every page object navigation.
+ *
+ * {@link #navigate} loads the URL, waits for the load event and collects TTFB, FCP,
+ * DOMContentLoaded, load, resource counts and sizes, and LCP/CLS through buffered
+ * PerformanceObservers that stay installed while the page is open. When the page is left (the
+ * next navigation on the same driver) or the test ends, its final CLS and INP are read. INP is
+ * approximated as the longest interaction, which matches the definition below 50 interactions.
+ *
+ * Every metric is checked against perf.budget.&lt;metric&gt; and perf.budget.&lt;Page&gt;.&lt;metric&gt;;
+ * with perf.budget.enforce=true a violation inside a test body fails the test with an AssertionError.
+ * Violations in configuration methods and other threads never throw: they are kept and attached as
+ * warnings to the next test that starts on the thread, so a slow load in @BeforeMethod cannot skip
+ * the rest of a class. The final CLS and INP of a page are checked when the page is left, and
+ * reported against that page rather than the next one. Samples are persisted per page to
+ * page-timings.json and appended to page-timings-history.jsonl.
+ */
+public class PageTimings {
+    private static final boolean ENABLED = ConfigProperties.get().perfEnabled();
+    private static final int MAX_SAMPLES_PER_PAGE = 500;
+    private static final int MAX_DEFERRED_VIOLATIONS = 50;
+
+    /** Metrics known once the page has loaded. */
+    private static final List<String> LOAD_METRICS =
+            List.of("ttfb", "fcp", "domContentLoaded", "load", "lcp", "cls", "resources", "transferKb");
+    /** Metrics that keep changing while the user interacts with the page. */
+    private static final List<String> EXIT_METRICS = List.of("cls", "inp");
+
+    private static final String OBSERVE_SCRIPT =
+            "if (!window.__qaVitals) {" +
+            "  var v = window.__qaVitals = {lcp: null, cls: 0, inp: null, session: 0, sessionStart: 0," +
+            "    sessionLast: 0, interactions: {}};" +
+            "  var observe = function(type, callback, options) {" +
+            "    try {" +
+            "      new PerformanceObserver(function(list) { list.getEntries().forEach(callback); })" +
+            "        .observe(Object.assign({type: type, buffered: true}, options || {}));" +
+            "    } catch (e) { }" +
+            "  };" +
+            "  observe('largest-contentful-paint', function(e) { v.lcp = e.renderTime || e.loadTime || e.startTime; });" +
+            // CLS is the largest session window: shifts less than 1 s apart, at most 5 s long
+            "  observe('layout-shift', function(e) {" +
+            "    if (e.hadRecentInput) { return; }" +
+            "    if (v.session && e.startTime - v.sessionLast < 1000 && e.startTime - v.sessionStart < 5000) {" +
+            "      v.session += e.value;" +
+            "    } else { v.session = e.value; v.sessionStart = e.startTime; }" +
+            "    v.sessionLast = e.startTime;" +
+            "    v.cls = Math.max(v.cls, v.session);" +
+            "  });" +
+            "  observe('event', function(e) {" +
+            "    if (!e.interactionId) { return; }" +
+            "    v.interactions[e.interactionId] = Math.max(v.interactions[e.interactionId] || 0, e.duration);" +
+            "    v.inp = Math.max(v.inp || 0, v.interactions[e.interactionId]);" +
+            "  }, {durationThreshold: 40});" +
+            "}";
+
+    /**
+     * Async script: installs the observers, lets buffered entries arrive, then reports the page's
+     * timings, or null while the load event has not finished.
+     */
+    private static final String COLLECT_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "var n = performance.getEntriesByType('navigation')[0];" +
+            "if (!n || !n.loadEventEnd) { done(null); return; }" +
+            OBSERVE_SCRIPT +
+            "setTimeout(function() {" +
+            "  var v = window.__qaVitals;" +
+            "  var paint = performance.getEntriesByName('first-contentful-paint')[0];" +
+            "  var resources = performance.getEntriesByType('resource');" +
+            "  var bytes = n.transferSize || 0;" +
+            "  resources.forEach(function(r) { bytes += r.transferSize || 0; });" +
+            "  var slowest = resources.slice().sort(function(a, b) { return b.duration - a.duration; })" +
+            "    .slice(0, 5).map(function(r) { return {name: r.name, type: r.initiatorType," +
+            "      duration: Math.round(r.duration)}; });" +
+            "  done({ttfb: Math.round(n.responseStart), fcp: paint ? Math.round(paint.startTime) : null," +
+            "    domContentLoaded: Math.round(n.domContentLoadedEventEnd), load: Math.round(n.loadEventEnd)," +
+            "    lcp: v.lcp === null ? null : Math.round(v.lcp), cls: Math.round(v.cls * 1000) / 1000," +
+            "    resources: resources.length, transferKb: Math.round(bytes / 1024), slowest: slowest});" +
+            "}, 50);";
+
+    /** Reads the final CLS and INP of the open page, or null if the document is not the one observed. */
+    private static final String EXIT_SCRIPT =
+            "var v = window.__qaVitals;" +
+            "return v ? {cls: Math.round(v.cls * 1000) / 1000, inp: v.inp === null ? null : Math.round(v.inp)} : null;";
+
+    private static final Map<WebDriver, Visit> openVisits = new ConcurrentHashMap<>();
+    private static final Map<String, List<Map<String, Object>>> samples = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> inTestBody = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<List<String>> deferred = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * A page that was navigated to and has not been left yet.
+     */
+    private static class Visit {
+        private final String page;
+        private final Map<String, Object> sample;
+
+        private Visit(String page, Map<String, Object> sample) {
+            this.page = page;
+            this.sample = sample;
+        }
+    }
+
+    private PageTimings() {
+    }
+
+    /**
+     * Navigates to a URL and records the page's load timings.
+     *
+     * @param driver the WebDriver instance
+     * @param page   the page name used for budgets and reporting, e.g. LoginPage
+     * @param url    the URL to load
+     * @throws AssertionError if a budget is exceeded inside a test body and perf.budget.enforce is set
+     */
+    public static void navigate(WebDriver driver, String page, String url) {
+        if (!ENABLED) {
+            driver.get(url);
+            return;
+        }
+        // The page being left is reported on its own, before the next page loads
+        report(leave(driver));
+        driver.get(url);
+        Map<String, Object> sample;
+        try {
+            sample = collect(driver);
+        } catch (RuntimeException e) {
+            System.err.println("Could not collect page timings for " + page + ": " + e.getMessage());
+            return;
+        }
+        sample.put("url", url);
+        sample.put("timestamp", Instant.now().toString());
+        List<Map<String, Object>> pageSamples = samples.computeIfAbsent(page, key -> new CopyOnWriteArrayList<>());
+        if (pageSamples.size() < MAX_SAMPLES_PER_PAGE) {
+            pageSamples.add(sample);
+        }
+        openVisits.put(driver, new Visit(page, sample));
+        TestListener.logInfo(describe(page, sample));
+        report(check(page, sample, LOAD_METRICS));
+    }
+
+    /**
+     * Marks the start of a test body on this thread. Budget violations deferred from the
+     * configuration methods before it are attached to the test as warnings.
+     */
+    public static void testBodyStarted() {
+        inTestBody.set(true);
+        List<String> pending = deferred.get();
+        for (String violation : pending) {
+            TestListener.logWarning("During setup: " + violation);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Marks the end of a test body on this thread.
+     */
+    public static void testBodyFinished() {
+        inTestBody.set(false);
+    }
+
+    /**
+     * Reads the final CLS and INP of the page open in a driver, e.g. when a test ends.
+     * Budget violations found here are only logged, since the test has already finished.
+     *
+     * @param driver the WebDriver instance, may be null
+     */
+    public static void finish(WebDriver driver) {
+        if (!ENABLED || driver == null) {
+            return;
+        }
+        for (String violation : leave(driver)) {
+            TestListener.logWarning(violation);
+        }
+    }
+
+    /**
+     * Renders the per-page medians of this run as an HTML table for the report.
+     *
+     * @return the table markup, or an empty string if no page was timed
+     */
+    public static String toHtml() {
+        if (samples.isEmpty()) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><tr><th>Page</th><th>Loads</th>"
+                + "<th>TTFB</th><th>FCP</th><th>Load</th><th>LCP</th><th>CLS</th><th>INP</th><th>KB</th></tr>");
+        for (Map.Entry<String, List<Map<String, Object>>> entry : new TreeMap<>(samples).entrySet()) {
+            List<Map<String, Object>> pageSamples = entry.getValue();
+            html.append("<tr><td>").append(entry.getKey()).append("</td><td>").append(pageSamples.size());
+            for (String metric : List.of("ttfb", "fcp", "load", "lcp", "cls", "inp", "transferKb")) {
+                Double median = percentile(pageSamples, metric, 50);
+                html.append("</td><td>").append(median == null ? "-" : format(metric, median));
+            }
+            html.append("</td></tr>");
+        }
+        return html.append("</table>").toString();
+    }
+
+    /**
+     * Writes this run's samples and per-page percentiles to page-timings.json and appends the
+     * per-page medians to page-timings-history.jsonl, both in metrics.path.
+     *
+     * @return the written file, or null if no page was timed or writing failed
+     */
+    public static Path write() {
+        if (samples.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(ConfigProperties.get().metricsPath());
+        String timestamp = Instant.now().toString();
+        Map<String, Object> pages = new LinkedHashMap<>();
+        Map<String, Object> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Map<String, Object>>> entry : new TreeMap<>(samples).entrySet()) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            Map<String, Object> pageMedians = new LinkedHashMap<>();
+            for (String metric : List.of("ttfb", "fcp", "domContentLoaded", "load", "lcp", "cls", "inp",
+                    "resources", "transferKb")) {
+                Double p50 = percentile(entry.getValue(), metric, 50);
+                if (p50 == null) {
+                    continue;
+                }
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("p50", p50);
+                values.put("p90", percentile(entry.getValue(), metric, 90));
+                values.put("max", percentile(entry.getValue(), metric, 100));
+                summary.put(metric, values);
+                pageMedians.put(metric, p50);
+            }
+            Map<String, Object> page = new LinkedHashMap<>();
+            page.put("loads", entry.getValue().size());
+            page.put("summary", summary);
+            page.put("samples", entry.getValue());
+            pages.put(entry.getKey(), page);
+            medians.put(entry.getKey(), pageMedians);
+        }
+        try {
+            Files.createDirectories(directory);
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("timestamp", timestamp);
+            document.put("baseUrl", ConfigProperties.getBaseUrl());
+            document.put("pages", pages);
+            Path file = directory.resolve("page-timings.json");
+            Files.writeString(file, Json.toJson(document), StandardCharsets.UTF_8);
+
+            Map<String, Object> history = new LinkedHashMap<>();
+            history.put("timestamp", timestamp);
+            history.put("baseUrl", ConfigProperties.getBaseUrl());
+            history.put("pages", medians);
+            Files.writeString(directory.resolve("page-timings-history.jsonl"),
+                    Json.toJson(history) + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Failed to write page timings: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> collect(WebDriver driver) {
+        int timeout = ConfigProperties.get().pageLoadTimeout();
+        return WaitEngine.forDriver(driver).withTimeout(timeout)
+                .until(d -> (Map<String, Object>) ((JavascriptExecutor) d).executeAsyncScript(COLLECT_SCRIPT));
+    }
+
+    /**
+     * Closes the driver's open visit: reads its final CLS and INP and checks their budgets.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> leave(WebDriver driver) {
+        Visit visit = openVisits.remove(driver);
+        if (visit == null) {
+            return List.of();
+        }
+        try {
+            Map<String, Object> exit = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(EXIT_SCRIPT);
+            if (exit == null) {
+                // The page was replaced by a click-triggered load; its final values are gone
+                return List.of();
+            }
+            for (Map.Entry<String, Object> entry : exit.entrySet()) {
+                if (entry.getValue() != null) {
+                    visit.sample.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return check(visit.page, visit.sample, EXIT_METRICS);
+        } catch (RuntimeException e) {
+            return List.of();
+        }
+    }
+
+    private static List<String> check(String page, Map<String, Object> sample, List<String> metrics) {
+        List<String> violations = new ArrayList<>();
+        for (String metric : metrics) {
+            Object value = sample.get(metric);
+            double limit = ConfigProperties.get().perfBudget(page, metric);
+            if (value instanceof Number number && limit > 0 && number.doubleValue() > limit) {
+                violations.add("Performance budget exceeded on " + page + ": " + metric + " "
+                        + format(metric, number.doubleValue()) + " > " + format(metric, limit));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Fails the running test for budget violations, or keeps them for the next test when no test
+     * body is running on this thread.
+     */
+    private static void report(List<String> violations) {
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (!inTestBody.get()) {
+            List<String> pending = deferred.get();
+            for (String violation : violations) {
+                if (pending.size() < MAX_DEFERRED_VIOLATIONS) {
+                    pending.add(violation);
+                }
+            }
+            return;
+        }
+        if (ConfigProperties.get().perfBudgetEnforce()) {
+            throw new AssertionError(String.join("; ", violations));
+        }
+        for (String violation : violations) {
+            TestListener.logWarning(violation);
+        }
+    }
+
+    private static String describe(String page, Map<String, Object> sample) {
+        StringBuilder text = new StringBuilder(page).append(" loaded:");
+        for (String metric : List.of("ttfb", "fcp", "domContentLoaded", "load", "lcp", "cls")) {
+            if (sample.get(metric) instanceof Number number) {
+                text.append(' ').append(metric).append(' ').append(format(metric, number.doubleValue()));
+            }
+        }
+        return text.append(", ").append(sample.get("resources")).append(" resources (")
+                .append(sample.get("transferKb")).append(" KB)").toString();
+    }
+
+    private static String format(String metric, double value) {
+        switch (metric) {
+            case "cls":
+                return String.format("%.3f", value);
+            case "resources":
+                return String.valueOf((long) value);
+            case "transferKb":
+                return (long) value + " KB";
+            default:
+                return (long) value + " ms";
+        }
+    }
+
+    /**
+     * Nearest-rank percentile of a metric over samples, ignoring samples without it.
+     */
+    private static Double percentile(List<Map<String, Object>> pageSamples, String metric, double percentile) {
+        List<Double> values = new ArrayList<>();
+        for (Map<String, Object> sample : pageSamples) {
+            if (sample.get(metric) instanceof Number number) {
+                values.add(number.doubleValue());
+            }
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+        values.sort(null);
+        int rank = (int) Math.ceil(percentile / 100 * values.size());
+        return values.get(Math.max(0, Math.min(values.size() - 1, rank - 1)));
+    }
+}
@@ -0,0 +1,293 @@
+package com.emergent.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.emergent.shard.ShardPlan;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous ExtentReports pipeline.
+ * Test threads only enqueue report events on a lock-free queue; a single writer thread
+ * applies them to the ExtentReports instance, flushes the HTML and JSON reports at a
+ * fixed interval while tests run, and once more when the suite is closed.
+ * Only the writer thread ever touches ExtentReports while it runs; events that reach the queue
+ * after its last pass are written by {@link #close()} itself. Events arriving after that are
+ * printed to the console instead of the report.
+ */
+public class ReportWriter {
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final Queue<Event> events = new ConcurrentLinkedQueue<>();
+    private static final AtomicLong nextTestId = new AtomicLong(1);
+    private static final Map<Long, ExtentTest> tests = new HashMap<>();
+
+    private static ExtentReports extent;
+    private static volatile Thread writer;
+    private static volatile boolean closing;
+    private static volatile boolean closed;
+
+    private enum Kind { CREATE, LOG, THROWABLE, SCREENSHOT, CATEGORY }
+
+    /**
+     * A single report operation recorded by a test thread.
+     */
+    private static class Event {
+        private final long testId;
+        private final Kind kind;
+        private final Status status;
+        private final String text;
+        private final String detail;
+        private final Throwable throwable;
+
+        private Event(long testId, Kind kind, Status status, String text, String detail, Throwable throwable) {
+            this.testId = testId;
+            this.kind = kind;
+            this.status = status;
+            this.text = text;
+            this.detail = detail;
+            this.throwable = throwable;
+        }
+    }
+
+    private ReportWriter() {
+    }
+
+    /**
+     * Registers a new test in the report.
+     *
+     * @param name        the test name
+     * @param description the test description
+     * @return the id used to log against this test
+     */
+    public static long startTest(String name, String description) {
+        long testId = nextTestId.getAndIncrement();
+        enqueue(new Event(testId, Kind.CREATE, null, name, description, null));
+        return testId;
+    }
+
+    /**
+     * Logs a message against a test.
+     *
+     * @param testId  the id returned by {@link #startTest(String, String)}
+     * @param status  the log status
+     * @param message the message
+     */
+    public static void log(long testId, Status status, String message) {
+        enqueue(new Event(testId, Kind.LOG, status, message, null, null));
+    }
+
+    /**
+     * Logs an exception against a test.
+     *
+     * @param testId    the id returned by {@link #startTest(String, String)}
+     * @param status    the log status
+     * @param throwable the exception
+     */
+    public static void log(long testId, Status status, Throwable throwable) {
+        enqueue(new Event(testId, Kind.THROWABLE, status, null, null, throwable));
+    }
+
+    /**
+     * Attaches a screenshot file to a test.
+     *
+     * @param testId the id returned by {@link #startTest(String, String)}
+     * @param path   path of the screenshot file
+     */
+    public static void addScreenshot(long testId, String path) {
+        enqueue(new Event(testId, Kind.SCREENSHOT, null, path, null, null));
+    }
+
+    /**
+     * Assigns a category, such as Flaky, to a test.
+     *
+     * @param testId   the id returned by {@link #startTest(String, String)}
+     * @param category the category name
+     */
+    public static void assignCategory(long testId, String category) {
+        enqueue(new Event(testId, Kind.CATEGORY, null, category, null, null));
+    }
+
+    /**
+     * Writes every pending event and flushes the reports one final time.
+     * Blocks until the writer thread has finished or report.close.timeout.seconds has passed, then
+     * writes and flushes the events that raced with the writer's last pass on the calling thread.
+     */
+    public static void close() {
+        Thread current;
+        synchronized (ReportWriter.class) {
+            closed = true;
+            current = writer;
+            if (current != null) {
+                closing = true;
+            }
+        }
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(ConfigProperties.get().reportCloseTimeoutSeconds()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (current.isAlive()) {
+                System.err.println("Report writer did not finish in time, the report may be incomplete");
+                return;
+            }
+        }
+        synchronized (ReportWriter.class) {
+            writer = null;
+            closing = false;
+            if (extent != null && drain()) {
+                flush();
+            }
+            dropLateEvents();
+        }
+    }
+
+    private static void enqueue(Event event) {
+        events.offer(event);
+        if (writer == null) {
+            startWriter();
+        }
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        if (closed) {
+            // close() has already written the final report
+            dropLateEvents();
+            return;
+        }
+        if (extent == null) {
+            extent = createExtentReports();
+        }
+        writer = new Thread(ReportWriter::run, "extent-report-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static void run() {
+        long flushIntervalNanos = TimeUnit.SECONDS.toNanos(ConfigProperties.get().reportFlushIntervalSeconds());
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (true) {
+            // Read the flag before draining so events queued before close() are included
+            boolean stopping = closing;
+            dirty |= drain();
+            if (dirty && (stopping || System.nanoTime() - lastFlush >= flushIntervalNanos)) {
+                flush();
+                lastFlush = System.nanoTime();
+                dirty = false;
+            }
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+    }
+
+    private static void flush() {
+        try {
+            extent.flush();
+        } catch (Exception e) {
+            System.err.println("Failed to flush report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints the events queued after the report was closed, which can no longer be written.
+     */
+    private static void dropLateEvents() {
+        Event event;
+        while ((event = events.poll()) != null) {
+            String text = event.throwable != null ? String.valueOf(event.throwable) : event.text;
+            System.err.println("Report already closed, not written: " + event.kind + " "
+                    + (event.status == null ? "" : event.status + " ") + text);
+        }
+    }
+
+    private static boolean drain() {
+        boolean applied = false;
+        Event event;
+        while ((event = events.poll()) != null) {
+            try {
+                apply(event);
+            } catch (Exception e) {
+                System.err.println("Failed to write report event: " + e.getMessage());
+            }
+            applied = true;
+        }
+        return applied;
+    }
+
+    private static void apply(Event event) {
+        if (event.kind == Kind.CREATE) {
+            tests.put(event.testId, extent.createTest(event.text, event.detail));
+            return;
+        }
+        ExtentTest extentTest = tests.get(event.testId);
+        if (extentTest == null) {
+            return;
+        }
+        switch (event.kind) {
+            case LOG:
+                extentTest.log(event.status, event.text);
+                break;
+            case THROWABLE:
+                extentTest.log(event.status, event.throwable);
+                break;
+            case SCREENSHOT:
+                extentTest.addScreenCaptureFromPath(event.text);
+                break;
+            case CATEGORY:
+                extentTest.assignCategory(event.text);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static ExtentReports createExtentReports() {
+        String reportPath = ConfigProperties.get().reportPath();
+        String reportName = reportPath + "/ExtentReport_" +
+                new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        if (ShardPlan.isEnabled()) {
+            reportName += "_shard" + ShardPlan.shardIndex() + "of" + ShardPlan.shardCount();
+        }
+
+        // Create the reports directory if it doesn't exist
+        File reportsDir = new File(reportPath);
+        if (!reportsDir.exists()) {
+            reportsDir.mkdirs();
+        }
+
+        ExtentSparkReporter reporter = new ExtentSparkReporter(reportName + ".html");
+        reporter.config().setReportName("Emergent.sh Test Automation Report");
+        reporter.config().setDocumentTitle("Emergent.sh Test Results");
+
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(reporter, new JsonFormatter(reportName + ".json"));
+        reports.setSystemInfo("OS", System.getProperty("os.name"));
+        reports.setSystemInfo("Browser", ConfigProperties.getBrowser());
+        reports.setSystemInfo("Environment", ConfigProperties.getBaseUrl());
+        reports.setSystemInfo("User", System.getProperty("user.name"));
+        if (ShardPlan.isEnabled()) {
+            reports.setSystemInfo("Shard", ShardPlan.shardIndex() + " of " + ShardPlan.shardCount());
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,161 @@
+package com.emergent.utils;
+
+import com.aventstack.extentreports.Status;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures failure screenshots without blocking the test thread on disk I/O.
+ * The test thread only fetches the PNG bytes from the browser; hashing, optional
+ * downscaling/palette reduction and writing happen on a background executor, and the
+ * screenshot is attached to the report once the file exists. Identical screenshots
+ * (same SHA-256 of the captured bytes) are written once and shared.
+ */
+public class ScreenshotWriter {
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<String, CompletableFuture<String>> written = new ConcurrentHashMap<>();
+    private static final Queue<CompletableFuture<?>> pending = new ConcurrentLinkedQueue<>();
+
+    private ScreenshotWriter() {
+    }
+
+    /**
+     * Takes a screenshot and writes it in the background.
+     *
+     * @param driver   the WebDriver instance
+     * @param testName the name of the test (used in the filename)
+     * @param testId   the report test id the screenshot is attached to
+     * @return a future completing with the path of the saved screenshot
+     */
+    public static CompletableFuture<String> capture(WebDriver driver, String testName, long testId) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        CompletableFuture<String> future = CompletableFuture
+                .supplyAsync(() -> store(png, testName), executor)
+                .whenComplete((path, error) -> {
+                    if (error != null) {
+                        System.err.println("Failed to save screenshot for " + testName + ": " + error.getMessage());
+                    } else {
+                        ReportWriter.addScreenshot(testId, path);
+                        ReportWriter.log(testId, Status.INFO, "Screenshot saved to: " + path);
+                    }
+                });
+        pending.add(future);
+        future.whenComplete((path, error) -> pending.remove(future));
+        return future;
+    }
+
+    /**
+     * Waits for screenshots that are still being written, so they make it into the final report.
+     *
+     * @param timeoutSeconds maximum time to wait
+     */
+    public static void awaitPending(long timeoutSeconds) {
+        CompletableFuture<?>[] futures = pending.toArray(new CompletableFuture<?>[0]);
+        if (futures.length == 0) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(futures).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Not all screenshots were written: " + e.getMessage());
+        }
+    }
+
+    private static String store(byte[] png, String testName) {
+        String hash = sha256(png);
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = written.putIfAbsent(hash, mine);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            String directory = ConfigProperties.get().screenshotPath();
+            Files.createDirectories(Paths.get(directory));
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+            Path target = Paths.get(directory, testName + "_" + timestamp + "_" + hash.substring(0, 8) + ".png");
+            Files.write(target, encode(png));
+            String path = directory + File.separator + target.getFileName();
+            mine.complete(path);
+            return path;
+        } catch (IOException | RuntimeException e) {
+            written.remove(hash, mine);
+            mine.completeExceptionally(e);
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Applies the configured downscaling and palette reduction. Returns the original bytes
+     * untouched when neither is enabled, so the common case does not decode the image at all.
+     */
+    private static byte[] encode(byte[] png) throws IOException {
+        int maxWidth = ConfigProperties.get().screenshotMaxWidth();
+        boolean palette = ConfigProperties.get().screenshotPalette();
+        if (maxWidth <= 0 && !palette) {
+            return png;
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (maxWidth > 0 && width > maxWidth) {
+            height = Math.max(1, height * maxWidth / width);
+            width = maxWidth;
+        }
+        if (width == image.getWidth() && !palette) {
+            return png;
+        }
+
+        BufferedImage result = new BufferedImage(width, height,
+                palette ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = result.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(result, "png", out);
+        return out.size() < png.length ? out.toByteArray() : png;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
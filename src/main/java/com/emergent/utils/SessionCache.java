@@ -0,0 +1,169 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches logged-in browser sessions per credential set.
+ * After one UI login the cookies and localStorage/sessionStorage are snapshotted, and
+ * later drivers get the same session by replaying the snapshot instead of logging in again.
+ */
+public class SessionCache {
+    private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(storage) {" +
+            "  var data = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); data[key] = storage.getItem(key); }" +
+            "  return data;" +
+            "}" +
+            "return [dump(window.localStorage), dump(window.sessionStorage)];";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "function load(storage, data) {" +
+            "  storage.clear();" +
+            "  for (var key in data) { storage.setItem(key, data[key]); }" +
+            "}" +
+            "load(window.localStorage, arguments[0]);" +
+            "load(window.sessionStorage, arguments[1]);";
+
+    /**
+     * Session state captured right after a successful login.
+     */
+    private static class Snapshot {
+        private final String url;
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final long capturedAt;
+
+        private Snapshot(String url, Set<Cookie> cookies, Map<String, String> localStorage,
+                         Map<String, String> sessionStorage) {
+            this.url = url;
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+            this.capturedAt = System.currentTimeMillis();
+        }
+
+        private boolean isExpired() {
+            long ttlMillis = ConfigProperties.get().sessionCacheTtlMinutes() * 60_000;
+            if (System.currentTimeMillis() - capturedAt > ttlMillis) {
+                return true;
+            }
+            Date now = new Date();
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private SessionCache() {
+    }
+
+    /**
+     * Checks whether session caching is enabled.
+     *
+     * @return true if sessions should be cached and replayed
+     */
+    public static boolean isEnabled() {
+        return ConfigProperties.get().sessionCacheEnabled();
+    }
+
+    /**
+     * Captures the cookies and web storage of the driver's current, logged-in page.
+     *
+     * @param driver the logged-in WebDriver
+     * @param key    the credential set the session belongs to
+     */
+    public static void snapshot(WebDriver driver, String key) {
+        List<?> storage = (List<?>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        snapshots.put(key, new Snapshot(driver.getCurrentUrl(),
+                new HashSet<>(driver.manage().getCookies()),
+                toStringMap(storage.get(0)),
+                toStringMap(storage.get(1))));
+        TestListener.logInfo("Cached session for " + key);
+    }
+
+    /**
+     * Replays a cached session into the driver and opens the page the session was captured on.
+     * The caller is responsible for checking that the application accepted the session and
+     * calling {@link #invalidate(String)} if it did not.
+     *
+     * @param driver the WebDriver to load the session into
+     * @param key    the credential set to replay
+     * @return true if a usable snapshot was replayed, false if there is nothing to replay
+     */
+    public static boolean replay(WebDriver driver, String key) {
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.isExpired()) {
+            invalidate(key);
+            return false;
+        }
+
+        // Cookies and storage can only be set while a page of the same origin is open
+        driver.get(originOf(snapshot.url));
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : snapshot.cookies) {
+            try {
+                driver.manage().addCookie(cookie);
+            } catch (Exception e) {
+                System.err.println("Failed to replay cookie " + cookie.getName() + ": " + e.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT,
+                snapshot.localStorage, snapshot.sessionStorage);
+        driver.get(snapshot.url);
+        TestListener.logInfo("Replayed cached session for " + key);
+        return true;
+    }
+
+    /**
+     * Drops the cached session for a credential set, forcing the next login through the UI.
+     *
+     * @param key the credential set
+     */
+    public static void invalidate(String key) {
+        if (snapshots.remove(key) != null) {
+            TestListener.logInfo("Invalidated cached session for " + key);
+        }
+    }
+
+    /**
+     * Drops every cached session.
+     */
+    public static void clear() {
+        snapshots.clear();
+    }
+
+    private static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority() + "/";
+    }
+
+    private static Map<String, String> toStringMap(Object value) {
+        Map<String, String> result = new HashMap<>();
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                result.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+        return result;
+    }
+}
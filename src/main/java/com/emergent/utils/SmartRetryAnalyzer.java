@@ -0,0 +1,145 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retry analyzer that re-runs a test only when it failed for an infrastructure reason.
+ *
+ * Failures are classified by the exception and its causes: WebDriver problems (timeouts, stale
+ * elements, lost sessions and other WebDriverExceptions) are infrastructure failures, while
+ * assertion failures, invalid selectors and everything else are test failures and never retried.
+ * A test is retried at most retry.max.attempts times, the whole suite at most retry.budget times,
+ * and only when the pooled driver of the thread still answers a script, since the retry reuses it.
+ * No retry happens while the {@link CircuitBreaker} is open. Tests that pass on a retry are reported
+ * as flaky. Set on every test by {@link TestListener}; disabled with retry.enabled=false.
+ */
+public class SmartRetryAnalyzer implements IRetryAnalyzer {
+    private static final AtomicInteger budgetUsed = new AtomicInteger();
+    private static final Map<String, List<String>> retries = new ConcurrentHashMap<>();
+    private static final Map<String, String> flaky = new ConcurrentHashMap<>();
+
+    /**
+     * The kind of a test failure.
+     */
+    public enum Classification { INFRASTRUCTURE, TEST }
+
+    @Override
+    public boolean retry(ITestResult result) {
+        Throwable failure = result.getThrowable();
+        if (classify(failure) != Classification.INFRASTRUCTURE || CircuitBreaker.openReason() != null) {
+            return false;
+        }
+        String testKey = TestListener.testKey(result);
+        List<String> previous = retries.getOrDefault(testKey, List.of());
+        int maxAttempts = ConfigProperties.get().retryMaxAttempts();
+        if (previous.size() >= maxAttempts) {
+            return false;
+        }
+        String problem = driverProblem(WebDriverFactory.getCurrentDriver());
+        if (problem != null) {
+            System.out.println("Not retrying " + testKey + ": " + problem);
+            return false;
+        }
+        int budget = ConfigProperties.get().retryBudget();
+        if (budgetUsed.incrementAndGet() > budget) {
+            budgetUsed.decrementAndGet();
+            System.out.println("Not retrying " + testKey + ": retry budget of " + budget + " used up");
+            return false;
+        }
+        retries.computeIfAbsent(testKey, key -> new ArrayList<>()).add(describe(failure));
+        System.out.println("Retrying " + testKey + " after infrastructure failure: " + describe(failure));
+        return true;
+    }
+
+    /**
+     * Classifies a failure by the exception and its causes.
+     *
+     * @param failure the failure, may be null
+     * @return INFRASTRUCTURE for WebDriver problems worth retrying, TEST otherwise
+     */
+    public static Classification classify(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AssertionError || cause instanceof SkipException
+                    || cause instanceof InvalidSelectorException || cause instanceof InvalidArgumentException) {
+                return Classification.TEST;
+            }
+            if (cause instanceof WebDriverException) {
+                return Classification.INFRASTRUCTURE;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return Classification.TEST;
+    }
+
+    /**
+     * Records a passed test; it is flaky if it needed retries.
+     *
+     * @param result the passed test
+     * @return the retried failures when the test is flaky, or null
+     */
+    public static String recordPass(ITestResult result) {
+        String testKey = TestListener.testKey(result);
+        List<String> previous = retries.remove(testKey);
+        if (previous == null) {
+            return null;
+        }
+        String reason = String.join("; ", previous);
+        flaky.put(testKey, reason);
+        return reason;
+    }
+
+    /**
+     * Summarises retries for the console.
+     *
+     * @return budget use and the flaky tests, one per line
+     */
+    public static String summary() {
+        StringBuilder text = new StringBuilder(String.format("Retries: %d of %d used, %d flaky tests",
+                budgetUsed.get(), ConfigProperties.get().retryBudget(), flaky.size()));
+        new TreeMap<>(flaky).forEach((testKey, reason) -> text.append(System.lineSeparator())
+                .append("  flaky: ").append(testKey).append(" (").append(reason).append(')'));
+        return text.toString();
+    }
+
+    /**
+     * Health check of the driver a retry would reuse.
+     *
+     * @return null if it answers a script, or the problem
+     */
+    private static String driverProblem(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            return null;
+        }
+        try {
+            executor.executeScript("return document.readyState");
+            return null;
+        } catch (WebDriverException e) {
+            return "driver failed its health check: " + describe(e);
+        }
+    }
+
+    private static String describe(Throwable failure) {
+        if (failure == null) {
+            return "unknown failure";
+        }
+        String message = failure.getMessage() == null ? ""
+                : failure.getMessage().strip().lines().findFirst().orElse("");
+        return failure.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+    }
+}
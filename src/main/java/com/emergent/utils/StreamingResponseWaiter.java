@@ -0,0 +1,169 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Waits for a streamed AI response to finish.
+ * {@link #arm(WebDriver, By)} installs a MutationObserver right before the prompt is sent; it
+ * timestamps, in the page, the first time the response text grows past its length at send time
+ * and every later change. {@link #await(WebDriver, By, int, long)} then polls that state: slowly
+ * with backoff while the AI is still thinking, and after the first token it sleeps exactly until
+ * the text could have been stable for the required interval. Timings therefore come from the page
+ * clock and are not rounded up to the polling interval. If the observer is lost during the wait
+ * (the page reloaded, or nothing was armed), it is re-armed on the text now on the page and the
+ * wait continues until that text grows and settles; the timings of such a response are unknown.
+ */
+public class StreamingResponseWaiter {
+
+    /**
+     * Installs the observer. arguments[0] is the response locator; text already on the page is the
+     * baseline that the response has to grow past.
+     */
+    private static final String ARM_SCRIPT = ElementScripts.FUNCTIONS +
+            "var l = arguments[0];" +
+            "function total() { return findAll(l).map(textOf).join('\\n').length; }" +
+            "if (window.__qaAiStream) { window.__qaAiStream.observer.disconnect(); }" +
+            "var s = {start: Date.now(), first: null, last: null, baseline: total()};" +
+            "s.length = s.baseline;" +
+            "s.observer = new MutationObserver(function() {" +
+            "  var n = total();" +
+            "  if (n !== s.length) {" +
+            "    var now = Date.now();" +
+            "    if (s.first === null && n > s.baseline) { s.first = now; }" +
+            "    if (s.first !== null) { s.last = now; }" +
+            "    s.length = n;" +
+            "  }" +
+            "});" +
+            "s.observer.observe(document.documentElement, {childList: true, subtree: true, characterData: true});" +
+            "window.__qaAiStream = s;";
+
+    /**
+     * Returns [firstTokenMs, lastChangeMs, elapsedMs, text] relative to arming, with -1 for
+     * "not yet" and text only once the response has been unchanged for arguments[1] ms.
+     * Returns null if the observer is gone (e.g. after a full page load).
+     */
+    private static final String POLL_SCRIPT = ElementScripts.FUNCTIONS +
+            "var s = window.__qaAiStream;" +
+            "if (!s) { return null; }" +
+            "var now = Date.now();" +
+            "var text = null;" +
+            "if (s.first !== null && now - s.last >= arguments[1]) {" +
+            "  var texts = findAll(arguments[0]).map(textOf);" +
+            "  text = texts.length ? texts[texts.length - 1] : '';" +
+            "  s.observer.disconnect();" +
+            "  window.__qaAiStream = null;" +
+            "}" +
+            "return [s.first === null ? -1 : s.first - s.start, s.last === null ? -1 : s.last - s.start," +
+            "  now - s.start, text];";
+
+    /**
+     * A completed response and how long it took, measured from the moment the waiter was armed.
+     *
+     * @param text             text of the newest response element
+     * @param firstTokenMillis time until the response text first grew, -1 if unknown
+     * @param completeMillis   time until the response text last changed, -1 if unknown
+     * @param polls            number of polls the wait took
+     */
+    public record StreamedResponse(String text, long firstTokenMillis, long completeMillis, int polls) {
+
+        /**
+         * Checks whether the timings were measured from the moment the prompt was sent.
+         *
+         * @return true if both timings are known
+         */
+        public boolean hasTimings() {
+            return firstTokenMillis >= 0 && completeMillis >= 0;
+        }
+    }
+
+    private StreamingResponseWaiter() {
+    }
+
+    /**
+     * Starts watching the response element. Call immediately before sending the prompt.
+     *
+     * @param driver          the WebDriver instance
+     * @param responseLocator locator matching the response element(s)
+     */
+    public static void arm(WebDriver driver, By responseLocator) {
+        ((JavascriptExecutor) driver).executeScript(ARM_SCRIPT, ElementScripts.toScriptLocator(responseLocator));
+    }
+
+    /**
+     * Waits until the response has started and then stopped changing for stableMillis.
+     *
+     * @param driver          the WebDriver instance
+     * @param responseLocator locator matching the response element(s)
+     * @param timeoutSeconds  the timeout in seconds
+     * @param stableMillis    how long the text must stay unchanged to count as complete
+     * @return the response text and its timings, which are -1 if the waiter had to be re-armed
+     * @throws TimeoutException if the response does not start or does not settle in time
+     */
+    public static StreamedResponse await(WebDriver driver, By responseLocator, int timeoutSeconds, long stableMillis) {
+        long start = System.nanoTime();
+        try {
+            return poll(driver, responseLocator, timeoutSeconds, stableMillis);
+        } finally {
+            ActionTimings.recordWait(System.nanoTime() - start);
+        }
+    }
+
+    private static StreamedResponse poll(WebDriver driver, By responseLocator, int timeoutSeconds, long stableMillis) {
+        Map<String, Object> scriptLocator = ElementScripts.toScriptLocator(responseLocator);
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long maxIdlePollMillis = ConfigProperties.get().aiResponsePollMaxMillis();
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        long idlePollMillis = 100;
+        int polls = 0;
+        boolean rearmed = false;
+        while (true) {
+            polls++;
+            List<?> sample = (List<?>) js.executeScript(POLL_SCRIPT, scriptLocator, stableMillis);
+            long firstToken = -1;
+            long lastChange = -1;
+            long elapsed = 0;
+            if (sample == null) {
+                // Not armed, or the page was reloaded: wait for the text on the page to grow from here
+                js.executeScript(ARM_SCRIPT, scriptLocator);
+                rearmed = true;
+            } else {
+                firstToken = ((Number) sample.get(0)).longValue();
+                lastChange = ((Number) sample.get(1)).longValue();
+                elapsed = ((Number) sample.get(2)).longValue();
+                if (sample.get(3) != null) {
+                    // After re-arming the timings count from the re-arm, not from sending the prompt
+                    return rearmed ? new StreamedResponse((String) sample.get(3), -1, -1, polls)
+                            : new StreamedResponse((String) sample.get(3), firstToken, lastChange, polls);
+                }
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException(firstToken < 0
+                        ? "No AI response started within " + timeoutSeconds + " s"
+                        : "AI response still changing after " + timeoutSeconds + " s (first token after "
+                        + firstToken + " ms, last change after " + lastChange + " ms)");
+            }
+            long sleepMillis;
+            if (firstToken < 0) {
+                sleepMillis = idlePollMillis;
+                idlePollMillis = Math.min(maxIdlePollMillis, idlePollMillis * 2);
+            } else {
+                // Earliest moment the text can have been stable for the full interval
+                sleepMillis = Math.max(50, lastChange + stableMillis - elapsed);
+            }
+            try {
+                Thread.sleep(Math.min(sleepMillis, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for the AI response", e);
+            }
+        }
+    }
+}
@@ -1,53 +1,126 @@
 package com.emergent.utils;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.emergent.shard.DurationHistory;
+import com.emergent.standin.StandInServer;
 import org.openqa.selenium.WebDriver;
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
 
-import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Custom TestNG listener to enhance test reporting and handle test events.
+ * Also sets {@link SmartRetryAnalyzer} on every test, which TestNG only applies when this listener
+ * is registered in testng.xml or on the command line.
  */
-public class TestListener implements ITestListener {
-    private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+public class TestListener implements ITestListener, ISuiteListener, IAnnotationTransformer,
+        IInvokedMethodListener {
+    private static ThreadLocal<Long> test = new ThreadLocal<>();
+    private static final List<Runnable> suiteFinishHooks = new CopyOnWriteArrayList<>();
     
+    @Override
+    public void onStart(ISuite suite) {
+        System.out.println("Suite started: " + suite.getName());
+        if (StandInServer.isEnabled()) {
+            StandInServer.startShared();
+        }
+        WebDriverFactory.prewarmPool();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        System.out.println("Suite finished: " + suite.getName());
+        System.out.println(WaitEngine.summary());
+        System.out.println(ElementCache.summary());
+        System.out.println(CircuitBreaker.summary());
+        System.out.println(SmartRetryAnalyzer.summary());
+        for (Runnable hook : suiteFinishHooks) {
+            try {
+                hook.run();
+            } catch (Exception e) {
+                System.err.println("Suite finish hook failed: " + e.getMessage());
+            }
+        }
+        suiteFinishHooks.clear();
+        if (!AiLatencyMetrics.isEmpty()) {
+            long latencyReport = ReportWriter.startTest("AI response latency",
+                    "Send to first text and send to stable text, per prompt");
+            ReportWriter.log(latencyReport, Status.INFO, AiLatencyMetrics.toHtml());
+            Path metricsFile = AiLatencyMetrics.write();
+            if (metricsFile != null) {
+                System.out.println("AI latency metrics written to " + metricsFile);
+            }
+        }
+        String pageTable = PageTimings.toHtml();
+        if (!pageTable.isEmpty()) {
+            long pageReport = ReportWriter.startTest("Page load timings",
+                    "Median Navigation Timing and Web Vitals per page");
+            ReportWriter.log(pageReport, Status.INFO, pageTable);
+            Path timingsFile = PageTimings.write();
+            if (timingsFile != null) {
+                System.out.println("Page timings written to " + timingsFile);
+            }
+        }
+        String locatorTable = Locator.unoptimisedHtml();
+        if (!locatorTable.isEmpty()) {
+            long locatorReport = ReportWriter.startTest("Locators needing XPath",
+                    "Page object locators that match text and could not be compiled to an id or CSS selector");
+            ReportWriter.log(locatorReport, Status.INFO, locatorTable);
+        }
+        String commandTable = CommandTrace.suiteHtml();
+        if (!commandTable.isEmpty()) {
+            long commandReport = ReportWriter.startTest("WebDriver round trips",
+                    "Round trips per command type, and tests that regressed against the baseline");
+            ReportWriter.log(commandReport, CommandTrace.getRegressions().isEmpty() ? Status.INFO : Status.WARNING,
+                    commandTable);
+            Path traceFile = CommandTrace.write();
+            if (traceFile != null) {
+                System.out.println("Command trace written to " + traceFile);
+            }
+        }
+        String actionTable = ActionTimings.toHtml(ActionTimings.suiteRows());
+        if (!actionTable.isEmpty()) {
+            long actionReport = ReportWriter.startTest("Page action timings",
+                    "Wall time, WebDriver commands and wait time per page action, slowest first");
+            ReportWriter.log(actionReport, Status.INFO, actionTable);
+            Path actionsFile = ActionTimings.write();
+            if (actionsFile != null) {
+                System.out.println("Page action timings written to " + actionsFile);
+            }
+        }
+        Path durationsFile = DurationHistory.write();
+        if (durationsFile != null) {
+            System.out.println("Test durations written to " + durationsFile);
+        }
+        ScreenshotWriter.awaitPending(ConfigProperties.get().reportCloseTimeoutSeconds());
+        ReportWriter.close();
+        WebDriverFactory.shutdownPool();
+        StandInServer.stopShared();
+    }
+
     /**
-     * Initialize the ExtentReports instance
+     * Registers a cleanup action to run when the suite finishes, before the WebDriver pool
+     * is shut down, so the action can still check out a driver.
+     *
+     * @param hook the action to run
      */
-    private static synchronized ExtentReports getExtentReports() {
-        if (extent == null) {
-            String reportPath = Constants.REPORT_PATH + "/ExtentReport_" + 
-                    new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date()) + ".html";
-            
-            // Create the reports directory if it doesn't exist
-            File reportsDir = new File(Constants.REPORT_PATH);
-            if (!reportsDir.exists()) {
-                reportsDir.mkdirs();
-            }
-            
-            ExtentSparkReporter reporter = new ExtentSparkReporter(reportPath);
-            reporter.config().setReportName("Emergent.sh Test Automation Report");
-            reporter.config().setDocumentTitle("Emergent.sh Test Results");
-            
-            extent = new ExtentReports();
-            extent.attachReporter(reporter);
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("Browser", ConfigProperties.getBrowser());
-            extent.setSystemInfo("Environment", ConfigProperties.getBaseUrl());
-            extent.setSystemInfo("User", System.getProperty("user.name"));
-        }
-        return extent;
+    public static void addSuiteFinishHook(Runnable hook) {
+        suiteFinishHooks.add(hook);
     }
-    
+
     @Override
     public void onStart(ITestContext context) {
         System.out.println("Test Suite started: " + context.getName());
@@ -55,59 +128,108 @@ public class TestListener implements ITestListener {
     
     @Override
     public void onFinish(ITestContext context) {
+        // The report is flushed by ReportWriter in the background and once at suite end
         System.out.println("Test Suite finished: " + context.getName());
-        getExtentReports().flush();
     }
     
     @Override
     public void onTestStart(ITestResult result) {
         System.out.println("Test started: " + result.getName());
-        ExtentTest extentTest = getExtentReports().createTest(result.getMethod().getMethodName(),
-                result.getMethod().getDescription());
-        test.set(extentTest);
+        test.set(ReportWriter.startTest(result.getMethod().getMethodName(),
+                result.getMethod().getDescription()));
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
         System.out.println("Test passed: " + result.getName());
-        test.get().log(Status.PASS, "Test passed");
+        log(Status.PASS, "Test passed");
+        String flakyReason = SmartRetryAnalyzer.recordPass(result);
+        if (flakyReason != null) {
+            log(Status.WARNING, "Flaky: passed after retrying " + flakyReason);
+            Long testId = test.get();
+            if (testId != null) {
+                ReportWriter.assignCategory(testId, "Flaky");
+            }
+        }
+        DurationHistory.record(testKey(result), result.getEndMillis() - result.getStartMillis(), true);
+        CircuitBreaker.recordSuccess();
+        logInstrumentation(result);
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
         System.out.println("Test failed: " + result.getName());
-        test.get().log(Status.FAIL, result.getThrowable());
+        DurationHistory.record(testKey(result), result.getEndMillis() - result.getStartMillis(), false);
+        CircuitBreaker.recordFailure(result.getMethod().getRealClass(), result.getThrowable());
+        Long testId = test.get();
+        if (testId != null) {
+            ReportWriter.log(testId, Status.FAIL, result.getThrowable());
+        }
         
         // Take screenshot on failure if configured
-        if (Boolean.parseBoolean(ConfigProperties.getProperty("take.screenshot.on.failure", "true"))) {
+        if (ConfigProperties.get().screenshotOnFailure()) {
             try {
-                WebDriver driver = (WebDriver) result.getTestClass().getRealClass()
-                        .getDeclaredField("webDriver").get(result.getInstance());
+                WebDriver driver = WebDriverFactory.getCurrentDriver();
                 
-                if (driver != null) {
-                    String screenshotPath = TestUtils.captureScreenshot(driver, result.getName());
-                    test.get().addScreenCaptureFromPath(screenshotPath);
+                if (driver != null && testId != null) {
+                    // Only the capture happens here; encoding and writing run in the background
+                    ScreenshotWriter.capture(driver, result.getName(), testId);
                 }
             } catch (Exception e) {
                 System.err.println("Failed to capture screenshot: " + e.getMessage());
             }
         }
+        logInstrumentation(result);
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
         System.out.println("Test skipped: " + result.getName());
-        test.get().log(Status.SKIP, "Test skipped");
+        if (result.wasRetried()) {
+            log(Status.WARNING, "Retrying after infrastructure failure: " + result.getThrowable());
+        } else {
+            log(Status.SKIP, result.getThrowable() == null ? "Test skipped"
+                    : "Test skipped: " + result.getThrowable().getMessage());
+        }
+        logInstrumentation(result);
     }
     
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            PageTimings.testBodyStarted();
+            ActionTimings.startTest();
+            CommandTrace.startTest();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            PageTimings.testBodyFinished();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+                          Method testMethod) {
+        if (!ConfigProperties.get().retryEnabled()) {
+            return;
+        }
+        // TestNG's own placeholder stands for "no analyzer"; one declared by a test is kept
+        Class<?> declared = annotation.getRetryAnalyzerClass();
+        if (declared == null || declared.getName().startsWith("org.testng.")) {
+            annotation.setRetryAnalyzer(SmartRetryAnalyzer.class);
+        }
+    }
+
     /**
      * Logs a message to the current test report
      * @param message the message to log
      */
     public static void logInfo(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.INFO, message);
-        }
+        log(Status.INFO, message);
     }
     
     /**
@@ -115,9 +237,7 @@ public class TestListener implements ITestListener {
      * @param message the warning message to log
      */
     public static void logWarning(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.WARNING, message);
-        }
+        log(Status.WARNING, message);
     }
     
     /**
@@ -125,8 +245,68 @@ public class TestListener implements ITestListener {
      * @param message the error message to log
      */
     public static void logError(String message) {
-        if (test.get() != null) {
-            test.get().log(Status.FAIL, message);
+        log(Status.FAIL, message);
+    }
+
+    /**
+     * Adds the page actions and WebDriver round trips of the test that just finished on this
+     * thread to its report entry, and warns if the round trips regressed against the baseline.
+     * Also closes the timing of the page the test ended on, which reads its final CLS and INP.
+     * @param result the finished test
+     */
+    private static void logInstrumentation(ITestResult result) {
+        PageTimings.finish(WebDriverFactory.getCurrentDriver());
+        String actions = ActionTimings.toHtml(ActionTimings.finishTest());
+        if (!actions.isEmpty()) {
+            log(Status.INFO, actions);
+        }
+        if (!CommandTrace.isEnabled()) {
+            return;
+        }
+        CommandTrace.TestTrace trace = CommandTrace.finishTest(testKey(result));
+        String commands = CommandTrace.toHtml(trace);
+        if (!commands.isEmpty()) {
+            log(Status.INFO, commands);
+        }
+        if (trace.regressed()) {
+            log(Status.WARNING, "WebDriver round trips regressed: " + trace.total() + " against a baseline of "
+                    + trace.baseline());
+        }
+    }
+
+    /**
+     * Builds a name for a test that is stable across runs: class, method and data provider parameters
+     * @param result the test result
+     * @return the test key
+     */
+    public static String testKey(ITestResult result) {
+        return testKey(result.getMethod().getRealClass(), result.getMethod().getMethodName(), result.getParameters());
+    }
+
+    /**
+     * Builds the stable name of a test from its parts
+     * @param testClass  the test class
+     * @param method     the test method name
+     * @param parameters the data provider parameters, may be null or empty
+     * @return the test key
+     */
+    public static String testKey(Class<?> testClass, String method, Object[] parameters) {
+        StringBuilder key = new StringBuilder(testClass.getSimpleName()).append('.').append(method);
+        if (parameters != null && parameters.length > 0) {
+            key.append('(');
+            for (int i = 0; i < parameters.length; i++) {
+                key.append(i == 0 ? "" : ", ").append(parameters[i] instanceof Object[] array
+                        ? Arrays.toString(array) : String.valueOf(parameters[i]));
+            }
+            key.append(')');
+        }
+        return key.toString();
+    }
+
+    private static void log(Status status, String message) {
+        Long testId = test.get();
+        if (testId != null) {
+            ReportWriter.log(testId, status, message);
         }
     }
-}
\ No newline at end of file
+}
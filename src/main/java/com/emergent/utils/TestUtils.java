@@ -1,18 +1,22 @@
 package com.emergent.utils;
 
 import com.github.javafaker.Faker;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class providing common methods for test automation.
@@ -20,6 +24,44 @@ import java.util.Date;
 public class TestUtils {
     private static final Faker faker = new Faker();
 
+    /**
+     * Installs (once per document) a MutationObserver and fetch/XHR counters, then reports
+     * [readyState, milliseconds since the last DOM mutation, pending request count].
+     * Only added/removed nodes and text changes count as mutations, not attribute changes, and
+     * mutations inside busy indicators ([aria-busy=true], progress bars) are ignored, so spinners
+     * and animations do not keep the page from settling. Requests started before the first call
+     * are not counted.
+     */
+    private static final String QUIESCENCE_SCRIPT =
+            "var w = window;" +
+            "if (!w.__qaQuiescence) {" +
+            "  var state = {lastMutation: Date.now(), pending: 0};" +
+            "  var busy = '[aria-busy=\"true\"], [role=\"progressbar\"], progress';" +
+            "  new MutationObserver(function(mutations) {" +
+            "    for (var i = 0; i < mutations.length; i++) {" +
+            "      var node = mutations[i].target;" +
+            "      var element = node.nodeType === 1 ? node : node.parentElement;" +
+            "      if (!element || !element.closest(busy)) { state.lastMutation = Date.now(); return; }" +
+            "    }" +
+            "  }).observe(document, {childList: true, subtree: true, characterData: true});" +
+            "  if (w.fetch) {" +
+            "    var originalFetch = w.fetch;" +
+            "    w.fetch = function() {" +
+            "      state.pending++;" +
+            "      return originalFetch.apply(this, arguments).finally(function() { state.pending--; });" +
+            "    };" +
+            "  }" +
+            "  var originalSend = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function() {" +
+            "    state.pending++;" +
+            "    this.addEventListener('loadend', function() { state.pending--; });" +
+            "    return originalSend.apply(this, arguments);" +
+            "  };" +
+            "  w.__qaQuiescence = state;" +
+            "}" +
+            "var s = w.__qaQuiescence;" +
+            "return [document.readyState, Date.now() - s.lastMutation, Math.max(0, s.pending)];";
+
     /**
      * Waits for an element to be visible.
      *
@@ -29,8 +71,8 @@ public class TestUtils {
      * @return the visible WebElement
      */
     public static WebElement waitForElementVisible(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return WaitEngine.forDriver(driver).withTimeout(timeout)
+                .until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     /**
@@ -53,8 +95,8 @@ public class TestUtils {
      * @return the clickable WebElement
      */
     public static WebElement waitForElementClickable(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return WaitEngine.forDriver(driver).withTimeout(timeout)
+                .until(ExpectedConditions.elementToBeClickable(locator));
     }
 
     /**
@@ -68,6 +110,45 @@ public class TestUtils {
         return waitForElementClickable(driver, locator, ConfigProperties.getDefaultTimeout());
     }
 
+    /**
+     * Waits until every locator resolves to a clickable element.
+     * All locators are checked together by one script per poll, so the readiness check
+     * of a page costs a single WebDriver round trip per poll regardless of locator count.
+     *
+     * @param driver   the WebDriver instance
+     * @param timeout  the timeout in seconds
+     * @param locators the element locators
+     * @return the first element matched by each locator, in locator order
+     * @throws TimeoutException naming the locators that were still missing
+     */
+    public static List<WebElement> waitForAllClickable(WebDriver driver, int timeout, By... locators) {
+        List<Map<String, Object>> scriptLocators = ElementScripts.toScriptLocators(locators);
+        final List<?>[] lastMissing = new List<?>[1];
+        ExpectedCondition<List<WebElement>> allClickable = new ExpectedCondition<List<WebElement>>() {
+            @SuppressWarnings("unchecked")
+            public List<WebElement> apply(WebDriver driver) {
+                List<?> result = (List<?>) ((JavascriptExecutor) driver)
+                        .executeScript(ElementScripts.MISSING_CLICKABLE, scriptLocators);
+                List<?> missing = (List<?>) result.get(0);
+                lastMissing[0] = missing;
+                return missing.isEmpty() ? (List<WebElement>) result.get(1) : null;
+            }
+        };
+        try {
+            return WaitEngine.forDriver(driver).withTimeout(timeout).until(allClickable);
+        } catch (TimeoutException e) {
+            List<By> missing = new ArrayList<>();
+            if (lastMissing[0] == null) {
+                missing.addAll(Arrays.asList(locators));
+            } else {
+                for (Object index : lastMissing[0]) {
+                    missing.add(locators[((Number) index).intValue()]);
+                }
+            }
+            throw new TimeoutException("Elements not clickable after " + timeout + " s: " + missing, e);
+        }
+    }
+
     /**
      * Waits for a custom condition with specified timeout.
      *
@@ -78,8 +159,7 @@ public class TestUtils {
      * @return the result of the condition
      */
     public static <T> T waitFor(WebDriver driver, ExpectedCondition<T> condition, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(condition);
+        return WaitEngine.forDriver(driver).withTimeout(timeout).until(condition);
     }
 
     /**
@@ -157,11 +237,10 @@ public class TestUtils {
      */
     public static String captureScreenshot(WebDriver driver, String testName) {
         try {
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            File source = ts.getScreenshotAs(OutputType.FILE);
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
             String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
             String fileName = testName + "_" + timestamp + ".png";
-            String directory = ConfigProperties.getProperty("screenshot.path", Constants.SCREENSHOT_PATH);
+            String directory = ConfigProperties.get().screenshotPath();
 
             // Create directory if it doesn't exist
             File screenshotDir = new File(directory);
@@ -170,8 +249,7 @@ public class TestUtils {
             }
 
             String destination = directory + File.separator + fileName;
-            File target = new File(destination);
-            FileUtils.copyFile(source, target);
+            Files.write(Paths.get(destination), png);
             TestListener.logInfo("Screenshot saved to: " + destination);
             return destination;
         } catch (IOException e) {
@@ -256,6 +334,47 @@ public class TestUtils {
         }
     }
 
+    /**
+     * Gets the text of every element matched by a locator in a single round trip,
+     * instead of one getText() call per element.
+     *
+     * @param driver  the WebDriver instance
+     * @param locator the element locator
+     * @return the trimmed text of each matched element, in document order
+     */
+    public static List<String> extractTexts(WebDriver driver, By locator) {
+        List<?> texts = (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(ElementScripts.TEXTS, ElementScripts.toScriptLocator(locator));
+        List<String> result = new ArrayList<>(texts.size());
+        for (Object text : texts) {
+            result.add(text == null ? "" : text.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the text and the requested attributes of every element matched by a locator
+     * in a single round trip.
+     *
+     * @param driver     the WebDriver instance
+     * @param locator    the element locator
+     * @param attributes the attribute names to read from each element
+     * @return one map per matched element with the text under "text" and each attribute under its name
+     */
+    public static List<Map<String, String>> extractElementData(WebDriver driver, By locator, String... attributes) {
+        List<?> rows = (List<?>) ((JavascriptExecutor) driver).executeScript(ElementScripts.ELEMENT_DATA,
+                ElementScripts.toScriptLocator(locator), Arrays.asList(attributes));
+        List<Map<String, String>> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Map<String, String> data = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) row).entrySet()) {
+                data.put(entry.getKey().toString(), entry.getValue() == null ? null : entry.getValue().toString());
+            }
+            result.add(data);
+        }
+        return result;
+    }
+
     /**
      * Waits for a page to load completely.
      *
@@ -268,8 +387,7 @@ public class TestUtils {
                 return ((JavascriptExecutor) driver).executeScript("return document.readyState").equals("complete");
             }
         };
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        wait.until(pageLoadCondition);
+        WaitEngine.forDriver(driver).withTimeout(timeout).until(pageLoadCondition);
     }
 
     /**
@@ -281,6 +399,55 @@ public class TestUtils {
         waitForPageToLoad(driver, ConfigProperties.getDefaultTimeout());
     }
 
+    /**
+     * Waits until the page is stable: the document has finished loading, no DOM mutation has
+     * happened for the given quiet period and no fetch/XHR request is in flight.
+     * Returns as soon as that holds, instead of sleeping for a fixed amount of time. A page that
+     * keeps changing, such as one streaming output, only delays the caller by the timeout.
+     *
+     * @param driver      the WebDriver instance
+     * @param quietMillis how long the DOM must stay unchanged, in milliseconds
+     * @param timeout     the timeout in seconds
+     * @return true if the page settled, false if the timeout elapsed first
+     */
+    public static boolean waitForDomQuiescence(WebDriver driver, long quietMillis, int timeout) {
+        final List<?>[] lastSample = new List<?>[1];
+        ExpectedCondition<Boolean> quiescent = new ExpectedCondition<Boolean>() {
+            public Boolean apply(WebDriver driver) {
+                List<?> sample = (List<?>) ((JavascriptExecutor) driver).executeScript(QUIESCENCE_SCRIPT);
+                lastSample[0] = sample;
+                return "complete".equals(sample.get(0))
+                        && ((Number) sample.get(1)).longValue() >= quietMillis
+                        && ((Number) sample.get(2)).longValue() == 0;
+            }
+        };
+        try {
+            WaitEngine.forDriver(driver).withTimeout(timeout, Math.max(50, Math.min(quietMillis / 2, 250)))
+                    .until(quiescent);
+            return true;
+        } catch (TimeoutException e) {
+            List<?> sample = lastSample[0];
+            String state = sample == null ? "no sample collected"
+                    : "readyState=" + sample.get(0) + ", last DOM mutation " + sample.get(1)
+                    + " ms ago, " + sample.get(2) + " pending fetch/XHR request(s)";
+            System.out.println("Page did not become quiescent within " + timeout + " s (" + state
+                    + ") at " + driver.getCurrentUrl() + ", continuing");
+            return false;
+        }
+    }
+
+    /**
+     * Waits for the page to become stable using the configured quiet period and timeout.
+     *
+     * @param driver the WebDriver instance
+     * @return true if the page settled, false if the timeout elapsed first
+     */
+    public static boolean waitForDomQuiescence(WebDriver driver) {
+        return waitForDomQuiescence(driver,
+                ConfigProperties.get().quiescenceQuietMillis(),
+                ConfigProperties.get().quiescenceTimeout());
+    }
+
     /**
      * Refreshes the current page.
      *
@@ -0,0 +1,191 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Per-driver wait engine replacing a new WebDriverWait per call.
+ * Polls quickly at first and then backs off exponentially up to a cap, so conditions that are
+ * already true return after a single check and long waits do not hammer the browser.
+ * Waiters are immutable and cached per (timeout, poll cap), and every call records how many
+ * polls it took and how long it waited.
+ */
+public class WaitEngine {
+    private static final Map<WebDriver, WaitEngine> engines = new ConcurrentHashMap<>();
+    private static final ThreadLocal<CallStats> lastCall = new ThreadLocal<>();
+
+    private static final LongAdder totalCalls = new LongAdder();
+    private static final LongAdder totalPolls = new LongAdder();
+    private static final LongAdder totalWaitedNanos = new LongAdder();
+    private static final LongAdder totalTimeouts = new LongAdder();
+
+    private final WebDriver driver;
+    private final long initialPollMillis;
+    private final double pollMultiplier;
+    private final long maxPollMillis;
+    private final Map<Schedule, Waiter> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics of a single wait.
+     *
+     * @param polls        number of times the condition was evaluated
+     * @param waitedMillis total time spent in the wait
+     * @param timedOut     whether the wait ended in a timeout
+     */
+    public record CallStats(int polls, long waitedMillis, boolean timedOut) {
+    }
+
+    private record Schedule(long timeoutMillis, long maxPollMillis) {
+    }
+
+    private WaitEngine(WebDriver driver) {
+        this.driver = driver;
+        ConfigSnapshot config = ConfigProperties.get();
+        this.initialPollMillis = config.waitPollInitialMillis();
+        this.pollMultiplier = config.waitPollMultiplier();
+        this.maxPollMillis = config.waitPollMaxMillis();
+    }
+
+    /**
+     * Gets the wait engine of a driver, creating it on first use.
+     *
+     * @param driver the WebDriver instance
+     * @return the driver's wait engine
+     */
+    public static WaitEngine forDriver(WebDriver driver) {
+        return engines.computeIfAbsent(driver, WaitEngine::new);
+    }
+
+    /**
+     * Drops the wait engine of a driver that is being quit.
+     *
+     * @param driver the WebDriver instance
+     */
+    public static void release(WebDriver driver) {
+        engines.remove(driver);
+    }
+
+    /**
+     * Gets a waiter with the given timeout and the configured polling schedule.
+     *
+     * @param timeoutSeconds the timeout in seconds
+     * @return a cached waiter
+     */
+    public Waiter withTimeout(int timeoutSeconds) {
+        return withTimeout(timeoutSeconds, maxPollMillis);
+    }
+
+    /**
+     * Gets a waiter with the given timeout whose polling interval never exceeds maxPollMillis.
+     *
+     * @param timeoutSeconds the timeout in seconds
+     * @param maxPollMillis  the cap of the polling interval in milliseconds
+     * @return a cached waiter
+     */
+    public Waiter withTimeout(int timeoutSeconds, long maxPollMillis) {
+        Schedule schedule = new Schedule(TimeUnit.SECONDS.toMillis(timeoutSeconds), maxPollMillis);
+        return waiters.computeIfAbsent(schedule, key -> new Waiter(this, key));
+    }
+
+    /**
+     * Gets the statistics of the last wait performed on the calling thread.
+     *
+     * @return the last call's statistics, or null if the thread has not waited yet
+     */
+    public static CallStats lastCall() {
+        return lastCall.get();
+    }
+
+    /**
+     * Summarises every wait performed so far.
+     *
+     * @return a one-line summary of calls, polls, time waited and timeouts
+     */
+    public static String summary() {
+        long calls = totalCalls.sum();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(totalWaitedNanos.sum());
+        return String.format("Waits: %d calls, %d polls (%.1f per call), %d ms waited (%.1f ms per call), %d timeouts",
+                calls, totalPolls.sum(), calls == 0 ? 0.0 : (double) totalPolls.sum() / calls,
+                waitedMillis, calls == 0 ? 0.0 : (double) waitedMillis / calls, totalTimeouts.sum());
+    }
+
+    /**
+     * Waits for a condition with a fixed timeout and backoff polling.
+     * Like WebDriverWait it ignores NotFoundException and StaleElementReferenceException while
+     * polling and treats null and false as "not yet".
+     */
+    public static class Waiter {
+        private final WaitEngine engine;
+        private final Schedule schedule;
+
+        private Waiter(WaitEngine engine, Schedule schedule) {
+            this.engine = engine;
+            this.schedule = schedule;
+        }
+
+        /**
+         * Polls the condition until it returns a non-null, non-false value.
+         *
+         * @param condition the condition to evaluate
+         * @param <T>       the type of the condition result
+         * @return the condition's result
+         * @throws TimeoutException if the condition is not met within the timeout
+         */
+        public <T> T until(Function<? super WebDriver, T> condition) {
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(schedule.timeoutMillis);
+            // The cap applies to the first poll too, in case the initial interval is configured above it
+            long interval = Math.min(engine.initialPollMillis, schedule.maxPollMillis);
+            int polls = 0;
+            RuntimeException lastError = null;
+            while (true) {
+                polls++;
+                try {
+                    T result = condition.apply(engine.driver);
+                    if (result != null && !Boolean.FALSE.equals(result)) {
+                        record(start, polls, false);
+                        return result;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    record(start, polls, true);
+                    throw new TimeoutException(String.format(
+                            "Expected condition failed: waiting for %s (tried for %d ms with %d polls)",
+                            condition, schedule.timeoutMillis, polls), lastError);
+                }
+                try {
+                    Thread.sleep(Math.min(interval, TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    record(start, polls, true);
+                    throw new TimeoutException("Interrupted while waiting for " + condition, e);
+                }
+                interval = Math.min(schedule.maxPollMillis, Math.max(interval + 1, (long) (interval * engine.pollMultiplier)));
+            }
+        }
+
+        private static void record(long start, int polls, boolean timedOut) {
+            long waitedNanos = System.nanoTime() - start;
+            ActionTimings.recordWait(waitedNanos);
+            lastCall.set(new CallStats(polls, TimeUnit.NANOSECONDS.toMillis(waitedNanos), timedOut));
+            totalCalls.increment();
+            totalPolls.add(polls);
+            totalWaitedNanos.add(waitedNanos);
+            if (timedOut) {
+                totalTimeouts.increment();
+            }
+        }
+    }
+}
@@ -10,11 +10,81 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 /**
  * Factory class to create WebDriver instances for different browsers.
  */
 public class WebDriverFactory {
+    private static volatile WebDriverPool pool;
+
+    /**
+     * Gets the shared driver pool, creating it from configuration on first use.
+     *
+     * @return the shared WebDriverPool
+     */
+    public static WebDriverPool getPool() {
+        if (pool == null) {
+            synchronized (WebDriverFactory.class) {
+                if (pool == null) {
+                    ConfigSnapshot config = ConfigProperties.get();
+                    pool = new WebDriverPool(config.browser(), config.headless(), config.poolSize(),
+                            config.poolMaxIdleSeconds() * 1000, config.poolCheckoutTimeoutSeconds() * 1000);
+                    Runtime.getRuntime().addShutdownHook(new Thread(WebDriverFactory::shutdownPool));
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Starts the configured number of browsers in the background so that driver
+     * startup overlaps with suite bootstrap. Does nothing when pre-warming is disabled.
+     */
+    public static void prewarmPool() {
+        if (!ConfigProperties.get().poolPrewarm()) {
+            return;
+        }
+        int started = getPool().prewarm(ConfigProperties.get().poolPrewarmCount(), ConfigProperties.getBaseUrl());
+        System.out.println("Pre-warming " + started + " browser session(s)");
+    }
+
+    /**
+     * Checks out a pooled driver and binds it to the current thread.
+     *
+     * @return a WebDriver owned by the current thread
+     */
+    public static WebDriver acquireDriver() {
+        return getPool().checkout();
+    }
+
+    /**
+     * Gets the pooled driver bound to the current thread.
+     *
+     * @return the current thread's WebDriver, or null if none is bound
+     */
+    public static WebDriver getCurrentDriver() {
+        return pool == null ? null : pool.current();
+    }
+
+    /**
+     * Returns the current thread's driver to the pool.
+     */
+    public static void releaseDriver() {
+        if (pool != null) {
+            pool.checkin();
+        }
+    }
+
+    /**
+     * Quits every idle pooled driver. Called once the suite has finished.
+     */
+    public static void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
 
     /**
      * Creates a WebDriver instance for the specified browser.
@@ -44,6 +114,10 @@ public class WebDriverFactory {
                 driver = createChromeDriver(headless);
         }
 
+        if (ActionTimings.isEnabled() || CommandTrace.isEnabled() || ElementCache.isEnabled()) {
+            // Count and time every command, and invalidate the element caches on every navigation
+            driver = new EventFiringDecorator<>(new CommandListener()).decorate(driver);
+        }
         return driver;
     }
 
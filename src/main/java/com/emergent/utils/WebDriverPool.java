@@ -0,0 +1,301 @@
+package com.emergent.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, thread-safe pool of WebDriver sessions.
+ * Drivers are checked out by a test thread, bound to it through a ThreadLocal,
+ * and returned to the pool when the test class finishes so the next class can
+ * reuse the browser instead of launching a new one.
+ */
+public class WebDriverPool {
+    private final String browserType;
+    private final boolean headless;
+    private final long maxIdleMillis;
+    private final long checkoutTimeoutMillis;
+
+    private final Semaphore capacity;
+    private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final ThreadLocal<WebDriver> boundDriver = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    /**
+     * Idle driver together with the time it was returned to the pool.
+     */
+    private static class PooledDriver {
+        private final WebDriver driver;
+        private final long returnedAt;
+
+        private PooledDriver(WebDriver driver, long returnedAt) {
+            this.driver = driver;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    /**
+     * Creates a pool for the given browser configuration.
+     *
+     * @param browserType           the browser type (chrome, firefox, edge, safari)
+     * @param headless              whether to run in headless mode
+     * @param maxSize               maximum number of live drivers
+     * @param maxIdleMillis         idle drivers older than this are quit instead of reused
+     * @param checkoutTimeoutMillis how long checkout waits for a free driver
+     */
+    public WebDriverPool(String browserType, boolean headless, int maxSize, long maxIdleMillis,
+                         long checkoutTimeoutMillis) {
+        this.browserType = browserType;
+        this.headless = headless;
+        this.maxIdleMillis = maxIdleMillis;
+        this.checkoutTimeoutMillis = checkoutTimeoutMillis;
+        this.capacity = new Semaphore(Math.max(1, maxSize), true);
+    }
+
+    /**
+     * Checks out a driver and binds it to the calling thread.
+     * Reuses a healthy idle driver when possible, otherwise launches a new one
+     * if the pool has capacity, otherwise waits for a driver to be returned.
+     *
+     * @return a WebDriver owned by the calling thread until it is returned
+     */
+    public WebDriver checkout() {
+        WebDriver current = boundDriver.get();
+        if (current != null) {
+            return current;
+        }
+
+        long deadline = System.currentTimeMillis() + checkoutTimeoutMillis;
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("WebDriver pool has been shut down");
+            }
+
+            PooledDriver pooled = idle.pollFirst();
+            if (pooled != null) {
+                if (isReusable(pooled)) {
+                    boundDriver.set(pooled.driver);
+                    return pooled.driver;
+                }
+                discard(pooled.driver);
+                continue;
+            }
+
+            if (capacity.tryAcquire()) {
+                try {
+                    WebDriver driver = WebDriverFactory.createDriver(browserType, headless);
+                    boundDriver.set(driver);
+                    return driver;
+                } catch (RuntimeException e) {
+                    capacity.release();
+                    throw e;
+                }
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Timed out after " + checkoutTimeoutMillis
+                        + " ms waiting for a free WebDriver");
+            }
+            try {
+                pooled = idle.pollFirst(Math.min(remaining, 500), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a free WebDriver", e);
+            }
+            if (pooled != null) {
+                idle.offerFirst(pooled);
+            }
+        }
+    }
+
+    /**
+     * Launches up to the given number of browsers concurrently in the background and
+     * navigates each one to the warm-up URL so caches are primed before the first checkout.
+     * Capacity is reserved up front, so a checkout that arrives while browsers are still
+     * starting waits for the first warmed driver instead of launching another one.
+     *
+     * @param count   number of browsers to start
+     * @param warmUrl URL to load in each browser, or null to skip navigation
+     * @return the number of warm-ups that were started
+     */
+    public int prewarm(int count, String warmUrl) {
+        int started = 0;
+        while (started < count && !closed && capacity.tryAcquire()) {
+            started++;
+        }
+        if (started == 0) {
+            return 0;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(started, runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-prewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < started; i++) {
+            executor.submit(() -> warmUp(warmUrl));
+        }
+        executor.shutdown();
+        return started;
+    }
+
+    /**
+     * Gets the driver bound to the calling thread.
+     *
+     * @return the bound WebDriver, or null if the thread has not checked one out
+     */
+    public WebDriver current() {
+        return boundDriver.get();
+    }
+
+    /**
+     * Returns the driver bound to the calling thread to the pool.
+     * The browser visits the origin of base.url and of app.url in turn, deletes the cookies and
+     * clears localStorage and sessionStorage of each, and is then parked on a blank page, so that
+     * no login state leaks into the next thread that checks it out. A driver that cannot reach
+     * both origins, or whose cleanup fails, is discarded instead.
+     */
+    public void checkin() {
+        WebDriver driver = boundDriver.get();
+        boundDriver.remove();
+        if (driver == null) {
+            return;
+        }
+        if (closed || !isHealthy(driver)) {
+            discard(driver);
+            return;
+        }
+        try {
+            for (String origin : applicationOrigins()) {
+                if (!clearOrigin(driver, origin)) {
+                    discard(driver);
+                    return;
+                }
+            }
+            driver.get("about:blank");
+        } catch (Exception e) {
+            discard(driver);
+            return;
+        }
+        idle.offerFirst(new PooledDriver(driver, System.currentTimeMillis()));
+        evictExpired();
+    }
+
+    /**
+     * Gets the distinct origins of the public site and the application.
+     */
+    private static Set<String> applicationOrigins() {
+        Set<String> origins = new LinkedHashSet<>();
+        origins.add(origin(ConfigProperties.getBaseUrl()));
+        origins.add(origin(ConfigProperties.getAppUrl()));
+        return origins;
+    }
+
+    /**
+     * Deletes the cookies and clears the web storage of one origin. Cookies and storage can only
+     * be reached from a page of their own origin, so the browser first loads pool.cleanup.path there.
+     *
+     * @return true if the origin was cleared, false if the browser ended up on another origin
+     */
+    private static boolean clearOrigin(WebDriver driver, String origin) {
+        driver.get(origin + ConfigProperties.get().poolCleanupPath());
+        String current = driver.getCurrentUrl();
+        if (current == null || !origin(current).equals(origin)) {
+            return false;
+        }
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        return true;
+    }
+
+    private static String origin(String url) {
+        int pathStart = url.indexOf('/', url.indexOf("://") + 3);
+        return pathStart < 0 ? url : url.substring(0, pathStart);
+    }
+
+    /**
+     * Quits idle drivers that have been unused for longer than the max idle time.
+     */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (PooledDriver pooled : idle) {
+            if (now - pooled.returnedAt > maxIdleMillis && idle.remove(pooled)) {
+                discard(pooled.driver);
+            }
+        }
+    }
+
+    /**
+     * Quits all idle drivers and rejects further checkouts.
+     * Drivers still checked out are quit when they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled.driver);
+        }
+    }
+
+    /**
+     * Checks whether a driver session is still alive.
+     *
+     * @param driver the driver to check
+     * @return true if the browser responds to a command
+     */
+    public static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void warmUp(String warmUrl) {
+        WebDriver driver;
+        try {
+            driver = WebDriverFactory.createDriver(browserType, headless);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to pre-warm WebDriver: " + e.getMessage());
+            capacity.release();
+            return;
+        }
+        if (warmUrl != null) {
+            try {
+                driver.get(warmUrl);
+            } catch (Exception e) {
+                System.err.println("Failed to load warm-up URL " + warmUrl + ": " + e.getMessage());
+            }
+        }
+        if (closed) {
+            discard(driver);
+            return;
+        }
+        idle.offerLast(new PooledDriver(driver, System.currentTimeMillis()));
+    }
+
+    private boolean isReusable(PooledDriver pooled) {
+        return System.currentTimeMillis() - pooled.returnedAt <= maxIdleMillis && isHealthy(pooled.driver);
+    }
+
+    private void discard(WebDriver driver) {
+        WaitEngine.release(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Failed to quit pooled WebDriver: " + e.getMessage());
+        } finally {
+            capacity.release();
+        }
+    }
+}
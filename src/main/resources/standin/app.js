@@ -0,0 +1,376 @@
+// Stand-in for the Emergent web app. Renders one view per path with markup that matches
+// the locators in com.emergent.pages and talks to the in-memory API served by StandInServer.
+(function () {
+    'use strict';
+
+    var app = document.getElementById('app');
+
+    function esc(text) {
+        return String(text == null ? '' : text)
+            .replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;')
+            .replace(/"/g, '&quot;').replace(/'/g, '&#39;');
+    }
+
+    function api(method, path, data) {
+        var options = {method: method, credentials: 'same-origin', headers: {}};
+        if (data) {
+            options.headers['Content-Type'] = 'application/x-www-form-urlencoded';
+            options.body = new URLSearchParams(data).toString();
+        }
+        return fetch('/api' + path, options).then(function (response) {
+            return response.json().then(function (body) {
+                if (!response.ok) {
+                    var error = new Error(body.error || ('HTTP ' + response.status));
+                    error.status = response.status;
+                    throw error;
+                }
+                return body;
+            });
+        });
+    }
+
+    function go(path) {
+        history.pushState(null, '', path);
+        render();
+    }
+
+    function value(id) {
+        return document.getElementById(id).value;
+    }
+
+    function showMessage(type, text) {
+        var messages = document.getElementById('messages');
+        messages.innerHTML = '<div class="' + type + '-message">' + esc(text) + '</div>';
+    }
+
+    function clearMessages() {
+        document.getElementById('messages').innerHTML = '';
+    }
+
+    function fail(error) {
+        if (error.status === 401) {
+            go('/login');
+            return;
+        }
+        showMessage('error', error.message);
+    }
+
+    // Reveals text word by word like a streamed AI response, then calls done
+    function stream(element, text, chunkMillis, done) {
+        var words = String(text).split(' ');
+        var shown = 0;
+        (function next() {
+            if (!element.isConnected) {
+                return;
+            }
+            if (!chunkMillis || shown >= words.length) {
+                element.textContent = text;
+                done();
+                return;
+            }
+            shown++;
+            element.textContent = words.slice(0, shown).join(' ');
+            setTimeout(next, chunkMillis);
+        })();
+    }
+
+    // Renders the view and wires every element with a data-action attribute to its handler
+    function show(html, actions) {
+        app.innerHTML = html;
+        Array.prototype.forEach.call(app.querySelectorAll('[data-action]'), function (element) {
+            element.addEventListener('click', function (event) {
+                event.preventDefault();
+                actions[element.getAttribute('data-action')](element);
+            });
+        });
+    }
+
+    function requireSession(then) {
+        api('GET', '/session').then(then, function () {
+            go('/login');
+        });
+    }
+
+    function home() {
+        show('<h1>Build apps with AI</h1>' +
+            '<a href="/login">Log in with email</a>' +
+            '<a href="/signup">Don\'t have an account? Sign up</a>' +
+            '<a href="/forgot-password">Forgot Password?</a>', {});
+    }
+
+    function login() {
+        show('<h1>Welcome back</h1><div id="messages"></div>' +
+            '<input id="email" type="email" placeholder="Email">' +
+            '<input id="password" type="password" placeholder="Password">' +
+            '<button data-action="login">Log in</button>' +
+            '<a href="/signup">Sign up</a>' +
+            '<a href="/forgot-password">Forgot Password?</a>', {
+            login: function () {
+                api('POST', '/login', {email: value('email'), password: value('password')})
+                    .then(function () { go('/dashboard'); }, fail);
+            }
+        });
+    }
+
+    function signUp() {
+        show('<h1>Create your account</h1><div id="messages"></div>' +
+            '<input id="name" placeholder="Name">' +
+            '<input id="email" type="email" placeholder="Email">' +
+            '<input id="password" type="password" placeholder="Password">' +
+            '<input id="confirmPassword" type="password" placeholder="Confirm password">' +
+            '<label><input id="terms" type="checkbox"> I accept the terms and conditions</label>' +
+            '<button data-action="signUp">Sign up</button>' +
+            '<a href="/login">Log in instead</a>', {
+            signUp: function () {
+                api('POST', '/signup', {
+                    name: value('name'), email: value('email'), password: value('password'),
+                    confirmPassword: value('confirmPassword'), terms: document.getElementById('terms').checked
+                }).then(function () { go('/dashboard'); }, fail);
+            }
+        });
+    }
+
+    function forgotPassword() {
+        show('<h1>Forgot Password</h1><div id="messages"></div>' +
+            '<input id="email" type="email" placeholder="Email">' +
+            '<button data-action="reset">Reset Password</button>' +
+            '<a href="/login">Back to Login</a>', {
+            reset: function () {
+                api('POST', '/forgot-password', {email: value('email')})
+                    .then(function (body) { showMessage('success', body.message); }, fail);
+            }
+        });
+    }
+
+    function dashboard() {
+        requireSession(function (session) {
+            show('<header><h1>Dashboard</h1>' +
+                '<div class="user-profile" data-action="profile">' + esc(session.email) + '</div></header>' +
+                '<div id="menu"></div><div id="messages"></div>' +
+                '<input placeholder="Search projects" id="search">' +
+                '<button data-action="create">Create Project</button>' +
+                '<div id="projects"></div>', {
+                profile: function () {
+                    document.getElementById('menu').innerHTML = '<button id="logout">Logout</button>';
+                    document.getElementById('logout').addEventListener('click', function () {
+                        api('POST', '/logout', {}).then(function () { go('/'); }, fail);
+                    });
+                },
+                create: function () { go('/projects/new'); }
+            });
+            var search = document.getElementById('search');
+            search.addEventListener('input', function () { loadProjects(search.value); });
+            loadProjects('');
+        });
+    }
+
+    function loadProjects(query) {
+        api('GET', '/projects?q=' + encodeURIComponent(query)).then(function (projects) {
+            var list = document.getElementById('projects');
+            list.innerHTML = projects.map(function (project) {
+                return '<div class="project-card"><h3>' + esc(project.name) + '</h3>' +
+                    '<p>' + esc(project.description) + '</p>' +
+                    '<button data-id="' + project.id + '">Open</button></div>';
+            }).join('');
+            Array.prototype.forEach.call(list.querySelectorAll('button'), function (button) {
+                button.addEventListener('click', function () { go('/projects/' + button.getAttribute('data-id')); });
+            });
+        }, fail);
+    }
+
+    function createProject() {
+        requireSession(function () {
+            var templates = ['Web Application', 'Mobile Application', 'API', 'Database'];
+            show('<h1>Create Project</h1><div id="messages"></div>' +
+                '<input id="projectName" placeholder="Project name">' +
+                '<textarea id="projectDescription" placeholder="Description"></textarea>' +
+                templates.map(function (template) {
+                    return '<div class="template-option" data-action="template">' + esc(template) + '</div>';
+                }).join('') +
+                '<button data-action="create">Create</button>' +
+                '<button data-action="cancel">Cancel</button>', {
+                template: function (element) {
+                    Array.prototype.forEach.call(app.querySelectorAll('.template-option'), function (option) {
+                        option.classList.toggle('selected', option === element);
+                    });
+                },
+                create: function () {
+                    var selected = app.querySelector('.template-option.selected');
+                    api('POST', '/projects', {
+                        name: value('projectName'), description: value('projectDescription'),
+                        template: selected ? selected.textContent : ''
+                    }).then(function (project) { go('/projects/' + project.id); }, fail);
+                },
+                cancel: function () { go('/dashboard'); }
+            });
+        });
+    }
+
+    function projectDetails(id) {
+        requireSession(function () {
+            api('GET', '/projects/' + id).then(function (project) {
+                show('<button data-action="back">Back to Dashboard</button>' +
+                    '<h1 class="project-title">' + esc(project.name) + '</h1>' +
+                    '<div class="project-description">' + esc(project.description) + '</div>' +
+                    '<div id="messages"></div><div id="conversation"></div><div id="code"></div>' +
+                    '<textarea placeholder="Enter your prompt here" id="prompt"></textarea>' +
+                    '<button data-action="send">Send</button>' +
+                    '<button data-action="deploy">Deploy</button>' +
+                    '<button data-action="test">Test</button>' +
+                    '<button data-action="settings">Settings</button>', {
+                    back: function () { go('/dashboard'); },
+                    send: function () {
+                        clearMessages();
+                        api('POST', '/projects/' + id + '/prompt', {prompt: value('prompt')}).then(function (body) {
+                            var response = document.createElement('div');
+                            response.className = 'ai-response';
+                            document.getElementById('conversation').appendChild(response);
+                            stream(response, body.response, body.streamChunkMillis, function () {
+                                document.getElementById('code').innerHTML =
+                                    '<div class="code-preview">' + esc(body.code) + '</div>';
+                            });
+                        }, fail);
+                    },
+                    deploy: function () { go('/projects/' + id + '/deploy'); },
+                    test: function () { go('/projects/' + id + '/testing'); },
+                    settings: function () { go('/projects/' + id + '/settings'); }
+                });
+            }, fail);
+        });
+    }
+
+    function deployment(id) {
+        requireSession(function () {
+            show('<h1>Deployment</h1><div id="messages"></div>' +
+                '<select id="environment"><option>Development</option><option>Staging</option>' +
+                '<option>Production</option></select>' +
+                '<button data-action="deploy">Deploy</button>' +
+                '<button data-action="back">Back to Project</button>' +
+                '<div id="deployment"></div>', {
+                deploy: function () {
+                    var target = document.getElementById('deployment');
+                    target.innerHTML = '<div class="progress-indicator">Deploying...</div>';
+                    api('POST', '/projects/' + id + '/deploy', {environment: value('environment')}).then(function (body) {
+                        target.innerHTML = '<div class="deployment-status">' + esc(body.status) + '</div>' +
+                            '<div class="deployment-logs">' + body.logs.map(esc).join('\n') + '</div>' +
+                            '<a class="deployment-url" href="' + esc(body.url) + '">' + esc(body.url) + '</a>';
+                    }, function (error) {
+                        target.innerHTML = '';
+                        fail(error);
+                    });
+                },
+                back: function () { go('/projects/' + id); }
+            });
+        });
+    }
+
+    function testing(id) {
+        requireSession(function () {
+            // The submit button has to come before "Create Test": both match contains(text(), 'Create')
+            show('<h1>Testing</h1><div id="messages"></div>' +
+                '<textarea placeholder="Enter test description" id="testDescription"></textarea>' +
+                '<button data-action="create">Create</button>' +
+                '<button data-action="focus">Create Test</button>' +
+                '<button data-action="run">Run All Tests</button>' +
+                '<button data-action="back">Back to Project</button>' +
+                '<div id="status"></div><div id="results"></div>', {
+                focus: function () { document.getElementById('testDescription').focus(); },
+                create: function () {
+                    clearMessages();
+                    api('POST', '/projects/' + id + '/tests', {description: value('testDescription')})
+                        .then(function () { document.getElementById('testDescription').value = ''; }, fail);
+                },
+                run: function () {
+                    var status = document.getElementById('status');
+                    status.innerHTML = '<div class="progress-indicator">Running tests...</div>';
+                    api('POST', '/projects/' + id + '/tests/run', {}).then(function (body) {
+                        status.innerHTML = '<div class="test-status">' + esc(body.status) + '</div>';
+                        document.getElementById('results').innerHTML = body.results.map(function (result) {
+                            return '<div class="test-result">' + esc(result.name) + ': ' + esc(result.status) + '</div>';
+                        }).join('');
+                    }, function (error) {
+                        status.innerHTML = '';
+                        fail(error);
+                    });
+                },
+                back: function () { go('/projects/' + id); }
+            });
+        });
+    }
+
+    function settings(id) {
+        requireSession(function () {
+            api('GET', '/projects/' + id).then(function (project) {
+                show('<h1>Project Settings</h1><div id="messages"></div>' +
+                    '<input id="projectName" value="' + esc(project.name) + '">' +
+                    '<textarea id="projectDescription">' + esc(project.description) + '</textarea>' +
+                    '<button data-action="save">Save Changes</button>' +
+                    '<button data-action="delete">Delete Project</button>' +
+                    '<div id="confirm"></div>' +
+                    '<button data-action="back">Back to Project</button>', {
+                    save: function () {
+                        clearMessages();
+                        api('POST', '/projects/' + id, {
+                            name: value('projectName'), description: value('projectDescription')
+                        }).then(function (body) { showMessage('success', body.message); }, fail);
+                    },
+                    delete: function () {
+                        var confirm = document.getElementById('confirm');
+                        confirm.innerHTML = '<p>Delete this project?</p>' +
+                            '<button id="confirmDelete">Confirm Delete</button><button id="cancelDelete">Cancel</button>';
+                        document.getElementById('confirmDelete').addEventListener('click', function () {
+                            api('DELETE', '/projects/' + id).then(function () { go('/dashboard'); }, fail);
+                        });
+                        document.getElementById('cancelDelete').addEventListener('click', function () {
+                            confirm.innerHTML = '';
+                        });
+                    },
+                    back: function () { go('/projects/' + id); }
+                });
+            }, fail);
+        });
+    }
+
+    function notFound() {
+        show('<h1>Page not found</h1><a href="/">Home</a>', {});
+    }
+
+    function render() {
+        var path = location.pathname.replace(/\/+$/, '') || '/';
+        var match = path.match(/^\/projects\/(\d+)(\/(deploy|testing|settings))?$/);
+        if (path === '/') {
+            home();
+        } else if (path === '/login') {
+            login();
+        } else if (path === '/signup') {
+            signUp();
+        } else if (path === '/forgot-password') {
+            forgotPassword();
+        } else if (path === '/dashboard') {
+            dashboard();
+        } else if (path === '/projects/new') {
+            createProject();
+        } else if (match && !match[3]) {
+            projectDetails(match[1]);
+        } else if (match && match[3] === 'deploy') {
+            deployment(match[1]);
+        } else if (match && match[3] === 'testing') {
+            testing(match[1]);
+        } else if (match && match[3] === 'settings') {
+            settings(match[1]);
+        } else {
+            notFound();
+        }
+    }
+
+    // Same-origin links navigate inside the app instead of reloading the page
+    document.addEventListener('click', function (event) {
+        var link = event.target.closest('a[href^="/"]');
+        if (link) {
+            event.preventDefault();
+            go(link.getAttribute('href'));
+        }
+    });
+    window.addEventListener('popstate', render);
+    render();
+})();
@@ -1,13 +1,11 @@
 package com.emergent.tests;
 
 import com.emergent.pages.DashboardPage;
-import com.emergent.pages.ProjectCreationPage;
 import com.emergent.pages.ProjectDetailsPage;
 import com.emergent.utils.ConfigProperties;
 import com.emergent.utils.Constants;
 import com.emergent.utils.DataProviders;
 import com.emergent.utils.TestListener;
-import com.emergent.utils.TestUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
@@ -23,7 +21,7 @@ public class AIAgentInteractionTest extends BaseTest {
         private ProjectDetailsPage projectDetailsPage;
 
         /**
-         * Set up method to log in and create a project before each test.
+         * Set up method to log in and lease a project before each test.
          */
         @BeforeClass
         public void setUpClass() {
@@ -40,18 +38,14 @@ public class AIAgentInteractionTest extends BaseTest {
                         // Navigate to base URL
                         super.navigateToBaseUrl();
                         // Login with default credentials
-                        loginWithDefaultCredentials();
+                        ensureLoggedIn();
                         // Create a new project for testing
                         DashboardPage dashboardPage = new DashboardPage(webDriver);
                         if (!dashboardPage.isDashboardPageLoaded()) {
                                 throw new RuntimeException("Dashboard page failed to load");
                         }
-                        // Create a new project or open an existing one
-                        String projectName = TestUtils.generateRandomProjectName();
-                        ProjectCreationPage projectCreationPage = dashboardPage.clickCreateNewProjectButton();
-                        projectCreationPage.enterProjectName(projectName);
-                        projectCreationPage.enterProjectDescription(TestUtils.generateRandomProjectDescription());
-                        projectDetailsPage = projectCreationPage.clickCreate();
+                        // Lease a pre-created project
+                        projectDetailsPage = ProjectFixturePool.leaseProject(webDriver);
                         Assert.assertTrue(projectDetailsPage.isProjectDetailsPageLoaded(),
                                         "Project details page did not load after project creation");
                 } finally {
@@ -72,8 +66,7 @@ public class AIAgentInteractionTest extends BaseTest {
                 projectDetailsPage.clickSendPrompt();
 
                 // Wait for AI response
-                TestUtils.waitForElementClickable(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout());
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout());
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
@@ -99,8 +92,7 @@ public class AIAgentInteractionTest extends BaseTest {
                 projectDetailsPage.clickSendPrompt();
 
                 // Wait for AI response (complex prompts may take longer)
-                TestUtils.waitForElementClickable(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout() * 2);
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout() * 2);
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
@@ -133,8 +125,7 @@ public class AIAgentInteractionTest extends BaseTest {
                 projectDetailsPage.clickSendPrompt();
 
                 // Wait for AI response
-                TestUtils.waitForElementClickable(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout());
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout());
 
                 // Verify initial AI response
                 String initialResponse = projectDetailsPage.getAIResponse();
@@ -148,12 +139,10 @@ public class AIAgentInteractionTest extends BaseTest {
                 projectDetailsPage.enterPrompt(followUpPrompt);
                 projectDetailsPage.clickSendPrompt();
 
-                // Wait for follow-up AI response
-                TestUtils.waitForElementClickable(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout());
+                // Wait for follow-up AI response (the newest response, not the first one on the page)
+                String followUpResponse = projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout());
 
                 // Verify follow-up AI response
-                String followUpResponse = projectDetailsPage.getAIResponse();
                 TestListener.logInfo("Follow-up AI response received: "
                                 + (followUpResponse.length() > 100 ? followUpResponse.substring(0, 100) + "..."
                                                 : followUpResponse));
@@ -201,8 +190,7 @@ public class AIAgentInteractionTest extends BaseTest {
                 projectDetailsPage.clickSendPrompt();
 
                 // Wait for AI response
-                TestUtils.waitForElementClickable(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout() * 2);
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout() * 2);
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
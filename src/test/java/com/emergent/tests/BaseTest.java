@@ -3,8 +3,11 @@ package com.emergent.tests;
 import com.emergent.pages.DashboardPage;
 import com.emergent.pages.HomePage;
 import com.emergent.pages.LoginPage;
+import com.emergent.utils.CircuitBreaker;
 import com.emergent.utils.ConfigProperties;
 import com.emergent.utils.Constants;
+import com.emergent.utils.PageTimings;
+import com.emergent.utils.SessionCache;
 import com.emergent.utils.TestListener;
 import com.emergent.utils.WebDriverFactory;
 import org.openqa.selenium.WebDriver;
@@ -29,23 +32,27 @@ public class BaseTest {
     protected DashboardPage dashboardPage;
 
     /**
-     * Setup method to initialize WebDriver and common pages before each test class.
+     * Setup method to check out a pooled WebDriver and initialize common pages before each test class.
+     * The first class of the suite also runs the pre-flight check; when the circuit breaker is open the
+     * class is skipped before a browser is checked out.
      */
-    @BeforeClass
-    public void setUp() {
-        // Initialize WebDriver based on configuration
-        String browser = ConfigProperties.getBrowser();
-        boolean headless = ConfigProperties.isHeadless();
-        webDriver = WebDriverFactory.createDriver(browser, headless);
+    @BeforeClass(alwaysRun = true)
+    public void initDriver() {
+        if (webDriver != null) {
+            return;
+        }
+        CircuitBreaker.checkClosed();
+
+        // Check out a driver from the shared pool; it stays bound to this thread until tearDown
+        webDriver = WebDriverFactory.acquireDriver();
 
         // Configure timeouts
-        int defaultTimeout = ConfigProperties.getDefaultTimeout();
         webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(
-                Integer.parseInt(ConfigProperties.getProperty("implicit.wait", "10"))));
+                ConfigProperties.get().implicitWait()));
         webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(
-                Integer.parseInt(ConfigProperties.getProperty("page.load.timeout", "60"))));
+                ConfigProperties.get().pageLoadTimeout()));
         webDriver.manage().timeouts().scriptTimeout(Duration.ofSeconds(
-                Integer.parseInt(ConfigProperties.getProperty("script.timeout", "30"))));
+                ConfigProperties.get().scriptTimeout()));
 
         // Maximize window
         webDriver.manage().window().maximize();
@@ -58,17 +65,47 @@ public class BaseTest {
         loginPage = new LoginPage(webDriver);
         dashboardPage = new DashboardPage(webDriver);
 
-        TestListener.logInfo("Test setup completed with browser: " + browser);
+        TestListener.logInfo("Test setup completed with browser: " + ConfigProperties.getBrowser());
+
+        CircuitBreaker.preflight(this::preflightProblem);
+        CircuitBreaker.checkClosed();
+    }
+
+    /**
+     * Checks that the home page and the login page show their locators, with a short timeout.
+     *
+     * @return null if both pages are healthy, or the problem found
+     */
+    private String preflightProblem() {
+        int timeout = ConfigProperties.get().breakerPreflightTimeout();
+        PageTimings.navigate(webDriver, "HomePage", baseUrl);
+        if (!homePage.isLoaded(timeout)) {
+            return "home page locators not found at " + baseUrl;
+        }
+        homePage.clickLogin();
+        if (!loginPage.isLoaded(timeout)) {
+            return "login page locators not found after clicking the login link";
+        }
+        return null;
+    }
+
+    /**
+     * Initializes the WebDriver and common pages if that has not happened yet.
+     * Kept for subclasses that trigger the class setup explicitly.
+     */
+    public void setUp() {
+        initDriver();
     }
 
     /**
-     * Cleanup method to quit WebDriver after each test class.
+     * Cleanup method to return the WebDriver to the pool after each test class.
      */
-    @AfterClass
+    @AfterClass(alwaysRun = true)
     public void tearDown() {
         if (webDriver != null) {
-            webDriver.quit();
-            TestListener.logInfo("WebDriver quit successfully");
+            WebDriverFactory.releaseDriver();
+            webDriver = null;
+            TestListener.logInfo("WebDriver returned to pool");
         }
     }
 
@@ -77,7 +114,8 @@ public class BaseTest {
      */
     @BeforeMethod
     public void navigateToBaseUrl() {
-        webDriver.get(baseUrl);
+        CircuitBreaker.checkClosed();
+        PageTimings.navigate(webDriver, "HomePage", baseUrl);
         TestListener.logInfo("Navigated to base URL: " + baseUrl);
     }
 
@@ -90,6 +128,45 @@ public class BaseTest {
         // webDriver.manage().deleteAllCookies();
     }
 
+    /**
+     * Makes sure the browser is logged in with the default test credentials.
+     * Replays a cached session when one exists and falls back to a full UI login
+     * when there is none or the application rejects it.
+     *
+     * @return the DashboardPage of the logged-in user
+     */
+    protected DashboardPage ensureLoggedIn() {
+        return ensureLoggedIn(webDriver, ConfigProperties.getTestUsername(), ConfigProperties.getTestPassword());
+    }
+
+    /**
+     * Makes sure the given browser is logged in with the given credentials.
+     *
+     * @param driver   the WebDriver instance
+     * @param email    the email to use
+     * @param password the password to use
+     * @return the DashboardPage of the logged-in user
+     */
+    static DashboardPage ensureLoggedIn(WebDriver driver, String email, String password) {
+        DashboardPage dashboard = new DashboardPage(driver);
+        if (SessionCache.isEnabled() && SessionCache.replay(driver, email)) {
+            int checkTimeout = ConfigProperties.get().sessionReplayCheckTimeout();
+            if (dashboard.isLoaded(checkTimeout)) {
+                return dashboard;
+            }
+            TestListener.logWarning("Cached session was rejected, logging in through the UI");
+            SessionCache.invalidate(email);
+        }
+
+        PageTimings.navigate(driver, "HomePage", ConfigProperties.getBaseUrl());
+        new HomePage(driver).clickLogin();
+        dashboard = new LoginPage(driver).login(email, password);
+        if (SessionCache.isEnabled() && dashboard.isLoaded()) {
+            SessionCache.snapshot(driver, email);
+        }
+        return dashboard;
+    }
+
     /**
      * Helper method to log in with the default test credentials.
      * 
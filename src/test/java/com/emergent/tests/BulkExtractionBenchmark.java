@@ -0,0 +1,84 @@
+package com.emergent.tests;
+
+import com.emergent.utils.TestListener;
+import com.emergent.utils.TestUtils;
+import com.emergent.utils.WebDriverFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing benchmark comparing per-element getText() calls with bulk text extraction.
+ * Runs against a generated local fixture page, so it needs a browser but no network.
+ * Not part of testng.xml; run with: mvn test -Dtest=BulkExtractionBenchmark
+ */
+public class BulkExtractionBenchmark {
+
+    private static final int ROWS = 200;
+    private static final int ITERATIONS = 5;
+    private static final By TEST_RESULT_ROWS = By.xpath("//div[contains(@class, 'test-result')]");
+
+    private WebDriver webDriver;
+
+    /**
+     * Loads a fixture page with a long list of test result rows.
+     */
+    @BeforeClass
+    public void setUp() {
+        webDriver = WebDriverFactory.acquireDriver();
+        StringBuilder html = new StringBuilder("<html><body><h1>Testing</h1>");
+        for (int i = 0; i < ROWS; i++) {
+            html.append("<div class='test-result'>Test case ").append(i).append(" passed</div>");
+        }
+        html.append("</body></html>");
+        webDriver.get("data:text/html;charset=utf-8,"
+                + URLEncoder.encode(html.toString(), StandardCharsets.UTF_8).replace("+", "%20"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        WebDriverFactory.releaseDriver();
+    }
+
+    /**
+     * Measures both strategies and checks that they return the same text.
+     */
+    @Test(description = "Compare per-element getText() with bulk extraction")
+    public void compareTextExtraction() {
+        List<String> perElement = null;
+        List<String> bulk = null;
+        long perElementNanos = 0;
+        long bulkNanos = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            perElement = new ArrayList<>();
+            for (WebElement element : webDriver.findElements(TEST_RESULT_ROWS)) {
+                perElement.add(element.getText());
+            }
+            perElementNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            bulk = TestUtils.extractTexts(webDriver, TEST_RESULT_ROWS);
+            bulkNanos += System.nanoTime() - start;
+        }
+
+        String summary = String.format(
+                "%d rows: per-element %.1f ms (%d round trips), bulk %.1f ms (1 round trip), %.1fx faster",
+                ROWS, perElementNanos / 1e6 / ITERATIONS, ROWS + 1, bulkNanos / 1e6 / ITERATIONS,
+                (double) perElementNanos / Math.max(1, bulkNanos));
+        System.out.println(summary);
+        TestListener.logInfo(summary);
+
+        Assert.assertEquals(bulk, perElement, "Bulk extraction returned different text than getText()");
+    }
+}
@@ -1,13 +1,11 @@
 package com.emergent.tests;
 
 import com.emergent.pages.DashboardPage;
-import com.emergent.pages.ProjectCreationPage;
 import com.emergent.pages.ProjectDetailsPage;
 import com.emergent.utils.ConfigProperties;
 import com.emergent.utils.Constants;
 import com.emergent.utils.DataProviders;
 import com.emergent.utils.TestListener;
-import com.emergent.utils.TestUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -20,25 +18,21 @@ public class CodeGenerationTest extends BaseTest {
         private ProjectDetailsPage projectDetailsPage;
 
         /**
-         * Set up method to log in and create a project before each test.
+         * Set up method to log in and lease a project before each test.
          */
         @BeforeMethod
         public void setUp() {
                 TestListener.logInfo("Setting up CodeGenerationTest");
 
                 // Login with default credentials
-                loginWithDefaultCredentials();
+                ensureLoggedIn();
 
                 // Create a new project for testing
                 DashboardPage dashboardPage = new DashboardPage(webDriver);
                 Assert.assertTrue(dashboardPage.isDashboardPageLoaded(), "Dashboard page did not load");
 
-                // Create a new project or open an existing one
-                String projectName = TestUtils.generateRandomProjectName();
-                ProjectCreationPage projectCreationPage = dashboardPage.clickCreateNewProjectButton();
-                projectCreationPage.enterProjectName(projectName);
-                projectCreationPage.enterProjectDescription(TestUtils.generateRandomProjectDescription());
-                projectDetailsPage = projectCreationPage.clickCreate();
+                // Lease a pre-created project
+                projectDetailsPage = ProjectFixturePool.leaseProject(webDriver);
 
                 Assert.assertTrue(projectDetailsPage.isProjectDetailsPageLoaded(),
                                 "Project details page did not load after project creation");
@@ -57,8 +51,7 @@ public class CodeGenerationTest extends BaseTest {
                 projectDetailsPage.clickSendPromptButton();
 
                 // Wait for AI response
-                TestUtils.waitForElementVisible(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout());
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout());
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
@@ -91,8 +84,7 @@ public class CodeGenerationTest extends BaseTest {
                 projectDetailsPage.clickSendPromptButton();
 
                 // Wait for AI response (complex prompts may take longer)
-                TestUtils.waitForElementVisible(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout() * 2);
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout() * 2);
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
@@ -126,8 +118,7 @@ public class CodeGenerationTest extends BaseTest {
                 projectDetailsPage.clickSendPromptButton();
 
                 // Wait for AI response
-                TestUtils.waitForElementVisible(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout() * 2);
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout() * 2);
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
@@ -162,8 +153,7 @@ public class CodeGenerationTest extends BaseTest {
                 projectDetailsPage.clickSendPromptButton();
 
                 // Wait for AI response
-                TestUtils.waitForElementVisible(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout());
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout());
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
@@ -205,8 +195,7 @@ public class CodeGenerationTest extends BaseTest {
                 projectDetailsPage.clickSendPromptButton();
 
                 // Wait for AI response
-                TestUtils.waitForElementVisible(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout() * 2);
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout() * 2);
 
                 // Verify AI response is not empty
                 String aiResponse = projectDetailsPage.getAIResponse();
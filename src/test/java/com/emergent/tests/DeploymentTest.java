@@ -2,7 +2,6 @@ package com.emergent.tests;
 
 import com.emergent.pages.DashboardPage;
 import com.emergent.pages.DeploymentPage;
-import com.emergent.pages.ProjectCreationPage;
 import com.emergent.pages.ProjectDetailsPage;
 import com.emergent.utils.ConfigProperties;
 import com.emergent.utils.Constants;
@@ -25,25 +24,21 @@ public class DeploymentTest extends BaseTest {
     private DeploymentPage deploymentPage;
 
     /**
-     * Set up method to log in and create a project before each test.
+     * Set up method to log in and lease a project before each test.
      */
     @BeforeMethod
     public void setUp() {
         TestListener.logInfo("Setting up DeploymentTest");
         
         // Login with default credentials
-        loginWithDefaultCredentials();
+        ensureLoggedIn();
         
         // Create a new project for testing
         DashboardPage dashboardPage = new DashboardPage(webDriver);
         Assert.assertTrue(dashboardPage.isLoaded(), "Dashboard page did not load");
         
-        // Create a new project or open an existing one
-        String projectName = TestUtils.generateRandomProjectName();
-        ProjectCreationPage projectCreationPage = dashboardPage.clickCreateProject();
-        projectCreationPage.enterProjectName(projectName);
-        projectCreationPage.enterProjectDescription(TestUtils.generateRandomProjectDescription());
-        projectDetailsPage = projectCreationPage.clickCreate();
+        // Lease a pre-created project
+        projectDetailsPage = ProjectFixturePool.leaseProject(webDriver);
         
         Assert.assertTrue(projectDetailsPage.isLoaded(), 
                 "Project details page did not load after project creation");
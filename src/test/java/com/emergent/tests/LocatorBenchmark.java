@@ -0,0 +1,166 @@
+package com.emergent.tests;
+
+import com.emergent.utils.Locator;
+import com.emergent.utils.TestListener;
+import com.emergent.utils.WebDriverFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookup latency of the id, CSS and XPath forms of the page object locators, and of the
+ * hand-written XPath they replaced.
+ * Every locator is looked up with each strategy it compiles to, both as a findElements round trip
+ * and evaluated in the browser without the round trip, against a generated fixture page with a
+ * dashboard-sized DOM. Runs without network; not part of testng.xml, run with:
+ * mvn test -Dtest=LocatorBenchmark
+ */
+public class LocatorBenchmark {
+
+    private static final int CARDS = 300;
+    private static final int ITERATIONS = 20;
+    private static final int IN_BROWSER_ITERATIONS = 200;
+
+    /**
+     * Evaluates the locator in arguments[1] with strategy arguments[0] arguments[2] times and
+     * returns [matches, microseconds per lookup].
+     */
+    private static final String EVALUATE_SCRIPT =
+            "var using = arguments[0], value = arguments[1], n = arguments[2], count = 0;" +
+            "var start = performance.now();" +
+            "for (var i = 0; i < n; i++) {" +
+            "  if (using === 'id') { count = document.getElementById(value) ? 1 : 0; }" +
+            "  else if (using === 'css') { count = document.querySelectorAll(value).length; }" +
+            "  else { count = document.evaluate(value, document, null," +
+            "    XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength; }" +
+            "}" +
+            "return [count, (performance.now() - start) * 1000 / n];";
+
+    /**
+     * A page object locator and the hand-written XPath it replaced.
+     */
+    private record Case(Locator locator, String legacyXPath) {
+    }
+
+    private WebDriver webDriver;
+
+    /**
+     * Loads a fixture page shaped like the dashboard, with many project cards.
+     */
+    @BeforeClass
+    public void setUp() {
+        webDriver = WebDriverFactory.acquireDriver();
+        StringBuilder html = new StringBuilder("<html><body><header><h1>Dashboard</h1>"
+                + "<div class='user-profile'>user@example.com</div><button>Logout</button></header>"
+                + "<input placeholder='Search projects'><select id='environment'><option>staging</option>"
+                + "<option>production</option></select><button>Create Project</button><main>");
+        for (int i = 0; i < CARDS; i++) {
+            html.append("<div class='project-card'><h3>Project ").append(i).append("</h3>")
+                    .append("<p>Generated application number ").append(i).append("</p>")
+                    .append("<span class='badge'>web</span><button>Open</button></div>");
+        }
+        html.append("<div class='error-message'>Something went wrong</div></main></body></html>");
+        webDriver.get("data:text/html;charset=utf-8,"
+                + URLEncoder.encode(html.toString(), StandardCharsets.UTF_8).replace("+", "%20"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        WebDriverFactory.releaseDriver();
+    }
+
+    /**
+     * Measures each locator with every strategy it supports and checks they match the same elements.
+     */
+    @Test(description = "Compare id, CSS and XPath lookup latency for page object locators")
+    public void compareLocatorStrategies() {
+        Map<String, Case> cases = new LinkedHashMap<>();
+        cases.put("DashboardPage.projectsList", new Case(Locator.tag("div").withClass("project-card"),
+                "//div[contains(@class, 'project-card')]"));
+        cases.put("DashboardPage.userProfileMenu", new Case(Locator.tag("div").withClass("user-profile"),
+                "//div[contains(@class, 'user-profile')]"));
+        cases.put("DashboardPage.searchBox", new Case(Locator.tag("input").withAttribute("placeholder",
+                "Search projects"), "//input[@placeholder='Search projects']"));
+        cases.put("DeploymentPage.environment", new Case(Locator.any().withId("environment"),
+                "//select[@id='environment']"));
+        cases.put("LoginPage.errorMessage", new Case(Locator.tag("div").withClass("error-message"),
+                "//div[contains(@class, 'error-message')]"));
+        cases.put("DashboardPage.createProject", new Case(Locator.role("button").withText("Create Project"),
+                "//button[contains(text(), 'Create Project')]"));
+        cases.put("DashboardPage.openProject", new Case(Locator.tag("div").withClass("project-card")
+                .containingText("Project 299").descendantWithRole("button").withText("Open"),
+                "//div[contains(@class, 'project-card') and contains(., 'Project 299')]"
+                        + "//button[contains(text(), 'Open')]"));
+
+        StringBuilder html = new StringBuilder("<table class='table table-sm'><tr><th>Locator</th>"
+                + "<th>Strategy</th><th>Matches</th><th>Round trip ms</th><th>In browser &micro;s</th></tr>");
+        for (Map.Entry<String, Case> entry : cases.entrySet()) {
+            Locator locator = entry.getValue().locator();
+            Map<String, String> strategies = new LinkedHashMap<>();
+            strategies.put("legacy xpath", entry.getValue().legacyXPath());
+            if (locator.toId() != null) {
+                strategies.put("id", locator.toId());
+            }
+            if (locator.toCss() != null) {
+                strategies.put("css", locator.toCss());
+            }
+            strategies.put("xpath", locator.toXPath());
+
+            long expected = -1;
+            for (Map.Entry<String, String> strategy : strategies.entrySet()) {
+                By by = switch (strategy.getKey()) {
+                    case "id" -> By.id(strategy.getValue());
+                    case "css" -> By.cssSelector(strategy.getValue());
+                    default -> By.xpath(strategy.getValue());
+                };
+                long start = System.nanoTime();
+                int found = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    found = webDriver.findElements(by).size();
+                }
+                double roundTripMillis = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+                List<?> inBrowser = (List<?>) ((JavascriptExecutor) webDriver).executeScript(EVALUATE_SCRIPT,
+                        strategy.getKey(), strategy.getValue(), IN_BROWSER_ITERATIONS);
+                long matches = ((Number) inBrowser.get(0)).longValue();
+                double micros = ((Number) inBrowser.get(1)).doubleValue();
+
+                String row = String.format("%s %s: %d matches, %.2f ms round trip, %.1f us in browser",
+                        entry.getKey(), strategy.getKey(), found, roundTripMillis, micros);
+                System.out.println(row);
+                html.append("<tr><td>").append(entry.getKey()).append("</td><td>").append(strategy.getKey())
+                        .append("</td><td>").append(found).append("</td><td>")
+                        .append(String.format("%.2f", roundTripMillis)).append("</td><td>")
+                        .append(String.format("%.1f", micros)).append("</td></tr>");
+
+                Assert.assertEquals(matches, found, entry.getKey() + " " + strategy.getKey()
+                        + " matched differently in the browser");
+                if (expected < 0) {
+                    expected = found;
+                }
+                Assert.assertEquals(found, expected, entry.getKey() + " " + strategy.getKey()
+                        + " matched different elements than the other strategies");
+                Assert.assertTrue(found > 0, entry.getKey() + " " + strategy.getKey() + " matched nothing");
+            }
+            locator.toBy();
+        }
+        TestListener.logInfo(html.append("</table>").toString());
+
+        StringBuilder unoptimised = new StringBuilder("Locators that still need XPath:");
+        for (Map.Entry<String, String> entry : Locator.unoptimised().entrySet()) {
+            unoptimised.append(System.lineSeparator()).append("  ").append(entry.getKey())
+                    .append(" (").append(entry.getValue()).append(')');
+        }
+        System.out.println(unoptimised);
+        TestListener.logInfo(unoptimised.toString().replace("<", "&lt;"));
+    }
+}
@@ -25,7 +25,7 @@ public class ProjectCreationTest extends BaseTest {
         @BeforeMethod
         public void setUp() {
                 TestListener.logInfo("Setting up ProjectCreationTest");
-                loginWithDefaultCredentials();
+                ensureLoggedIn();
                 dashboardPage = new DashboardPage(webDriver);
                 Assert.assertTrue(dashboardPage.isDashboardPageLoaded(), "Dashboard page did not load");
         }
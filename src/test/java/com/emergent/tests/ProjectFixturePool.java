@@ -0,0 +1,183 @@
+package com.emergent.tests;
+
+import com.emergent.pages.DashboardPage;
+import com.emergent.pages.ProjectCreationPage;
+import com.emergent.pages.ProjectDetailsPage;
+import com.emergent.utils.ConfigProperties;
+import com.emergent.utils.TestListener;
+import com.emergent.utils.TestUtils;
+import com.emergent.utils.WebDriverFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of empty projects created in the background.
+ * Tests that only need "some empty project" lease one instead of creating it in their setup;
+ * each lease that hands out a project triggers the creation of its replacement, so at most
+ * fixture.pool.size projects are ever waiting. Tests that rename or
+ * delete their project (e.g. ProjectSettingsTest) keep creating a dedicated one.
+ * Every project created through the pool is deleted when the suite finishes.
+ */
+public class ProjectFixturePool {
+    private static final Object DEMAND = new Object();
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final Logger logger = LogManager.getLogger(ProjectFixturePool.class);
+    private static volatile ProjectFixturePool instance;
+
+    private final BlockingQueue<String> ready = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Object> demand = new LinkedBlockingQueue<>();
+    private final List<String> created = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    private ProjectFixturePool(int size) {
+        for (int i = 0; i < size; i++) {
+            demand.offer(DEMAND);
+        }
+        Thread producer = new Thread(this::produce, "project-fixtures");
+        producer.setDaemon(true);
+        producer.start();
+        TestListener.addSuiteFinishHook(this::cleanUp);
+    }
+
+    /**
+     * Opens an empty project for the calling test. Uses a pre-created project when one is
+     * ready and creates one inline otherwise. The browser must be on the dashboard.
+     *
+     * @param driver the test's WebDriver
+     * @return the ProjectDetailsPage of the leased project
+     */
+    public static ProjectDetailsPage leaseProject(WebDriver driver) {
+        if (!ConfigProperties.get().fixturePoolEnabled()) {
+            return createProject(driver);
+        }
+        String projectName = getInstance().lease();
+        if (projectName == null) {
+            TestListener.logInfo("No pre-created project ready, creating one inline");
+            ProjectDetailsPage projectDetailsPage = createProject(driver);
+            getInstance().created.add(projectDetailsPage.getProjectTitle());
+            return projectDetailsPage;
+        }
+        TestListener.logInfo("Leased pre-created project: " + projectName);
+        return new DashboardPage(driver).openProject(projectName);
+    }
+
+    private static ProjectFixturePool getInstance() {
+        if (instance == null) {
+            synchronized (ProjectFixturePool.class) {
+                if (instance == null) {
+                    instance = new ProjectFixturePool(ConfigProperties.get().fixturePoolSize());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private String lease() {
+        try {
+            String projectName = ready.poll(ConfigProperties.get().fixtureLeaseTimeoutSeconds(), TimeUnit.SECONDS);
+            if (projectName != null) {
+                // Order a replacement for the project handed out; inline creations are not replaced
+                demand.offer(DEMAND);
+            }
+            return projectName;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static ProjectDetailsPage createProject(WebDriver driver) {
+        ProjectCreationPage projectCreationPage = new DashboardPage(driver).clickCreateNewProjectButton();
+        return projectCreationPage.createProject(TestUtils.generateRandomProjectName(),
+                TestUtils.generateRandomProjectDescription(), null);
+    }
+
+    /**
+     * Background loop: waits for demand, then checks out a driver and creates projects
+     * until the demand is met, returning the driver to the pool while idle. A failed creation
+     * puts its demand back and retries after a growing pause, so the pool does not shrink.
+     */
+    private void produce() {
+        long backoffMillis = 1000;
+        while (!closed) {
+            try {
+                demand.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            boolean owed = true;
+            boolean failed = false;
+            try {
+                WebDriver driver = WebDriverFactory.acquireDriver();
+                DashboardPage dashboard = BaseTest.ensureLoggedIn(driver,
+                        ConfigProperties.getTestUsername(), ConfigProperties.getTestPassword());
+                while (true) {
+                    String projectName = TestUtils.generateRandomProjectName();
+                    ProjectDetailsPage projectDetailsPage = dashboard.clickCreateNewProjectButton()
+                            .createProject(projectName, TestUtils.generateRandomProjectDescription(), null);
+                    if (!projectDetailsPage.isLoaded()) {
+                        throw new IllegalStateException("Project details page did not load for " + projectName);
+                    }
+                    created.add(projectName);
+                    ready.offer(projectName);
+                    owed = false;
+                    backoffMillis = 1000;
+                    dashboard = projectDetailsPage.clickBackToDashboard();
+                    if (closed || demand.poll() == null) {
+                        break;
+                    }
+                    owed = true;
+                }
+            } catch (Exception e) {
+                if (owed) {
+                    // The demand taken for the project that failed is still open
+                    demand.offer(DEMAND);
+                }
+                failed = true;
+                logger.error("Failed to pre-create project, retrying in {} ms", backoffMillis, e);
+            } finally {
+                WebDriverFactory.releaseDriver();
+            }
+            if (failed) {
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Deletes every project created through the pool. Runs once the suite has finished.
+     */
+    private void cleanUp() {
+        closed = true;
+        if (created.isEmpty()) {
+            return;
+        }
+        try {
+            WebDriver driver = WebDriverFactory.acquireDriver();
+            BaseTest.ensureLoggedIn(driver, ConfigProperties.getTestUsername(), ConfigProperties.getTestPassword());
+            for (String projectName : created) {
+                try {
+                    new DashboardPage(driver).navigateTo().openProject(projectName).clickSettings().deleteProject();
+                } catch (Exception e) {
+                    logger.error("Failed to delete fixture project {}", projectName, e);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to clean up fixture projects", e);
+        } finally {
+            WebDriverFactory.releaseDriver();
+        }
+    }
+}
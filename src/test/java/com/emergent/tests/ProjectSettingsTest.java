@@ -30,7 +30,7 @@ public class ProjectSettingsTest extends BaseTest {
                 TestListener.logInfo("Setting up ProjectSettingsTest");
 
                 // Login with default credentials
-                loginWithDefaultCredentials();
+                ensureLoggedIn();
 
                 // Create a new project for testing
                 DashboardPage dashboardPage = new DashboardPage(webDriver);
@@ -1,7 +1,6 @@
 package com.emergent.tests;
 
 import com.emergent.pages.DashboardPage;
-import com.emergent.pages.ProjectCreationPage;
 import com.emergent.pages.ProjectDetailsPage;
 import com.emergent.pages.TestingPage;
 import com.emergent.utils.ConfigProperties;
@@ -22,22 +21,18 @@ public class TestingFunctionalityTest extends BaseTest {
         private TestingPage testingPage;
 
         /**
-         * Set up method to log in and create a project before each test.
+         * Set up method to log in and lease a project before each test.
          */
         @BeforeMethod
         public void setUp() {
                 TestListener.logInfo("Setting up TestingFunctionalityTest");
 
-                loginWithDefaultCredentials();
+                ensureLoggedIn();
 
                 DashboardPage dashboardPage = new DashboardPage(webDriver);
                 Assert.assertTrue(dashboardPage.isDashboardPageLoaded(), "Dashboard page did not load");
 
-                String projectName = TestUtils.generateRandomProjectName();
-                ProjectCreationPage projectCreationPage = dashboardPage.clickCreateNewProjectButton();
-                projectCreationPage.enterProjectName(projectName);
-                projectCreationPage.enterProjectDescription(TestUtils.generateRandomProjectDescription());
-                projectDetailsPage = projectCreationPage.clickCreateButton();
+                projectDetailsPage = ProjectFixturePool.leaseProject(webDriver);
 
                 Assert.assertTrue(projectDetailsPage.isProjectDetailsPageLoaded(),
                                 "Project details page did not load after project creation");
@@ -46,8 +41,7 @@ public class TestingFunctionalityTest extends BaseTest {
                 projectDetailsPage.enterPrompt(prompt);
                 projectDetailsPage.clickSendPromptButton();
 
-                TestUtils.waitForElementVisible(webDriver, projectDetailsPage.getAIResponseLocator(),
-                                ConfigProperties.getDefaultTimeout());
+                projectDetailsPage.waitForAIResponse(ConfigProperties.getDefaultTimeout());
         }
 
         @Test(priority = 1, description = "Test navigating to the testing page")